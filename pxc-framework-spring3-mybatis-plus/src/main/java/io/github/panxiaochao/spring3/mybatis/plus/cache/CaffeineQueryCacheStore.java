@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 本地 Caffeine 查询结果缓存, 只在当前节点失效, 多节点部署请使用 {@link SpringCacheQueryCacheStore}
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CaffeineQueryCacheStore implements QueryCacheStore {
+
+	private final Cache<String, Object> cache;
+
+	private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+	public CaffeineQueryCacheStore(MpProperties.QueryCache queryCache) {
+		this.cache = Caffeine.newBuilder()
+			.expireAfterWrite(queryCache.getTtl())
+			.maximumSize(queryCache.getMaximumSize())
+			.build();
+	}
+
+	@Override
+	public Object get(String key) {
+		return cache.getIfPresent(key);
+	}
+
+	@Override
+	public void put(String key, Object value) {
+		cache.put(key, value);
+	}
+
+	@Override
+	public String tableVersion(String table) {
+		return String.valueOf(tableVersions.computeIfAbsent(table, k -> new AtomicLong()).get());
+	}
+
+	@Override
+	public void invalidateTable(String table) {
+		AtomicLong version = tableVersions.get(table);
+		if (version != null) {
+			version.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void clear() {
+		tableVersions.values().forEach(AtomicLong::incrementAndGet);
+		cache.invalidateAll();
+	}
+
+}
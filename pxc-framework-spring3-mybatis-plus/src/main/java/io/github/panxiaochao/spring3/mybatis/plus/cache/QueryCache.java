@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * 查询结果缓存注解, 标注在 Mapper 接口或方法上, 适用于字典、配置等变更较少的表
+ * </p>
+ * <pre>
+ * 1. 涉及表发生 insert/update/delete 时自动失效, 包括事务提交后再次失效
+ * 2. 分页查询、自定义 ResultHandler 查询不缓存
+ * 3. 命中时返回列表副本, 列表中的对象是共享的, 不要修改
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryCache {
+
+}
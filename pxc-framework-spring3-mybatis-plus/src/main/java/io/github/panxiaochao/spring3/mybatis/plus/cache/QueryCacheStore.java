@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>
+ * 查询结果缓存存储, 结果按表版本号隔离, 表变更时更新版本号使旧结果失效
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public interface QueryCacheStore {
+
+	/**
+	 * 获取缓存结果
+	 * @param key key
+	 * @return 结果, 不存在返回 null
+	 */
+	@Nullable
+	Object get(String key);
+
+	/**
+	 * 缓存结果
+	 * @param key key
+	 * @param value 结果
+	 */
+	void put(String key, Object value);
+
+	/**
+	 * 获取表当前版本号, 不存在时创建
+	 * @param table 表名
+	 * @return 版本号
+	 */
+	String tableVersion(String table);
+
+	/**
+	 * 更新表版本号, 使该表相关结果失效; 表从未被缓存的查询读取过(没有版本号)时不做任何写入
+	 * @param table 表名
+	 */
+	void invalidateTable(String table);
+
+	/**
+	 * 清空全部结果
+	 */
+	void clear();
+
+}
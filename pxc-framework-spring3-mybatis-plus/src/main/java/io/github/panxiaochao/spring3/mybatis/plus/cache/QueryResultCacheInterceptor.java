@@ -0,0 +1,312 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.core.utils.SerializationUtil;
+import io.github.panxiaochao.spring3.mybatis.plus.mapper.MapperAnnotationHelper;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 查询结果缓存插件, 对标注 {@link QueryCache} 的 Mapper 查询按 MappedStatement id、SQL 与参数缓存结果
+ * </p>
+ * <pre>
+ * 1. 查询涉及的表按 SQL 解析一次并缓存, key 中包含这些表的版本号
+ * 2. 写入语句涉及的表按 MappedStatement id 解析一次, 无事务时执行后更新表版本号;
+ *    事务内汇总本事务写过的表, 事务结束后统一更新一次, 事务内查询这些表时不走缓存
+ * 3. 写事务内只读取缓存不写入, 避免缓存未提交数据
+ * 4. 排在插件链最内层, key 使用分页、数据权限等插件改写后的 SQL 与参数
+ * 5. 不经过 MyBatis 的写入（JdbcTemplate 等）需调用 {@link #invalidate(String...)}
+ * 6. 结果按 JDK 序列化后存储, 每次命中反序列化出新的副本, 调用方修改结果不影响缓存;
+ *    结果元素需实现 Serializable, 否则该查询不缓存
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Intercepts({
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+						BoundSql.class }),
+		@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class QueryResultCacheInterceptor implements Interceptor, Ordered {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(QueryResultCacheInterceptor.class);
+
+	/**
+	 * 无法解析的 SQL, 查询不缓存, 写入清空全部缓存
+	 */
+	private static final String UNKNOWN_TABLE = "*";
+
+	private static final Set<String> UNKNOWN_TABLES = Collections.singleton(UNKNOWN_TABLE);
+
+	private final QueryCacheStore queryCacheStore;
+
+	/**
+	 * 查询 SQL -> 表名
+	 */
+	private final Cache<String, Set<String>> queryTablesCache;
+
+	/**
+	 * 写入 MappedStatement id -> 表名
+	 */
+	private final Map<String, Set<String>> updateTablesCache = new ConcurrentHashMap<>();
+
+	/**
+	 * MappedStatement id -> 是否缓存
+	 */
+	private final Map<String, Boolean> cacheableCache = new ConcurrentHashMap<>();
+
+	public QueryResultCacheInterceptor(QueryCacheStore queryCacheStore, MpProperties.QueryCache queryCache) {
+		this.queryCacheStore = queryCacheStore;
+		this.queryTablesCache = Caffeine.newBuilder().maximumSize(queryCache.getSqlCacheMaximumSize()).build();
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object[] args = invocation.getArgs();
+		MappedStatement ms = (MappedStatement) args[0];
+		if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+			return query(invocation, ms, args);
+		}
+		Set<String> tables = updateTablesCache.computeIfAbsent(ms.getId(),
+				id -> parseTables(ms.getBoundSql(args[1]).getSql()));
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				currentInvalidation(true).tables.addAll(tables);
+			}
+			else {
+				invalidate(tables);
+			}
+		}
+	}
+
+	private Object query(Invocation invocation, MappedStatement ms, Object[] args) throws Throwable {
+		Object parameter = args[1];
+		if (args[3] != Executor.NO_RESULT_HANDLER || !isCacheable(ms.getId())
+				|| ParameterUtils.findPage(parameter).isPresent()) {
+			return invocation.proceed();
+		}
+		Executor executor = (Executor) invocation.getTarget();
+		BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+		Set<String> tables = queryTablesCache.get(boundSql.getSql(), this::parseTables);
+		if (tables == UNKNOWN_TABLES || isWrittenInTransaction(tables)) {
+			return invocation.proceed();
+		}
+		CacheKey cacheKey = args.length == 6 ? (CacheKey) args[4]
+				: executor.createCacheKey(ms, parameter, (RowBounds) args[2], boundSql);
+		StringBuilder source = new StringBuilder(256);
+		for (String table : tables) {
+			source.append(table).append('=').append(queryCacheStore.tableVersion(table)).append(';');
+		}
+		source.append(cacheKey);
+		String key = ms.getId() + ':'
+				+ DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+		Object cached = queryCacheStore.get(key);
+		if (cached instanceof byte[] bytes) {
+			return deserialize(bytes);
+		}
+		Object result = invocation.proceed();
+		if (result instanceof List<?> list && isPopulatable()) {
+			try {
+				queryCacheStore.put(key, SerializationUtil.serialize(new ArrayList<>(list)));
+			}
+			catch (RuntimeException ex) {
+				LOGGER.warn("查询缓存结果序列化失败, 不再缓存该查询: {}", ms.getId(), ex);
+				cacheableCache.put(ms.getId(), Boolean.FALSE);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 反序列化出结果副本, 使用线程上下文类加载器加载实体类
+	 */
+	private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				Thread.currentThread().getContextClassLoader())) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * 当前事务内写过的表是否与查询涉及的表相交
+	 */
+	private boolean isWrittenInTransaction(Set<String> tables) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return false;
+		}
+		TransactionInvalidation invalidation = currentInvalidation(false);
+		if (invalidation == null || invalidation.tables.isEmpty()) {
+			return false;
+		}
+		if (invalidation.tables.contains(UNKNOWN_TABLE)) {
+			return true;
+		}
+		for (String table : tables) {
+			if (invalidation.tables.contains(table)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 获取当前事务的失效登记, 每个事务只注册一个同步回调; 挂起的外层事务回调不可见, 内层事务单独登记
+	 */
+	private TransactionInvalidation currentInvalidation(boolean create) {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof TransactionInvalidation invalidation && invalidation.owner() == this) {
+				return invalidation;
+			}
+		}
+		if (!create) {
+			return null;
+		}
+		TransactionInvalidation invalidation = new TransactionInvalidation();
+		TransactionSynchronizationManager.registerSynchronization(invalidation);
+		return invalidation;
+	}
+
+	/**
+	 * 手动失效, 表名不区分大小写
+	 * @param tables 表名
+	 */
+	public void invalidate(String... tables) {
+		invalidate(new TreeSet<>(Arrays.stream(tables).map(QueryResultCacheInterceptor::normalize).toList()));
+	}
+
+	private void invalidate(Set<String> tables) {
+		if (tables.contains(UNKNOWN_TABLE)) {
+			queryCacheStore.clear();
+			return;
+		}
+		for (String table : tables) {
+			queryCacheStore.invalidateTable(table);
+		}
+	}
+
+	private boolean isCacheable(String id) {
+		return cacheableCache.computeIfAbsent(id,
+				key -> MapperAnnotationHelper.findAnnotation(key, QueryCache.class) != null);
+	}
+
+	/**
+	 * 写事务内不写入缓存
+	 */
+	private static boolean isPopulatable() {
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	/**
+	 * 解析 SQL 涉及的表, 排序后用于生成 key
+	 */
+	private Set<String> parseTables(String sql) {
+		try {
+			List<String> tables = new TablesNamesFinder().getTableList(CCJSqlParserUtil.parse(sql));
+			Set<String> names = new TreeSet<>();
+			for (String table : tables) {
+				names.add(normalize(table));
+			}
+			return Collections.unmodifiableSet(names);
+		}
+		catch (JSQLParserException | RuntimeException ex) {
+			LOGGER.warn("查询缓存解析 SQL 失败, 不缓存该查询, 写入时清空全部缓存: {}", sql);
+			return UNKNOWN_TABLES;
+		}
+	}
+
+	/**
+	 * 去掉 schema 与引号, 转小写
+	 */
+	private static String normalize(String table) {
+		String name = table.substring(table.lastIndexOf('.') + 1);
+		return name.replace("`", "").replace("\"", "").replace("[", "").replace("]", "").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * 排在插件链最内层
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	/**
+	 * 事务内写过的表, 事务结束后统一更新版本号
+	 */
+	private final class TransactionInvalidation implements TransactionSynchronization {
+
+		private final Set<String> tables = new TreeSet<>();
+
+		private QueryResultCacheInterceptor owner() {
+			return QueryResultCacheInterceptor.this;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			if (!tables.isEmpty()) {
+				invalidate(tables);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * 基于 Spring Cache 的查询结果缓存, 使用 Redis 等共享缓存时多节点共享结果与表版本号
+ * </p>
+ * <pre>
+ * 表版本号使用随机值, 不依赖原子自增; 版本号被淘汰后重新生成随机值, 不会命中旧结果
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class SpringCacheQueryCacheStore implements QueryCacheStore {
+
+	private static final String RESULT_PREFIX = "result:";
+
+	private static final String VERSION_PREFIX = "version:";
+
+	private final Cache cache;
+
+	public SpringCacheQueryCacheStore(Cache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public Object get(String key) {
+		Cache.ValueWrapper wrapper = cache.get(RESULT_PREFIX + key);
+		return wrapper == null ? null : wrapper.get();
+	}
+
+	@Override
+	public void put(String key, Object value) {
+		cache.put(RESULT_PREFIX + key, value);
+	}
+
+	@Override
+	public String tableVersion(String table) {
+		String versionKey = VERSION_PREFIX + table;
+		Cache.ValueWrapper wrapper = cache.get(versionKey);
+		if (wrapper != null && wrapper.get() != null) {
+			return wrapper.get().toString();
+		}
+		String version = UUID.randomUUID().toString();
+		Cache.ValueWrapper existing = cache.putIfAbsent(versionKey, version);
+		return existing == null || existing.get() == null ? version : existing.get().toString();
+	}
+
+	@Override
+	public void invalidateTable(String table) {
+		// 删除版本号, 下次查询生成新版本号; 未缓存过的表不产生新 key
+		cache.evict(VERSION_PREFIX + table);
+	}
+
+	@Override
+	public void clear() {
+		cache.clear();
+	}
+
+}
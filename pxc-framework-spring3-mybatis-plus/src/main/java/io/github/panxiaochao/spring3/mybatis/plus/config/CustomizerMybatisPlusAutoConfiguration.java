@@ -25,20 +25,29 @@ import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import io.github.panxiaochao.spring3.core.utils.IpUtil;
+import io.github.panxiaochao.spring3.mybatis.plus.datascope.DataScopeInnerInterceptor;
+import io.github.panxiaochao.spring3.mybatis.plus.datascope.DataScopeProvider;
 import io.github.panxiaochao.spring3.mybatis.plus.handler.CustomizerMetaObjectHandler;
 import io.github.panxiaochao.spring3.mybatis.plus.injector.mysql.MySqlInjector;
 import io.github.panxiaochao.spring3.mybatis.plus.injector.oracle.OracleInjector;
+import io.github.panxiaochao.spring3.mybatis.plus.page.CountPage;
+import io.github.panxiaochao.spring3.mybatis.plus.page.KeysetPage;
+import io.github.panxiaochao.spring3.mybatis.plus.page.KeysetSqlRewriter;
+import io.github.panxiaochao.spring3.mybatis.plus.page.PageCountSupport;
 import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
 
 import java.sql.SQLException;
 
@@ -62,8 +71,11 @@ public class CustomizerMybatisPlusAutoConfiguration {
 	 * @return MybatisPlusInterceptor
 	 */
 	@Bean
-	public MybatisPlusInterceptor mybatisPlusInterceptor() {
+	public MybatisPlusInterceptor mybatisPlusInterceptor(ObjectProvider<DataScopeProvider> dataScopeProvider) {
 		MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+		// 数据权限插件, 需在分页插件之前
+		dataScopeProvider.ifAvailable(provider -> interceptor
+			.addInnerInterceptor(new DataScopeInnerInterceptor(provider, mpProperties.getDataScope())));
 		// 分页插件
 		interceptor.addInnerInterceptor(paginationInnerInterceptor());
 		// 乐观锁插件
@@ -75,7 +87,8 @@ public class CustomizerMybatisPlusAutoConfiguration {
 	 * 分页插件
 	 */
 	private CustomizerPaginationInnerInterceptor paginationInnerInterceptor() {
-		CustomizerPaginationInnerInterceptor paginationInnerInterceptor = new CustomizerPaginationInnerInterceptor();
+		CustomizerPaginationInnerInterceptor paginationInnerInterceptor = new CustomizerPaginationInnerInterceptor(
+				new PageCountSupport(mpProperties.getCount()));
 		// 设置数据库类型
 		paginationInnerInterceptor.setDbType(mpProperties.getDbType());
 		paginationInnerInterceptor.setOptimizeJoin(false);
@@ -87,10 +100,59 @@ public class CustomizerMybatisPlusAutoConfiguration {
 	}
 
 	/**
-	 * 自定义分页插件, 解决当 size 小于 0 时, 直接设置为 0, 防止错误查询全表
+	 * 自定义分页插件, 解决当 size 小于 0 时, 直接设置为 0, 防止错误查询全表; 支持 {@link KeysetPage} 游标分页,
+	 * 支持 {@link CountPage} 按查询选择总数策略
 	 */
 	static class CustomizerPaginationInnerInterceptor extends PaginationInnerInterceptor {
 
+		private final PageCountSupport pageCountSupport;
+
+		CustomizerPaginationInnerInterceptor(PageCountSupport pageCountSupport) {
+			this.pageCountSupport = pageCountSupport;
+		}
+
+		@Override
+		public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+				ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+			IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+			if (!(page instanceof CountPage<?> countPage) || page.getSize() < 0 || !page.searchCount()
+					|| resultHandler != Executor.NO_RESULT_HANDLER || StringUtils.hasText(page.countId())) {
+				return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+			}
+			switch (countPage.getCountStrategy()) {
+				case CACHED -> {
+					CacheKey cacheKey = pageCountSupport.cacheKey(executor, ms, parameter, boundSql);
+					Long total = pageCountSupport.getCachedTotal(cacheKey);
+					if (total != null) {
+						page.setTotal(total);
+						return continuePage(page);
+					}
+					boolean continueQuery = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler,
+							boundSql);
+					pageCountSupport.putCachedTotal(cacheKey, page.getTotal());
+					return continueQuery;
+				}
+				case ESTIMATED -> {
+					Long total = pageCountSupport.estimate(executor, ms, parameter, boundSql, getDbType());
+					if (total != null) {
+						countPage.setEstimated(true);
+						page.setTotal(total);
+						return continuePage(page);
+					}
+					return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+				}
+				case PARALLEL -> {
+					// 数据查询不等待 COUNT, 读取总数时等待, 不做分页合理化
+					countPage.setTotalFuture(pageCountSupport.countAsync(ms, parameter, boundSql,
+							autoCountSql(page, boundSql.getSql())));
+					return true;
+				}
+				default -> {
+					return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+				}
+			}
+		}
+
 		@Override
 		public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
 				ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
@@ -99,6 +161,10 @@ public class CustomizerMybatisPlusAutoConfiguration {
 			if (null != page && page.getSize() < 0) {
 				page.setSize(0);
 			}
+			// 游标分页, 追加定位条件, 排序与 LIMIT 由父类追加
+			if (page instanceof KeysetPage<?> keysetPage && keysetPage.hasCursor()) {
+				KeysetSqlRewriter.rewrite(ms.getConfiguration(), boundSql, keysetPage);
+			}
 			super.beforeQuery(executor, ms, page, rowBounds, resultHandler, boundSql);
 		}
 
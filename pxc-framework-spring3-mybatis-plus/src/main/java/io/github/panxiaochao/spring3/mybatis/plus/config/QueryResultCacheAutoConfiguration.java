@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.config;
+
+import io.github.panxiaochao.spring3.mybatis.plus.cache.CaffeineQueryCacheStore;
+import io.github.panxiaochao.spring3.mybatis.plus.cache.QueryCacheStore;
+import io.github.panxiaochao.spring3.mybatis.plus.cache.QueryResultCacheInterceptor;
+import io.github.panxiaochao.spring3.mybatis.plus.cache.SpringCacheQueryCacheStore;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.Assert;
+
+/**
+ * <p>
+ * 查询结果缓存自动配置类, mybatis-plus.query-cache.enabled=true 时生效
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@AutoConfiguration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(MpProperties.class)
+@ConditionalOnProperty(prefix = "mybatis-plus.query-cache", name = "enabled", havingValue = "true")
+public class QueryResultCacheAutoConfiguration {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(QueryResultCacheAutoConfiguration.class);
+
+	private final MpProperties mpProperties;
+
+	/**
+	 * 查询结果缓存存储
+	 * @param cacheManager CacheManager, SPRING_CACHE 存储时必须存在
+	 * @return QueryCacheStore
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public QueryCacheStore queryCacheStore(ObjectProvider<CacheManager> cacheManager) {
+		MpProperties.QueryCache queryCache = mpProperties.getQueryCache();
+		if (queryCache.getStoreType() == MpProperties.QueryCache.StoreType.SPRING_CACHE) {
+			CacheManager manager = cacheManager.getIfAvailable();
+			Assert.notNull(manager, "mybatis-plus.query-cache.store-type=SPRING_CACHE requires a CacheManager");
+			Cache cache = manager.getCache(queryCache.getCacheName());
+			Assert.notNull(cache, "Cache not found: " + queryCache.getCacheName());
+			return new SpringCacheQueryCacheStore(cache);
+		}
+		return new CaffeineQueryCacheStore(queryCache);
+	}
+
+	/**
+	 * 查询结果缓存插件
+	 * @param queryCacheStore 存储
+	 * @return QueryResultCacheInterceptor
+	 */
+	@Bean
+	public QueryResultCacheInterceptor queryResultCacheInterceptor(QueryCacheStore queryCacheStore) {
+		QueryResultCacheInterceptor interceptor = new QueryResultCacheInterceptor(queryCacheStore,
+				mpProperties.getQueryCache());
+		LOGGER.info("配置[QueryResultCacheInterceptor]成功！存储: {}", mpProperties.getQueryCache().getStoreType());
+		return interceptor;
+	}
+
+}
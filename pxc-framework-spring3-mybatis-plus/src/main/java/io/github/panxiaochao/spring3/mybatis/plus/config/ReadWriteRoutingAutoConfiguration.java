@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.config;
+
+import io.github.panxiaochao.spring3.mybatis.plus.datasource.ReadOnly;
+import io.github.panxiaochao.spring3.mybatis.plus.datasource.ReadOnlyInterceptor;
+import io.github.panxiaochao.spring3.mybatis.plus.datasource.ReadWriteRoutingDataSourcePostProcessor;
+import io.github.panxiaochao.spring3.mybatis.plus.datasource.ReadWriteRoutingInterceptor;
+import io.github.panxiaochao.spring3.mybatis.plus.datasource.ReadWriteRoutingMetrics;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * <p>
+ * 读写分离自动配置类, mybatis-plus.read-write.enabled=true 时生效
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "mybatis-plus.read-write", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingAutoConfiguration {
+
+	/**
+	 * 包装主数据源
+	 */
+	@Bean
+	public static ReadWriteRoutingDataSourcePostProcessor readWriteRoutingDataSourcePostProcessor(
+			Environment environment, ObjectProvider<ReadWriteRoutingMetrics> routingMetrics) {
+		MpProperties.ReadWrite readWrite = Binder.get(environment)
+			.bindOrCreate("mybatis-plus.read-write", MpProperties.ReadWrite.class);
+		return new ReadWriteRoutingDataSourcePostProcessor(readWrite, routingMetrics);
+	}
+
+	/**
+	 * 查询语句标记插件
+	 * @return ReadWriteRoutingInterceptor
+	 */
+	@Bean
+	public ReadWriteRoutingInterceptor readWriteRoutingInterceptor() {
+		return new ReadWriteRoutingInterceptor();
+	}
+
+	/**
+	 * '@ReadOnly' 切面, 排在事务切面之前
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor readOnlyAdvisor() {
+		ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadOnly.class, true))
+			.union(new AnnotationMatchingPointcut(null, ReadOnly.class, true));
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReadOnlyInterceptor());
+		advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 200);
+		return advisor;
+	}
+
+	/**
+	 * 读写分离指标, 引入 micrometer 时生效
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class ReadWriteRoutingMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public ReadWriteRoutingMetrics readWriteRoutingMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+			return new ReadWriteRoutingMetrics(meterRegistry);
+		}
+
+	}
+
+}
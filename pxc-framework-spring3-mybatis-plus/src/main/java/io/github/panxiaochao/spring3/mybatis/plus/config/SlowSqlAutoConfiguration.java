@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.config;
+
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import io.github.panxiaochao.spring3.mybatis.plus.slowsql.SlowSqlEndpoint;
+import io.github.panxiaochao.spring3.mybatis.plus.slowsql.SlowSqlExplainer;
+import io.github.panxiaochao.spring3.mybatis.plus.slowsql.SlowSqlInterceptor;
+import io.github.panxiaochao.spring3.mybatis.plus.slowsql.SqlStatistics;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>
+ * 慢 SQL 检测自动配置类, mybatis-plus.slow-sql.enabled=true 时生效
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@AutoConfiguration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(MpProperties.class)
+@ConditionalOnProperty(prefix = "mybatis-plus.slow-sql", name = "enabled", havingValue = "true")
+public class SlowSqlAutoConfiguration {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlowSqlAutoConfiguration.class);
+
+	private final MpProperties mpProperties;
+
+	/**
+	 * SQL 执行统计
+	 * @return SqlStatistics
+	 */
+	@Bean
+	public SqlStatistics sqlStatistics() {
+		return new SqlStatistics(mpProperties.getSlowSql().getMaxStatements());
+	}
+
+	/**
+	 * 执行计划异步采集
+	 * @param sqlStatistics SQL 执行统计
+	 * @return SlowSqlExplainer
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "mybatis-plus.slow-sql", name = "explain", havingValue = "true",
+			matchIfMissing = true)
+	public SlowSqlExplainer slowSqlExplainer(SqlStatistics sqlStatistics) {
+		return new SlowSqlExplainer(sqlStatistics, mpProperties.getDbType(),
+				mpProperties.getSlowSql().getExplainInterval());
+	}
+
+	/**
+	 * 慢 SQL 检测插件
+	 * @param sqlStatistics SQL 执行统计
+	 * @param slowSqlExplainer 执行计划采集
+	 * @return SlowSqlInterceptor
+	 */
+	@Bean
+	public SlowSqlInterceptor slowSqlInterceptor(SqlStatistics sqlStatistics,
+			ObjectProvider<SlowSqlExplainer> slowSqlExplainer) {
+		MpProperties.SlowSql slowSql = mpProperties.getSlowSql();
+		SlowSqlInterceptor interceptor = new SlowSqlInterceptor(sqlStatistics, slowSql.getThreshold().toNanos(),
+				slowSqlExplainer.getIfAvailable());
+		LOGGER.info("配置[SlowSqlInterceptor]成功！阈值: {}", slowSql.getThreshold());
+		return interceptor;
+	}
+
+	/**
+	 * 慢 SQL 统计端点, 引入 actuator 时生效
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(Endpoint.class)
+	static class SlowSqlEndpointConfiguration {
+
+		@Bean
+		public SlowSqlEndpoint slowSqlEndpoint(SqlStatistics sqlStatistics, MpProperties mpProperties) {
+			return new SlowSqlEndpoint(sqlStatistics, mpProperties.getSlowSql().getTopN());
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datascope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * 数据权限注解, 标注在 Mapper 接口或方法上, 查询时按当前用户的
+ * {@link io.github.panxiaochao.spring3.mybatis.plus.enums.DataScopeEnum} 追加过滤条件
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataScope {
+
+	/**
+	 * 部门字段, 对应模板变量 #orgId
+	 */
+	String orgColumn() default "ORG_ID";
+
+	/**
+	 * 创建人字段, 对应模板变量 #createId
+	 */
+	String userColumn() default "CREATE_ID";
+
+	/**
+	 * 表别名, 为空时取主表别名, 多表关联且无别名时取主表名
+	 */
+	String tableAlias() default "";
+
+}
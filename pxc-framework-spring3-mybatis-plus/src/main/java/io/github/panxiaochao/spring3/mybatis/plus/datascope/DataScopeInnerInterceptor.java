@@ -0,0 +1,361 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datascope;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.mybatis.plus.enums.DataScopeEnum;
+import io.github.panxiaochao.spring3.mybatis.plus.mapper.CursorQueryHelper;
+import io.github.panxiaochao.spring3.mybatis.plus.mapper.MapperAnnotationHelper;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * 数据权限插件, 对标注 {@link DataScope} 的 Mapper 查询追加 {@link DataScopeEnum} 模板条件
+ * </p>
+ * <pre>
+ * 1. 每条 SQL 只解析一次, 缓存在最外层 WHERE 追加占位后的 SQL, 之后每次查询只替换占位
+ * 2. 模板中的值以 ? 参数绑定, 部门id集合展开为 IN (?, ?), 不拼接到 SQL 中
+ * 3. 模板取值为 null 时使用 elseSql, 当前用户为 null 或数据权限为 ALL 时不过滤
+ * 4. 需要在分页插件之前添加, 使 COUNT 查询带上数据权限条件
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class DataScopeInnerInterceptor implements InnerInterceptor {
+
+	private static final String MARKER = "__DATA_SCOPE_MARKER__";
+
+	private static final Pattern MARKER_PATTERN = Pattern.compile("(?:([\\w`\"\\[\\]]+)\\.)?" + MARKER);
+
+	private static final String PARAM_PREFIX = "__data_scope_";
+
+	private static final String NULL = "NULL";
+
+	private final DataScopeProvider dataScopeProvider;
+
+	private final DataScopeService dataScopeService;
+
+	/**
+	 * 模板表达式拆分后的片段, 启动时解析
+	 */
+	private final Map<DataScopeEnum, ScopeTemplate> scopeTemplates = new EnumMap<>(DataScopeEnum.class);
+
+	/**
+	 * MappedStatement id + SQL -> 追加占位后的 SQL
+	 */
+	private final Cache<String, String> sqlCache;
+
+	/**
+	 * MappedStatement id -> 注解
+	 */
+	private final Map<String, Optional<DataScope>> annotationCache = new ConcurrentHashMap<>();
+
+	public DataScopeInnerInterceptor(DataScopeProvider dataScopeProvider, MpProperties.DataScope dataScope) {
+		this.dataScopeProvider = dataScopeProvider;
+		this.dataScopeService = new DataScopeService(dataScopeProvider, dataScope);
+		this.sqlCache = Caffeine.newBuilder().maximumSize(dataScope.getSqlCacheMaximumSize()).build();
+		SpelExpressionParser parser = new SpelExpressionParser();
+		TemplateParserContext parserContext = new TemplateParserContext();
+		for (DataScopeEnum scope : DataScopeEnum.values()) {
+			if (scope != DataScopeEnum.ALL) {
+				this.scopeTemplates.put(scope,
+						new ScopeTemplate(parse(parser, parserContext, scope.getSqlTemplate()),
+								parse(parser, parserContext, scope.getElseSql())));
+			}
+		}
+	}
+
+	/**
+	 * 部门id集合缓存
+	 * @return DataScopeService
+	 */
+	public DataScopeService getDataScopeService() {
+		return dataScopeService;
+	}
+
+	@Override
+	public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+			ResultHandler resultHandler, BoundSql boundSql) {
+		rewrite(ms, boundSql);
+	}
+
+	/**
+	 * 游标查询不经过 beforeQuery, 在这里处理
+	 */
+	@Override
+	public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+		PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+		MappedStatement ms = mpSh.mappedStatement();
+		if (ms.getSqlCommandType() == SqlCommandType.SELECT && ms.getId().contains(CursorQueryHelper.STREAM_SUFFIX)) {
+			rewrite(ms, mpSh.boundSql());
+		}
+	}
+
+	private void rewrite(MappedStatement ms, BoundSql boundSql) {
+		DataScope dataScope = findDataScope(ms.getId());
+		if (dataScope == null) {
+			return;
+		}
+		DataScopeUser user = dataScopeProvider.currentUser();
+		if (user == null || user.getDataScope() == null || user.getDataScope() == DataScopeEnum.ALL) {
+			return;
+		}
+		ScopeTemplate scopeTemplate = scopeTemplates.get(user.getDataScope());
+		String template = sqlCache.get(ms.getId() + '\n' + boundSql.getSql(), key -> appendMarker(boundSql.getSql(),
+				dataScope.tableAlias()));
+		PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+		List<ParameterMapping> mappings = new ArrayList<>(mpBoundSql.parameterMappings());
+		StringBuilder sql = new StringBuilder(template.length() + 64);
+		Matcher matcher = MARKER_PATTERN.matcher(template);
+		int last = 0;
+		int inserted = 0;
+		int bindIndex = 0;
+		while (matcher.find()) {
+			String qualifier = matcher.group(1) == null ? "" : matcher.group(1) + ".";
+			StandardEvaluationContext context = createContext(user, dataScope, qualifier);
+			List<Object> values = new ArrayList<>();
+			String predicate = render(scopeTemplate.sqlTemplate, context, values);
+			if (predicate == null) {
+				values.clear();
+				predicate = render(scopeTemplate.elseSql, context, values);
+			}
+			List<ParameterMapping> scopeMappings = new ArrayList<>(values.size());
+			for (Object value : values) {
+				String property = PARAM_PREFIX + bindIndex++;
+				boundSql.setAdditionalParameter(property, value);
+				scopeMappings.add(new ParameterMapping.Builder(ms.getConfiguration(), property,
+						value == null ? Object.class : value.getClass())
+					.build());
+			}
+			mappings.addAll(countParameters(template, matcher.start()) + inserted, scopeMappings);
+			inserted += scopeMappings.size();
+			sql.append(template, last, matcher.start()).append('(').append(predicate).append(')');
+			last = matcher.end();
+		}
+		sql.append(template, last, template.length());
+		mpBoundSql.sql(sql.toString());
+		mpBoundSql.parameterMappings(mappings);
+	}
+
+	/**
+	 * 在最外层 WHERE 追加占位, UNION 的每个查询分别追加
+	 */
+	private String appendMarker(String sql, String tableAlias) {
+		Select select;
+		try {
+			select = (Select) CCJSqlParserUtil.parse(sql);
+		}
+		catch (JSQLParserException | ClassCastException ex) {
+			throw new MybatisPlusException("Data scope failed to parse sql: " + sql);
+		}
+		SelectBody selectBody = select.getSelectBody();
+		if (selectBody instanceof SetOperationList setOperationList) {
+			for (SelectBody body : setOperationList.getSelects()) {
+				appendMarker(body, tableAlias, sql);
+			}
+		}
+		else {
+			appendMarker(selectBody, tableAlias, sql);
+		}
+		return select.toString();
+	}
+
+	private void appendMarker(SelectBody selectBody, String tableAlias, String sql) {
+		if (!(selectBody instanceof PlainSelect plainSelect)) {
+			throw new MybatisPlusException("Data scope only supports plain select: " + sql);
+		}
+		Column marker = new Column(MARKER);
+		String qualifier = StringUtils.hasText(tableAlias) ? tableAlias : qualifier(plainSelect);
+		if (qualifier != null) {
+			marker.setTable(new Table(qualifier));
+		}
+		net.sf.jsqlparser.expression.Expression where = plainSelect.getWhere();
+		plainSelect.setWhere(where == null ? marker : new AndExpression(new Parenthesis(where), marker));
+	}
+
+	/**
+	 * 主表别名, 多表关联且无别名时取主表名, 单表无别名不加限定
+	 */
+	private static String qualifier(PlainSelect plainSelect) {
+		FromItem fromItem = plainSelect.getFromItem();
+		if (fromItem.getAlias() != null) {
+			return fromItem.getAlias().getName();
+		}
+		if (fromItem instanceof Table table && plainSelect.getJoins() != null && !plainSelect.getJoins().isEmpty()) {
+			return table.getName();
+		}
+		return null;
+	}
+
+	private StandardEvaluationContext createContext(DataScopeUser user, DataScope dataScope, String qualifier) {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setBeanResolver((ctx, beanName) -> {
+			if (DataScopeService.BEAN_NAME.equals(beanName)) {
+				return dataScopeService;
+			}
+			throw new AccessException("Data scope template only supports @" + DataScopeService.BEAN_NAME);
+		});
+		context.setVariable("user", user);
+		context.setVariable("orgId", new SqlColumn(qualifier + dataScope.orgColumn()));
+		context.setVariable("createId", new SqlColumn(qualifier + dataScope.userColumn()));
+		return context;
+	}
+
+	/**
+	 * 渲染模板, 字段原样输出, 其余取值以 ? 绑定, 取值为 null 时返回 null
+	 */
+	private static String render(Expression[] parts, EvaluationContext context, List<Object> values) {
+		StringBuilder sql = new StringBuilder();
+		for (Expression part : parts) {
+			if (part instanceof LiteralExpression) {
+				sql.append(part.getExpressionString());
+				continue;
+			}
+			Object value = part.getValue(context);
+			if (value == null) {
+				return null;
+			}
+			if (value instanceof SqlColumn column) {
+				sql.append(column.name);
+			}
+			else if (value instanceof Collection<?> collection) {
+				if (collection.isEmpty()) {
+					sql.append(NULL);
+				}
+				else {
+					values.addAll(collection);
+					sql.append(String.join(", ", Collections.nCopies(collection.size(), "?")));
+				}
+			}
+			else {
+				values.add(value);
+				sql.append('?');
+			}
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * 查找注解, 按 MappedStatement id 缓存
+	 */
+	private DataScope findDataScope(String id) {
+		return annotationCache
+			.computeIfAbsent(id, key -> Optional.ofNullable(MapperAnnotationHelper.findAnnotation(key, DataScope.class)))
+			.orElse(null);
+	}
+
+	private static Expression[] parse(SpelExpressionParser parser, TemplateParserContext parserContext,
+			String template) {
+		Expression expression = parser.parseExpression(template, parserContext);
+		if (expression instanceof CompositeStringExpression composite) {
+			return composite.getExpressions();
+		}
+		return new Expression[] { expression };
+	}
+
+	/**
+	 * 统计 end 之前不在字符串常量中的 ? 个数
+	 */
+	private static int countParameters(String sql, int end) {
+		int count = 0;
+		boolean quoted = false;
+		for (int i = 0; i < end; i++) {
+			char c = sql.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			}
+			else if (c == '?' && !quoted) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 模板中的字段名, 原样输出
+	 */
+	private static final class SqlColumn {
+
+		private final String name;
+
+		private SqlColumn(String name) {
+			this.name = name;
+		}
+
+	}
+
+	/**
+	 * 数据权限模板与不满足时的模板
+	 */
+	private static final class ScopeTemplate {
+
+		private final Expression[] sqlTemplate;
+
+		private final Expression[] elseSql;
+
+		private ScopeTemplate(Expression[] sqlTemplate, Expression[] elseSql) {
+			this.sqlTemplate = sqlTemplate;
+			this.elseSql = elseSql;
+		}
+
+	}
+
+}
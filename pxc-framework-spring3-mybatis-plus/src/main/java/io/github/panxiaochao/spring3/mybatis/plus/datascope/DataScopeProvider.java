@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datascope;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * 数据权限数据来源, 由业务实现并注册为 Bean 后启用数据权限插件
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public interface DataScopeProvider {
+
+	/**
+	 * 当前用户, 返回 null 时不做数据权限过滤
+	 * @return 当前用户
+	 */
+	DataScopeUser currentUser();
+
+	/**
+	 * 角色自定义数据权限的部门id集合
+	 * @param roleId 角色id
+	 * @return 部门id集合
+	 */
+	Collection<?> getRoleCustom(Object roleId);
+
+	/**
+	 * 本部门及以下部门id集合
+	 * @param orgId 部门id
+	 * @return 部门id集合
+	 */
+	Collection<?> getOrgAndChild(Object orgId);
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datascope;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 数据权限模板中的 @sdss, 缓存部门id集合, 避免每次查询都查询部门树
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class DataScopeService {
+
+	/**
+	 * 模板中的 Bean 名称
+	 */
+	public static final String BEAN_NAME = "sdss";
+
+	private final DataScopeProvider dataScopeProvider;
+
+	private final Cache<Object, List<?>> roleCustomCache;
+
+	private final Cache<Object, List<?>> orgAndChildCache;
+
+	public DataScopeService(DataScopeProvider dataScopeProvider, MpProperties.DataScope dataScope) {
+		this.dataScopeProvider = dataScopeProvider;
+		this.roleCustomCache = Caffeine.newBuilder()
+			.expireAfterWrite(dataScope.getIdsCacheTtl())
+			.maximumSize(dataScope.getIdsCacheMaximumSize())
+			.build();
+		this.orgAndChildCache = Caffeine.newBuilder()
+			.expireAfterWrite(dataScope.getIdsCacheTtl())
+			.maximumSize(dataScope.getIdsCacheMaximumSize())
+			.build();
+	}
+
+	/**
+	 * 角色自定义数据权限的部门id集合
+	 * @param roleId 角色id
+	 * @return 部门id集合
+	 */
+	public Collection<?> getRoleCustom(Object roleId) {
+		if (roleId == null) {
+			return Collections.emptyList();
+		}
+		return roleCustomCache.get(roleId, key -> copyOf(dataScopeProvider.getRoleCustom(key)));
+	}
+
+	/**
+	 * 本部门及以下部门id集合
+	 * @param orgId 部门id
+	 * @return 部门id集合
+	 */
+	public Collection<?> getOrgAndChild(Object orgId) {
+		if (orgId == null) {
+			return Collections.emptyList();
+		}
+		return orgAndChildCache.get(orgId, key -> copyOf(dataScopeProvider.getOrgAndChild(key)));
+	}
+
+	/**
+	 * 部门变更后清空缓存
+	 */
+	public void invalidateAll() {
+		roleCustomCache.invalidateAll();
+		orgAndChildCache.invalidateAll();
+	}
+
+	private static List<?> copyOf(Collection<?> ids) {
+		return ids == null ? Collections.emptyList() : ids.stream().filter(Objects::nonNull).toList();
+	}
+
+}
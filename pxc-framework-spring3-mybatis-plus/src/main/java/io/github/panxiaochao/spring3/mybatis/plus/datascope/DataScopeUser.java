@@ -13,38 +13,42 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.github.panxiaochao.spring3.operate.log.core.context;
+package io.github.panxiaochao.spring3.mybatis.plus.datascope;
 
-import com.alibaba.ttl.TransmittableThreadLocal;
+import io.github.panxiaochao.spring3.mybatis.plus.enums.DataScopeEnum;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * <p>
- * 方法时间耗时上下文，使用 alibaba ttl 工具
+ * 数据权限用户信息, 对应模板变量 #user
  * </p>
  *
  * @author Lypxc
- * @since 2023-07-03
+ * @since 2026-10-18
  */
-public final class MethodCostContext {
+@Getter
+@Setter
+public class DataScopeUser {
 
 	/**
-	 * 存储毫秒
+	 * 用户id
 	 */
-	private static final TransmittableThreadLocal<Long> METHOD_COST_TIME_LOCAL = new TransmittableThreadLocal<>();
+	private Object userId;
 
-	public static void setMethodCostTime(long costTime) {
-		METHOD_COST_TIME_LOCAL.set(costTime);
-	}
+	/**
+	 * 部门id
+	 */
+	private Object orgId;
 
 	/**
-	 * 获取时间毫秒数
+	 * 角色id
 	 */
-	public static long getMethodCostTime() {
-		return METHOD_COST_TIME_LOCAL.get();
-	}
+	private Object roleId;
 
-	public static void removeMethodCostTime() {
-		METHOD_COST_TIME_LOCAL.remove();
-	}
+	/**
+	 * 数据权限
+	 */
+	private DataScopeEnum dataScope;
 
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+/**
+ * <p>
+ * 读写分离路由上下文, 按线程记录只读标记、当前语句类型与最近一次写入时间
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class DataSourceRoutingContext {
+
+	private static final ThreadLocal<RoutingState> STATE = ThreadLocal.withInitial(RoutingState::new);
+
+	private DataSourceRoutingContext() {
+	}
+
+	/**
+	 * 进入只读方法, 支持嵌套
+	 */
+	public static void enterReadOnly() {
+		STATE.get().readOnlyDepth++;
+	}
+
+	/**
+	 * 退出只读方法
+	 */
+	public static void exitReadOnly() {
+		RoutingState state = STATE.get();
+		if (state.readOnlyDepth > 0) {
+			state.readOnlyDepth--;
+		}
+	}
+
+	/**
+	 * 是否在只读方法内
+	 * @return true 只读
+	 */
+	public static boolean isReadOnly() {
+		return STATE.get().readOnlyDepth > 0;
+	}
+
+	/**
+	 * 标记当前语句是否为查询
+	 * @param read 是否为查询
+	 * @return 之前的标记, 用于恢复
+	 */
+	public static boolean setStatementRead(boolean read) {
+		RoutingState state = STATE.get();
+		boolean previous = state.statementRead;
+		state.statementRead = read;
+		return previous;
+	}
+
+	/**
+	 * 当前语句是否为查询
+	 * @return true 查询
+	 */
+	public static boolean isStatementRead() {
+		return STATE.get().statementRead;
+	}
+
+	/**
+	 * 记录写入, 粘滞窗口内的查询走主库
+	 */
+	public static void markWritten() {
+		STATE.get().lastWriteNanos = System.nanoTime();
+	}
+
+	/**
+	 * 是否在写入后的粘滞窗口内
+	 * @param windowNanos 窗口, 单位纳秒
+	 * @return true 需要读主库
+	 */
+	public static boolean isSticky(long windowNanos) {
+		RoutingState state = STATE.get();
+		return state.lastWriteNanos != 0 && System.nanoTime() - state.lastWriteNanos < windowNanos;
+	}
+
+	/**
+	 * 清理当前线程上下文, 例如请求结束时调用
+	 */
+	public static void clear() {
+		STATE.remove();
+	}
+
+	private static final class RoutingState {
+
+		private int readOnlyDepth;
+
+		private boolean statementRead;
+
+		private long lastWriteNanos;
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * <p>
+ * '@ReadOnly' 切面, 需排在事务切面之前, 事务开始获取连接时已处于只读状态
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ReadOnlyInterceptor implements MethodInterceptor {
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		DataSourceRoutingContext.enterReadOnly();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			DataSourceRoutingContext.exitReadOnly();
+		}
+	}
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 读写分离路由数据源
+ * </p>
+ * <pre>
+ * 1. 写入后的粘滞窗口内走主库, 保证同一线程读到自己的写入
+ * 2. '@ReadOnly' 方法内走从库
+ * 3. 事务内走主库, 事务外的查询语句走从库
+ * 4. 从库按权重平滑轮询, 连续获取连接失败达到阈值时剔除, 剔除到期或健康检查通过后恢复
+ * 5. 配置 lagQuery 时健康检查同时检查复制延迟, 超过 maxLag 的从库不参与路由
+ * 6. 没有可用从库时走主库
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+	/**
+	 * 主库名称
+	 */
+	public static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+
+	private final List<ReplicaDataSource> replicas;
+
+	private final MpProperties.ReadWrite readWrite;
+
+	private final long stickyWindowNanos;
+
+	private final long ejectNanos;
+
+	@Nullable
+	private final ScheduledExecutorService healthChecker;
+
+	@Nullable
+	private volatile RoutingListener routingListener;
+
+	public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaDataSource> replicas,
+			MpProperties.ReadWrite readWrite) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.readWrite = readWrite;
+		this.stickyWindowNanos = readWrite.getStickyWindow().toNanos();
+		this.ejectNanos = readWrite.getEjectDuration().toNanos();
+		long interval = readWrite.getHealthCheckInterval().toMillis();
+		if (!this.replicas.isEmpty() && interval > 0) {
+			this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "datasource-health-check");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.healthChecker = null;
+		}
+	}
+
+	public void setRoutingListener(@Nullable RoutingListener routingListener) {
+		this.routingListener = routingListener;
+	}
+
+	public DataSource getPrimary() {
+		return primary;
+	}
+
+	public List<ReplicaDataSource> getReplicas() {
+		return Collections.unmodifiableList(replicas);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getConnection(null, null);
+	}
+
+	@Override
+	public Connection getConnection(@Nullable String username, @Nullable String password) throws SQLException {
+		if (!replicas.isEmpty() && routeToReplica()) {
+			for (int i = 0; i < replicas.size(); i++) {
+				ReplicaDataSource replica = selectReplica();
+				if (replica == null) {
+					break;
+				}
+				long start = System.nanoTime();
+				try {
+					Connection connection = open(replica.getDataSource(), username, password);
+					replica.recordSuccess();
+					notifyConnection(replica.getName(), true, start, true);
+					return connection;
+				}
+				catch (SQLException ex) {
+					notifyConnection(replica.getName(), true, start, false);
+					recordFailure(replica, ex);
+				}
+			}
+		}
+		long start = System.nanoTime();
+		try {
+			Connection connection = open(primary, username, password);
+			notifyConnection(PRIMARY, false, start, true);
+			return connection;
+		}
+		catch (SQLException ex) {
+			notifyConnection(PRIMARY, false, start, false);
+			throw ex;
+		}
+	}
+
+	/**
+	 * 是否路由到从库
+	 */
+	private boolean routeToReplica() {
+		if (DataSourceRoutingContext.isSticky(stickyWindowNanos)) {
+			return false;
+		}
+		if (DataSourceRoutingContext.isReadOnly()) {
+			return true;
+		}
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+				&& DataSourceRoutingContext.isStatementRead();
+	}
+
+	/**
+	 * 平滑加权轮询, 跳过不可用从库
+	 */
+	@Nullable
+	private synchronized ReplicaDataSource selectReplica() {
+		ReplicaDataSource selected = null;
+		int totalWeight = 0;
+		for (ReplicaDataSource replica : replicas) {
+			if (!replica.isAvailable()) {
+				continue;
+			}
+			replica.currentWeight += replica.getWeight();
+			totalWeight += replica.getWeight();
+			if (selected == null || replica.currentWeight > selected.currentWeight) {
+				selected = replica;
+			}
+		}
+		if (selected != null) {
+			selected.currentWeight -= totalWeight;
+		}
+		return selected;
+	}
+
+	private void recordFailure(ReplicaDataSource replica, SQLException ex) {
+		if (replica.recordFailure(readWrite.getFailureThreshold(), ejectNanos)) {
+			LOGGER.warn("从库[{}]连续获取连接失败, 剔除 {}: {}", replica.getName(), readWrite.getEjectDuration(),
+					ex.getMessage());
+			RoutingListener listener = this.routingListener;
+			if (listener != null) {
+				listener.onEjected(replica.getName());
+			}
+		}
+	}
+
+	/**
+	 * 健康检查: 连接有效性与复制延迟
+	 */
+	private void checkReplicas() {
+		int timeoutSeconds = (int) Math.max(1, readWrite.getHealthCheckTimeout().toSeconds());
+		for (ReplicaDataSource replica : replicas) {
+			try (Connection connection = replica.getDataSource().getConnection()) {
+				if (!connection.isValid(timeoutSeconds)) {
+					throw new SQLException("Connection is not valid");
+				}
+				replica.recordSuccess();
+				if (StringUtils.hasText(readWrite.getLagQuery())) {
+					checkLag(replica, connection, timeoutSeconds);
+				}
+			}
+			catch (SQLException ex) {
+				recordFailure(replica, ex);
+			}
+			catch (RuntimeException ex) {
+				LOGGER.warn("从库[{}]健康检查异常", replica.getName(), ex);
+			}
+		}
+	}
+
+	private void checkLag(ReplicaDataSource replica, Connection connection, int timeoutSeconds) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.setQueryTimeout(timeoutSeconds);
+			try (ResultSet rs = statement.executeQuery(readWrite.getLagQuery())) {
+				// 无结果或 NULL(复制中断等) 视为延迟, 暂停路由
+				Double lagSeconds = null;
+				if (rs.next()) {
+					double value = rs.getDouble(1);
+					lagSeconds = rs.wasNull() ? null : value;
+				}
+				boolean lagging = lagSeconds == null || lagSeconds * 1000 > readWrite.getMaxLag().toMillis();
+				if (lagging != replica.isLagging()) {
+					LOGGER.warn("从库[{}]复制延迟 {}s, {}", replica.getName(), lagSeconds == null ? "未知" : lagSeconds,
+							lagging ? "暂停路由" : "恢复路由");
+				}
+				replica.setLagging(lagging);
+			}
+		}
+	}
+
+	private void notifyConnection(String name, boolean replica, long start, boolean success) {
+		RoutingListener listener = this.routingListener;
+		if (listener != null) {
+			listener.onConnection(name, replica, System.nanoTime() - start, success);
+		}
+	}
+
+	private static Connection open(DataSource dataSource, @Nullable String username, @Nullable String password)
+			throws SQLException {
+		return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+	}
+
+	/**
+	 * 连接池指标等通过 unwrap 获取主库
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		return primary.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || primary.isWrapperFor(iface);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (healthChecker != null) {
+			healthChecker.shutdownNow();
+		}
+		for (ReplicaDataSource replica : replicas) {
+			close(replica.getDataSource());
+		}
+		close(primary);
+	}
+
+	private static void close(DataSource dataSource) {
+		if (dataSource instanceof AutoCloseable closeable) {
+			try {
+				closeable.close();
+			}
+			catch (Exception ex) {
+				LOGGER.warn("关闭数据源失败", ex);
+			}
+		}
+	}
+
+}
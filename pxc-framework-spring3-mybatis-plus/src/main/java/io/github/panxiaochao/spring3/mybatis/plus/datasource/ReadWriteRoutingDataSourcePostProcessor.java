@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * 将主数据源包装为读写分离路由数据源, 从库按配置创建
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ReadWriteRoutingDataSourcePostProcessor implements BeanPostProcessor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingDataSourcePostProcessor.class);
+
+	private final MpProperties.ReadWrite readWrite;
+
+	private final ObjectProvider<ReadWriteRoutingMetrics> routingMetrics;
+
+	public ReadWriteRoutingDataSourcePostProcessor(MpProperties.ReadWrite readWrite,
+			ObjectProvider<ReadWriteRoutingMetrics> routingMetrics) {
+		this.readWrite = readWrite;
+		this.routingMetrics = routingMetrics;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (!(bean instanceof DataSource primary) || bean instanceof ReadWriteRoutingDataSource
+				|| !readWrite.getPrimaryBeanName().equals(beanName)) {
+			return bean;
+		}
+		List<ReplicaDataSource> replicas = new ArrayList<>(readWrite.getReplicas().size());
+		for (int i = 0; i < readWrite.getReplicas().size(); i++) {
+			MpProperties.Replica replica = readWrite.getReplicas().get(i);
+			String name = StringUtils.hasText(replica.getName()) ? replica.getName() : "replica-" + i;
+			DataSource dataSource = DataSourceBuilder.create()
+				.driverClassName(replica.getDriverClassName())
+				.url(replica.getUrl())
+				.username(replica.getUsername())
+				.password(replica.getPassword())
+				.build();
+			replicas.add(new ReplicaDataSource(name, dataSource, replica.getWeight()));
+		}
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, readWrite);
+		ReadWriteRoutingMetrics metrics = routingMetrics.getIfAvailable();
+		if (metrics != null) {
+			routingDataSource.setRoutingListener(metrics);
+			metrics.bindTo(routingDataSource);
+		}
+		LOGGER.info("配置[ReadWriteRoutingDataSource]成功！从库数量: {}", replicas.size());
+		return routingDataSource;
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 读写分离 Micrometer 指标, 按数据源记录获取连接耗时、剔除次数与从库可用状态
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ReadWriteRoutingMetrics implements RoutingListener {
+
+	/**
+	 * 获取连接耗时
+	 */
+	public static final String CONNECTION_METRIC = "datasource.routing.connection";
+
+	/**
+	 * 从库剔除次数
+	 */
+	public static final String EJECTED_METRIC = "datasource.routing.ejected";
+
+	/**
+	 * 从库是否可用
+	 */
+	public static final String AVAILABLE_METRIC = "datasource.routing.available";
+
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+	/**
+	 * 数据源名称 + 结果 -> Timer
+	 */
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry meterRegistry;
+
+	public ReadWriteRoutingMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	/**
+	 * 绑定从库可用状态
+	 * @param routingDataSource 路由数据源
+	 */
+	public void bindTo(ReadWriteRoutingDataSource routingDataSource) {
+		for (ReplicaDataSource replica : routingDataSource.getReplicas()) {
+			Gauge.builder(AVAILABLE_METRIC, replica, r -> r.isAvailable() ? 1 : 0)
+				.description("从库是否参与路由")
+				.tag("datasource", replica.getName())
+				.register(getMeterRegistry());
+		}
+	}
+
+	@Override
+	public void onConnection(String dataSource, boolean replica, long costNanos, boolean success) {
+		String outcome = success ? "SUCCESS" : "ERROR";
+		Timer timer = timers.get(dataSource + ":" + outcome);
+		if (timer == null) {
+			timer = timers.computeIfAbsent(dataSource + ":" + outcome, k -> Timer.builder(CONNECTION_METRIC)
+				.description("读写分离获取连接耗时")
+				.tag("datasource", dataSource)
+				.tag("role", replica ? "REPLICA" : "PRIMARY")
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(getMeterRegistry()));
+		}
+		timer.record(costNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onEjected(String dataSource) {
+		counters
+			.computeIfAbsent(dataSource,
+					k -> Counter.builder(EJECTED_METRIC)
+						.description("从库剔除次数")
+						.tag("datasource", dataSource)
+						.register(getMeterRegistry()))
+			.increment();
+	}
+
+	private MeterRegistry getMeterRegistry() {
+		MeterRegistry registry = this.meterRegistry;
+		if (registry == null) {
+			registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+			this.meterRegistry = registry;
+		}
+		return registry;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * 从库数据源, 记录权重与健康状态
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ReplicaDataSource {
+
+	@Getter
+	private final String name;
+
+	@Getter
+	private final DataSource dataSource;
+
+	@Getter
+	private final int weight;
+
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	/**
+	 * 平滑加权轮询当前权重, 由路由数据源加锁访问
+	 */
+	int currentWeight;
+
+	private volatile boolean ejected;
+
+	private volatile long ejectedUntilNanos;
+
+	@Getter
+	private volatile boolean lagging;
+
+	public ReplicaDataSource(String name, DataSource dataSource, int weight) {
+		this.name = name;
+		this.dataSource = dataSource;
+		this.weight = Math.max(1, weight);
+	}
+
+	/**
+	 * 是否可用: 未被剔除（或剔除已到期）且延迟未超限
+	 * @return true 可用
+	 */
+	public boolean isAvailable() {
+		return !lagging && (!ejected || System.nanoTime() - ejectedUntilNanos >= 0);
+	}
+
+	/**
+	 * 获取连接成功, 重置失败次数
+	 */
+	void recordSuccess() {
+		consecutiveFailures.set(0);
+		ejected = false;
+	}
+
+	/**
+	 * 获取连接失败, 连续失败达到阈值时剔除
+	 * @param failureThreshold 失败阈值
+	 * @param ejectNanos 剔除时长
+	 * @return 本次是否被剔除
+	 */
+	boolean recordFailure(int failureThreshold, long ejectNanos) {
+		if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+			return false;
+		}
+		consecutiveFailures.set(0);
+		ejectedUntilNanos = System.nanoTime() + ejectNanos;
+		ejected = true;
+		return true;
+	}
+
+	void setLagging(boolean lagging) {
+		this.lagging = lagging;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.datasource;
+
+/**
+ * <p>
+ * 读写分离路由监听, 用于指标统计
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public interface RoutingListener {
+
+	/**
+	 * 获取连接
+	 * @param dataSource 数据源名称
+	 * @param replica 是否从库
+	 * @param costNanos 耗时, 单位纳秒
+	 * @param success 是否成功
+	 */
+	void onConnection(String dataSource, boolean replica, long costNanos, boolean success);
+
+	/**
+	 * 从库被剔除
+	 * @param dataSource 数据源名称
+	 */
+	void onEjected(String dataSource);
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.enums;
+
+/**
+ * <p>
+ * 分页总数查询策略
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public enum CountStrategyEnum {
+
+    /**
+     * 每次精确 COUNT（默认）
+     */
+    DEFAULT,
+
+    /**
+     * 按 MappedStatement + SQL + 参数缓存 COUNT 结果, 短时间内总数可能不精确
+     */
+    CACHED,
+
+    /**
+     * 执行计划估算行数超过阈值时使用估算值, 否则精确 COUNT, 支持 MySQL、PostgreSQL
+     */
+    ESTIMATED,
+
+    /**
+     * 在独立连接上与数据查询并行执行 COUNT, 读取总数时等待结果
+     */
+    PARALLEL
+
+}
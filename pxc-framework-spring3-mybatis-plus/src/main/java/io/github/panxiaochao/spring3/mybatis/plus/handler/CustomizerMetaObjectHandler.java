@@ -37,12 +37,19 @@ public class CustomizerMetaObjectHandler implements MetaObjectHandler {
 
 	private static final String FIELD_ID = "createId";
 
-	private static final String FIELD_CREATE_TIME = "createTime";
+	static final String FIELD_CREATE_TIME = "createTime";
 
-	private static final String FIELD_UPDATE_TIME = "updateTime";
+	static final String FIELD_UPDATE_TIME = "updateTime";
 
 	@Override
 	public void insertFill(MetaObject metaObject) {
+		// 表实体按填充计划直接读写, 只读取一次时间
+		Object entity = metaObject.getOriginalObject();
+		MetaFillPlan plan = MetaFillPlan.of(entity.getClass());
+		if (plan != MetaFillPlan.NONE) {
+			plan.insertFill(entity);
+			return;
+		}
 		// Long
 		strictFillValByName(metaObject, FIELD_UPDATE_TIME, System.currentTimeMillis(), Long.class, false);
 		strictFillValByName(metaObject, FIELD_CREATE_TIME, System.currentTimeMillis(), Long.class, false);
@@ -59,6 +66,12 @@ public class CustomizerMetaObjectHandler implements MetaObjectHandler {
 
 	@Override
 	public void updateFill(MetaObject metaObject) {
+		Object entity = metaObject.getOriginalObject();
+		MetaFillPlan plan = MetaFillPlan.of(entity.getClass());
+		if (plan != MetaFillPlan.NONE) {
+			plan.updateFill(entity);
+			return;
+		}
 		// Long
 		strictFillValByName(metaObject, FIELD_UPDATE_TIME, System.currentTimeMillis(), Long.class, true);
 		// LocalDateTime
@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.handler;
+
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * 实体自动填充计划, 按实体类由 TableInfo 计算一次, 记录时间字段是否存在、类型及读写方法
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+final class MetaFillPlan {
+
+	/**
+	 * 无需填充
+	 */
+	static final MetaFillPlan EMPTY = new MetaFillPlan(null, null);
+
+	/**
+	 * 不是表实体, 例如 Map 参数
+	 */
+	static final MetaFillPlan NONE = new MetaFillPlan(null, null);
+
+	private static final ClassValue<MetaFillPlan> PLANS = new ClassValue<>() {
+		@Override
+		protected MetaFillPlan computeValue(Class<?> type) {
+			return build(type);
+		}
+	};
+
+	private final TimeField createTime;
+
+	private final TimeField updateTime;
+
+	private MetaFillPlan(TimeField createTime, TimeField updateTime) {
+		this.createTime = createTime;
+		this.updateTime = updateTime;
+	}
+
+	/**
+	 * 获取实体填充计划
+	 * @param entityClass 实体类
+	 * @return 填充计划, 不是表实体时返回 {@link #NONE}
+	 */
+	static MetaFillPlan of(Class<?> entityClass) {
+		return PLANS.get(entityClass);
+	}
+
+	/**
+	 * 新增填充, 字段为 null 时才填充
+	 * @param entity 实体
+	 */
+	void insertFill(Object entity) {
+		if (createTime == null && updateTime == null) {
+			return;
+		}
+		Instant now = Instant.now();
+		ZoneId zone = ZoneId.systemDefault();
+		if (updateTime != null && updateTime.getter.apply(entity) == null) {
+			updateTime.setter.accept(entity, updateTime.type.convert(now, zone));
+		}
+		if (createTime != null && createTime.getter.apply(entity) == null) {
+			createTime.setter.accept(entity, createTime.type.convert(now, zone));
+		}
+	}
+
+	/**
+	 * 更新填充, 直接覆盖
+	 * @param entity 实体
+	 */
+	void updateFill(Object entity) {
+		if (updateTime != null) {
+			updateTime.setter.accept(entity, updateTime.type.convert(Instant.now(), ZoneId.systemDefault()));
+		}
+	}
+
+	private static MetaFillPlan build(Class<?> entityClass) {
+		TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+		if (tableInfo == null) {
+			return NONE;
+		}
+		TimeField createTime = null;
+		TimeField updateTime = null;
+		for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+			if (CustomizerMetaObjectHandler.FIELD_CREATE_TIME.equals(fieldInfo.getProperty())) {
+				createTime = TimeField.of(fieldInfo);
+			}
+			else if (CustomizerMetaObjectHandler.FIELD_UPDATE_TIME.equals(fieldInfo.getProperty())) {
+				updateTime = TimeField.of(fieldInfo);
+			}
+		}
+		return createTime == null && updateTime == null ? EMPTY : new MetaFillPlan(createTime, updateTime);
+	}
+
+	/**
+	 * 支持的时间类型
+	 */
+	private enum TimeType {
+
+		LONG {
+			@Override
+			Object convert(Instant now, ZoneId zone) {
+				return now.toEpochMilli();
+			}
+		},
+
+		LOCAL_DATE_TIME {
+			@Override
+			Object convert(Instant now, ZoneId zone) {
+				return LocalDateTime.ofInstant(now, zone);
+			}
+		},
+
+		LOCAL_DATE {
+			@Override
+			Object convert(Instant now, ZoneId zone) {
+				return LocalDate.ofInstant(now, zone);
+			}
+		},
+
+		DATE {
+			@Override
+			Object convert(Instant now, ZoneId zone) {
+				return Date.from(now);
+			}
+		};
+
+		abstract Object convert(Instant now, ZoneId zone);
+
+		static TimeType of(Class<?> type) {
+			if (type == Long.class) {
+				return LONG;
+			}
+			if (type == LocalDateTime.class) {
+				return LOCAL_DATE_TIME;
+			}
+			if (type == LocalDate.class) {
+				return LOCAL_DATE;
+			}
+			if (type == Date.class) {
+				return DATE;
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * 时间字段类型及读写方法
+	 */
+	private static final class TimeField {
+
+		private final TimeType type;
+
+		private final Function<Object, Object> getter;
+
+		private final BiConsumer<Object, Object> setter;
+
+		private TimeField(TimeType type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		private static TimeField of(TableFieldInfo fieldInfo) {
+			TimeType type = TimeType.of(fieldInfo.getPropertyType());
+			if (type == null) {
+				return null;
+			}
+			PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(fieldInfo.getField().getDeclaringClass(),
+					fieldInfo.getProperty());
+			Method readMethod = pd == null ? null : pd.getReadMethod();
+			Method writeMethod = pd == null ? null : pd.getWriteMethod();
+			Function<Object, Object> getter = readMethod == null ? null : getter(readMethod);
+			BiConsumer<Object, Object> setter = writeMethod == null ? null : setter(writeMethod);
+			// 没有 get/set 方法时直接读写字段
+			Field field = fieldInfo.getField();
+			ReflectionUtils.makeAccessible(field);
+			if (getter == null) {
+				getter = entity -> ReflectionUtils.getField(field, entity);
+			}
+			if (setter == null) {
+				setter = (entity, value) -> ReflectionUtils.setField(field, entity, value);
+			}
+			return new TimeField(type, getter, setter);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Function<Object, Object> getter(Method method) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(),
+						MethodHandles.lookup());
+				MethodHandle handle = lookup.unreflect(method);
+				CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+						MethodType.methodType(Object.class, Object.class), handle,
+						MethodType.methodType(method.getReturnType(), method.getDeclaringClass()));
+				return (Function<Object, Object>) site.getTarget().invokeExact();
+			}
+			catch (Throwable ex) {
+				ReflectionUtils.makeAccessible(method);
+				return entity -> ReflectionUtils.invokeMethod(method, entity);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static BiConsumer<Object, Object> setter(Method method) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(),
+						MethodHandles.lookup());
+				MethodHandle handle = lookup.unreflect(method);
+				CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+						MethodType.methodType(BiConsumer.class),
+						MethodType.methodType(void.class, Object.class, Object.class), handle,
+						MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+				return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+			}
+			catch (Throwable ex) {
+				ReflectionUtils.makeAccessible(method);
+				return (entity, value) -> ReflectionUtils.invokeMethod(method, entity, value);
+			}
+		}
+
+	}
+
+}
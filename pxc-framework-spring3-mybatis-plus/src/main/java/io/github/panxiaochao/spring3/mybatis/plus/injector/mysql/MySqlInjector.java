@@ -40,6 +40,10 @@ public class MySqlInjector extends DefaultSqlInjector {
         // 增加自定义方法，字段注解上不等于 FieldFill.UPDATE 的字段才会插入
         methodList.add(new InsertBatchSomeColumn(i -> i.getFieldFill() != FieldFill.UPDATE));
         methodList.add(new MySqlUpdateBatchSomeColumn());
+        // 批量新增或更新, INSERT ... ON DUPLICATE KEY UPDATE
+        methodList.add(new MySqlUpsertBatch());
+        // 单条 CASE WHEN 批量更新
+        methodList.add(new MySqlUpdateBatchByCase());
         return methodList;
     }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.injector.mysql;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 批量更新注入器, 生成单条 UPDATE ... SET col = CASE id WHEN ... END WHERE id IN (...)
+ * </p>
+ *
+ * <b> 注意：与 updateBatchSomeColumn 相比只有一条语句, 不需要 allowMultiQueries, MySQL 与 Oracle 通用。
+ * 属性值为 null 时保持原值（更新策略为 ALWAYS 的字段除外）, 不处理乐观锁。 </b>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class MySqlUpdateBatchByCase extends AbstractMethod {
+
+    private static final long serialVersionUID = 3121566375836129507L;
+
+    private static final String METHOD_NAME = "updateBatchByCase";
+
+    private static final String UPDATE_BATCH_SQL = "<script>\nUPDATE %s SET %s\nWHERE %s IN %s %s\n</script>";
+
+    /**
+     * 默认方法名
+     */
+    public MySqlUpdateBatchByCase() {
+        super(METHOD_NAME);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        // pojo类型为Map时禁用, 无主键时无法按主键更新
+        if (tableInfo.getEntityType().equals(Map.class) || !tableInfo.havePK()) {
+            return null;
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        String keyParam = SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty());
+        String setScript = tableInfo.getFieldList()
+                .stream()
+                .filter(i -> !i.isLogicDelete() && i.getUpdateStrategy() != FieldStrategy.NEVER)
+                .map(i -> caseWhen(keyColumn, keyParam, i))
+                .collect(Collectors.joining(COMMA + NEWLINE));
+        if (setScript.isEmpty()) {
+            return null;
+        }
+        String inScript = SqlScriptUtils.convertForeach(keyParam, "list", null, ENTITY, COMMA);
+        String sql = String.format(UPDATE_BATCH_SQL, tableInfo.getTableName(), setScript, keyColumn,
+                LEFT_BRACKET + inScript + RIGHT_BRACKET, tableInfo.getLogicDeleteSql(true, true));
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addUpdateMappedStatement(mapperClass, modelClass, METHOD_NAME, sqlSource);
+    }
+
+    /**
+     * col = CASE id WHEN #{et.id} THEN #{et.col} ... ELSE col END
+     */
+    private static String caseWhen(String keyColumn, String keyParam, TableFieldInfo fieldInfo) {
+        String column = fieldInfo.getColumn();
+        String valueParam = SqlScriptUtils.safeParam(ENTITY_DOT + fieldInfo.getEl());
+        boolean always = fieldInfo.getUpdateStrategy() == FieldStrategy.ALWAYS
+                || fieldInfo.getUpdateStrategy() == FieldStrategy.IGNORED;
+        // null 时保持原值
+        String value = always ? valueParam : "COALESCE(" + valueParam + COMMA + column + RIGHT_BRACKET;
+        String when = SqlScriptUtils.convertForeach("WHEN " + keyParam + " THEN " + value, "list", null, ENTITY,
+                SPACE);
+        return column + EQUALS + "CASE " + keyColumn + SPACE + when + " ELSE " + column + " END";
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.injector.mysql;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * MySQL 批量新增或更新注入器, INSERT ... ON DUPLICATE KEY UPDATE
+ * </p>
+ *
+ * <b> 注意：主键或唯一索引冲突时更新, 影响行数新增为1、更新为2; 字段注解为 FieldFill.INSERT 的字段冲突时不更新,
+ * FieldFill.UPDATE 的字段不在新增列中, 冲突时也不更新。
+ * 单条 SQL 长度受 max_allowed_packet 限制, 大批量请使用 RootMapper 分块方法。 </b>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class MySqlUpsertBatch extends AbstractMethod {
+
+    private static final long serialVersionUID = -5016436418563574131L;
+
+    private static final String METHOD_NAME = "upsertBatch";
+
+    private static final String UPSERT_BATCH_SQL = "<script>\nINSERT INTO %s %s VALUES %s\nON DUPLICATE KEY UPDATE %s\n</script>";
+
+    /**
+     * 默认方法名
+     */
+    public MySqlUpsertBatch() {
+        super(METHOD_NAME);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        // pojo类型为Map时禁用
+        if (tableInfo.getEntityType().equals(Map.class)) {
+            return null;
+        }
+        KeyGenerator keyGenerator = new NoKeyGenerator();
+        List<TableFieldInfo> fieldList = tableInfo.getFieldList();
+        String insertSqlColumn = tableInfo.getKeyInsertSqlColumn(true, null, false)
+                + this.filterTableFieldInfo(fieldList, i -> i.getFieldFill() != FieldFill.UPDATE,
+                TableFieldInfo::getInsertSqlColumn, EMPTY);
+        String columnScript = LEFT_BRACKET + insertSqlColumn.substring(0, insertSqlColumn.length() - 1)
+                + RIGHT_BRACKET;
+        String insertSqlProperty = tableInfo.getKeyInsertSqlProperty(true, ENTITY_DOT, false)
+                + this.filterTableFieldInfo(fieldList, i -> i.getFieldFill() != FieldFill.UPDATE,
+                i -> i.getInsertSqlProperty(ENTITY_DOT), EMPTY);
+        insertSqlProperty = LEFT_BRACKET + insertSqlProperty.substring(0, insertSqlProperty.length() - 1)
+                + RIGHT_BRACKET;
+        String valuesScript = SqlScriptUtils.convertForeach(insertSqlProperty, "list", null, ENTITY, COMMA);
+        // 冲突时更新的字段, 不更新逻辑删除字段、仅新增时填充的字段和不在新增列中的字段
+        String updateScript = fieldList.stream()
+                .filter(i -> !i.isLogicDelete() && i.getFieldFill() != FieldFill.INSERT
+                        && i.getFieldFill() != FieldFill.UPDATE)
+                .map(i -> i.getColumn() + EQUALS + "VALUES(" + i.getColumn() + RIGHT_BRACKET)
+                .collect(Collectors.joining(COMMA));
+        if (updateScript.isEmpty()) {
+            // 只有主键时, 冲突不做任何更新
+            updateScript = tableInfo.getKeyColumn() + EQUALS + tableInfo.getKeyColumn();
+        }
+        String keyProperty = null;
+        String keyColumn = null;
+        // 表包含主键处理逻辑,如果不包含主键当普通字段处理
+        if (tableInfo.havePK()) {
+            if (tableInfo.getIdType() == IdType.AUTO) {
+                /* 自增主键 */
+                keyGenerator = new Jdbc3KeyGenerator();
+                keyProperty = tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            } else {
+                if (null != tableInfo.getKeySequence()) {
+                    keyGenerator = TableInfoHelper.genKeyGenerator(this.methodName, tableInfo, builderAssistant);
+                    keyProperty = tableInfo.getKeyProperty();
+                    keyColumn = tableInfo.getKeyColumn();
+                }
+            }
+        }
+        String sql = String.format(UPSERT_BATCH_SQL, tableInfo.getTableName(), columnScript, valuesScript,
+                updateScript);
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, METHOD_NAME, sqlSource, keyGenerator,
+                keyProperty, keyColumn);
+    }
+
+}
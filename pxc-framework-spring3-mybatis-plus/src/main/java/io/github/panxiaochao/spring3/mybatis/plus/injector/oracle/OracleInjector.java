@@ -19,6 +19,7 @@ import com.baomidou.mybatisplus.annotation.FieldFill;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
 import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import io.github.panxiaochao.spring3.mybatis.plus.injector.mysql.MySqlUpdateBatchByCase;
 import io.github.panxiaochao.spring3.mybatis.plus.injector.mysql.MySqlUpdateBatchSomeColumn;
 
 import java.util.List;
@@ -40,6 +41,10 @@ public class OracleInjector extends DefaultSqlInjector {
         // 增加自定义方法，字段注解上不等于 FieldFill.UPDATE 的字段才会插入
         methodList.add(new OracleInsertBatchSomeColumn(i -> i.getFieldFill() != FieldFill.UPDATE));
         methodList.add(new MySqlUpdateBatchSomeColumn());
+        // 批量新增或更新, MERGE INTO
+        methodList.add(new OracleMergeBatch());
+        // 单条 CASE WHEN 批量更新
+        methodList.add(new MySqlUpdateBatchByCase());
         return methodList;
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.injector.oracle;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Oracle 批量新增或更新注入器, MERGE INTO ... USING (SELECT ... FROM DUAL UNION ALL ...)
+ * </p>
+ *
+ * <b> 注意：按主键匹配, 主键值必须由应用生成（雪花、UUID 等）, 不支持序列和自增主键;
+ * 注册为新增语句, 执行前按新增自动填充并生成 ASSIGN_ID 主键; 字段注解为 FieldFill.INSERT 的字段匹配时不更新。 </b>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class OracleMergeBatch extends AbstractMethod {
+
+    private static final long serialVersionUID = -1830519412745093617L;
+
+    private static final String METHOD_NAME = "upsertBatch";
+
+    private static final String MERGE_BATCH_SQL = "<script>\nMERGE INTO %s T USING (\n%s\n) S ON (T.%s = S.%s)\n"
+            + "WHEN MATCHED THEN UPDATE SET %s\nWHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)\n</script>";
+
+    /**
+     * 默认方法名
+     */
+    public OracleMergeBatch() {
+        super(METHOD_NAME);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        // pojo类型为Map时禁用, 无主键时无法匹配
+        if (tableInfo.getEntityType().equals(Map.class) || !tableInfo.havePK()) {
+            return null;
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        List<TableFieldInfo> insertFields = tableInfo.getFieldList()
+                .stream()
+                .filter(i -> i.getFieldFill() != FieldFill.UPDATE)
+                .collect(Collectors.toList());
+        // USING 子查询列
+        List<String> selectColumns = new ArrayList<>(insertFields.size() + 1);
+        selectColumns.add(SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty()) + " AS " + keyColumn);
+        insertFields.forEach(
+                i -> selectColumns.add(SqlScriptUtils.safeParam(ENTITY_DOT + i.getEl()) + " AS " + i.getColumn()));
+        String usingScript = SqlScriptUtils.convertForeach(
+                "SELECT " + String.join(COMMA, selectColumns) + " FROM DUAL", "list", null, ENTITY, " UNION ALL ");
+        // 匹配时更新的字段, 不更新逻辑删除字段和仅新增时填充的字段
+        String updateScript = insertFields.stream()
+                .filter(i -> !i.isLogicDelete() && i.getFieldFill() != FieldFill.INSERT)
+                .map(i -> "T." + i.getColumn() + EQUALS + "S." + i.getColumn())
+                .collect(Collectors.joining(COMMA));
+        String insertColumns = keyColumn + insertFields.stream()
+                .map(i -> COMMA + i.getColumn())
+                .collect(Collectors.joining());
+        String insertValues = "S." + keyColumn + insertFields.stream()
+                .map(i -> COMMA + "S." + i.getColumn())
+                .collect(Collectors.joining());
+        String sql;
+        if (updateScript.isEmpty()) {
+            // 只有主键时, 只新增不存在的记录
+            sql = String.format(MERGE_BATCH_SQL.replace("WHEN MATCHED THEN UPDATE SET %s\n", EMPTY),
+                    tableInfo.getTableName(), usingScript, keyColumn, keyColumn, insertColumns, insertValues);
+        } else {
+            sql = String.format(MERGE_BATCH_SQL, tableInfo.getTableName(), usingScript, keyColumn, keyColumn,
+                    updateScript, insertColumns, insertValues);
+        }
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, METHOD_NAME, sqlSource, new NoKeyGenerator(),
+                null, null);
+    }
+
+}
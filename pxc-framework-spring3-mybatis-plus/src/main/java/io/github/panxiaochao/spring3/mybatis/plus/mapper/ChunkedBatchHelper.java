@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.mapper;
+
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>
+ * RootMapper 分块批量执行工具
+ * </p>
+ * <pre>
+ * 1. 多行 SQL 分块执行, 避免单条 SQL 超过 max_allowed_packet 以及超长 SQL 解析耗时
+ * 2. ExecutorType.BATCH 会话执行, 每块 flushStatements 一次, MySQL 建议开启 rewriteBatchedStatements=true
+ * 3. 无事务时各块在不同连接上并行执行, 存在事务时退化为顺序执行
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class ChunkedBatchHelper {
+
+	private ChunkedBatchHelper() {
+	}
+
+	/**
+	 * 按块大小切分, 返回原列表的视图
+	 * @param list 列表
+	 * @param chunkSize 块大小
+	 * @return 分块列表
+	 * @param <T> 元素类型
+	 */
+	public static <T> List<List<T>> chunk(List<T> list, int chunkSize) {
+		if (CollectionUtils.isEmpty(list)) {
+			return Collections.emptyList();
+		}
+		int size = Math.max(1, chunkSize);
+		List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+		for (int from = 0; from < list.size(); from += size) {
+			chunks.add(list.subList(from, Math.min(from + size, list.size())));
+		}
+		return chunks;
+	}
+
+	/**
+	 * 顺序执行每块
+	 * @param list 列表
+	 * @param chunkSize 块大小
+	 * @param chunkAction 单块执行, 返回影响行数
+	 * @return 执行结果
+	 * @param <T> 元素类型
+	 */
+	public static <T> ChunkedBatchResult execute(List<T> list, int chunkSize, ToIntFunction<List<T>> chunkAction) {
+		List<List<T>> chunks = chunk(list, chunkSize);
+		List<Integer> chunkRows = new ArrayList<>(chunks.size());
+		for (List<T> chunk : chunks) {
+			chunkRows.add(chunkAction.applyAsInt(chunk));
+		}
+		return new ChunkedBatchResult(chunkRows);
+	}
+
+	/**
+	 * 并行执行每块, 每块使用独立连接与事务; 当前存在事务时顺序执行, 保证在同一事务内
+	 * @param list 列表
+	 * @param chunkSize 块大小
+	 * @param executor 执行线程池
+	 * @param chunkAction 单块执行, 返回影响行数
+	 * @return 执行结果
+	 * @param <T> 元素类型
+	 */
+	public static <T> ChunkedBatchResult executeParallel(List<T> list, int chunkSize, Executor executor,
+			ToIntFunction<List<T>> chunkAction) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return execute(list, chunkSize, chunkAction);
+		}
+		List<List<T>> chunks = chunk(list, chunkSize);
+		List<CompletableFuture<Integer>> futures = new ArrayList<>(chunks.size());
+		for (List<T> chunk : chunks) {
+			futures.add(CompletableFuture.supplyAsync(() -> chunkAction.applyAsInt(chunk), executor));
+		}
+		List<Integer> chunkRows = new ArrayList<>(futures.size());
+		try {
+			for (CompletableFuture<Integer> future : futures) {
+				chunkRows.add(future.join());
+			}
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+		return new ChunkedBatchResult(chunkRows);
+	}
+
+	/**
+	 * 使用 ExecutorType.BATCH 会话执行, 每块 flushStatements 一次, 加入当前 Spring 事务
+	 * @param mapperInterface Mapper 接口
+	 * @param list 列表
+	 * @param chunkSize 块大小
+	 * @param action 单条执行
+	 * @return 执行结果
+	 * @param <T> 元素类型
+	 * @param <M> Mapper 类型
+	 */
+	public static <T, M extends RootMapper<T>> ChunkedBatchResult executeJdbcBatch(Class<M> mapperInterface,
+			List<T> list, int chunkSize, BiConsumer<M, T> action) {
+		List<List<T>> chunks = chunk(list, chunkSize);
+		if (chunks.isEmpty()) {
+			return new ChunkedBatchResult(Collections.emptyList());
+		}
+		Class<?> entityClass = ReflectionKit.getSuperClassGenericType(mapperInterface, RootMapper.class, 0);
+		Log log = LogFactory.getLog(mapperInterface);
+		List<Integer> chunkRows = new ArrayList<>(chunks.size());
+		SqlHelper.executeBatch(entityClass, log, sqlSession -> {
+			M mapper = sqlSession.getMapper(mapperInterface);
+			for (List<T> chunk : chunks) {
+				for (T entity : chunk) {
+					action.accept(mapper, entity);
+				}
+				chunkRows.add(affectedRows(sqlSession.flushStatements()));
+			}
+		});
+		return new ChunkedBatchResult(chunkRows);
+	}
+
+	/**
+	 * 获取代理对象实现的 Mapper 接口
+	 * @param mapper Mapper 代理
+	 * @return Mapper 接口
+	 * @param <T> 实体类型
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Class<RootMapper<T>> mapperInterface(RootMapper<T> mapper) {
+		for (Class<?> candidate : mapper.getClass().getInterfaces()) {
+			if (RootMapper.class.isAssignableFrom(candidate)) {
+				return (Class<RootMapper<T>>) candidate;
+			}
+		}
+		throw new IllegalStateException("Cannot resolve mapper interface of " + mapper.getClass());
+	}
+
+	private static int affectedRows(List<BatchResult> batchResults) {
+		int rows = 0;
+		for (BatchResult batchResult : batchResults) {
+			for (int count : batchResult.getUpdateCounts()) {
+				// rewriteBatchedStatements 时驱动返回 SUCCESS_NO_INFO, 按成功 1 行计
+				rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+			}
+		}
+		return rows;
+	}
+
+}
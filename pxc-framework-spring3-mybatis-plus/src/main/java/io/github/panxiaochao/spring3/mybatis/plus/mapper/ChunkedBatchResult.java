@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.mapper;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * 分块批量执行结果, 记录每块影响行数
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@ToString
+public class ChunkedBatchResult {
+
+	/**
+	 * 每块影响行数, 按分块顺序
+	 */
+	private final List<Integer> chunkRows;
+
+	public ChunkedBatchResult(List<Integer> chunkRows) {
+		this.chunkRows = Collections.unmodifiableList(chunkRows);
+	}
+
+	/**
+	 * 总影响行数
+	 * @return 行数
+	 */
+	public int getTotalRows() {
+		int total = 0;
+		for (Integer rows : chunkRows) {
+			total += rows;
+		}
+		return total;
+	}
+
+	/**
+	 * 分块数
+	 * @return 分块数
+	 */
+	public int getChunkCount() {
+		return chunkRows.size();
+	}
+
+}
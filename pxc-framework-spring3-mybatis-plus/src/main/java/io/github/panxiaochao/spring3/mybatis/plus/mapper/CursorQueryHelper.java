@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.Transaction;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * RootMapper 流式查询工具, 管理 SqlSession 与 Cursor 生命周期
+ * </p>
+ * <pre>
+ * 1. 按 fetchSize 复制 selectList 的 MappedStatement, 设置 FORWARD_ONLY 与 fetchSize, 只创建一次;
+ *    复制的 MappedStatement 保存在本类中, 不注册到 Configuration(运行期注册非线程安全)
+ * 2. 通过 Configuration 创建 Executor 直接执行, 插件照常生效; Spring 事务内使用事务连接, 否则单独获取并在结束时释放
+ * 3. MySQL 使用 Integer.MIN_VALUE 逐行流式读取, 或 useCursorFetch=true 配合正数 fetchSize;
+ *    PostgreSQL 需要在事务内（autocommit=false）fetchSize 才生效
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class CursorQueryHelper {
+
+	/**
+	 * 流式查询 MappedStatement id 后缀
+	 */
+	public static final String STREAM_SUFFIX = "_mpStream";
+
+	private static final String SELECT_LIST = ".selectList";
+
+	/**
+	 * 流式查询 id -> MappedStatement, 按 Configuration 隔离
+	 */
+	private static final Map<Configuration, Map<String, MappedStatement>> STREAM_STATEMENTS = new ConcurrentHashMap<>();
+
+	private CursorQueryHelper() {
+	}
+
+	/**
+	 * 打开游标执行, 执行结束后关闭游标与会话
+	 * @param mapperInterface Mapper 接口
+	 * @param queryWrapper 查询条件
+	 * @param fetchSize fetchSize
+	 * @param function 游标处理, 不要在外部持有游标
+	 * @return 处理结果
+	 * @param <T> 实体类型
+	 * @param <R> 结果类型
+	 */
+	public static <T, R> R execute(Class<?> mapperInterface, Wrapper<T> queryWrapper, int fetchSize,
+			Function<Cursor<T>, R> function) {
+		Class<?> entityClass = ReflectionKit.getSuperClassGenericType(mapperInterface, RootMapper.class, 0);
+		SqlSessionFactory sqlSessionFactory = SqlHelper.sqlSessionFactory(entityClass);
+		Configuration configuration = sqlSessionFactory.getConfiguration();
+		MappedStatement ms = streamStatement(configuration, mapperInterface.getName() + SELECT_LIST, fetchSize);
+		MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+		parameter.put(Constants.WRAPPER, queryWrapper);
+		parameter.put("param1", queryWrapper);
+		Environment environment = configuration.getEnvironment();
+		Transaction transaction = environment.getTransactionFactory()
+			.newTransaction(environment.getDataSource(), null, false);
+		Executor executor = configuration.newExecutor(transaction);
+		try (Cursor<T> cursor = executor.queryCursor(ms, parameter, RowBounds.DEFAULT)) {
+			return function.apply(cursor);
+		}
+		catch (SQLException | IOException ex) {
+			throw new MybatisPlusException(ex);
+		}
+		finally {
+			executor.close(false);
+		}
+	}
+
+	/**
+	 * 获取或创建流式查询 MappedStatement
+	 */
+	private static MappedStatement streamStatement(Configuration configuration, String sourceId, int fetchSize) {
+		String id = sourceId + STREAM_SUFFIX + fetchSize;
+		return STREAM_STATEMENTS.computeIfAbsent(configuration, c -> new ConcurrentHashMap<>(16))
+			.computeIfAbsent(id, key -> {
+				MappedStatement ms = configuration.getMappedStatement(sourceId, false);
+				return new MappedStatement.Builder(configuration, key, ms.getSqlSource(), ms.getSqlCommandType())
+					.resource(ms.getResource())
+					.fetchSize(fetchSize)
+					.timeout(ms.getTimeout())
+					.statementType(ms.getStatementType())
+					.resultSetType(ResultSetType.FORWARD_ONLY)
+					.parameterMap(ms.getParameterMap())
+					.resultMaps(ms.getResultMaps())
+					.resultOrdered(ms.isResultOrdered())
+					.flushCacheRequired(ms.isFlushCacheRequired())
+					.useCache(false)
+					.keyGenerator(ms.getKeyGenerator())
+					.databaseId(ms.getDatabaseId())
+					.lang(ms.getLang())
+					.build();
+			});
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.mapper;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * 按 MappedStatement id 查找 Mapper 方法或接口上的注解, 方法优先; COUNT 与游标查询取原查询方法
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class MapperAnnotationHelper {
+
+	private static final String COUNT_SUFFIX = "_mpCount";
+
+	private MapperAnnotationHelper() {
+	}
+
+	/**
+	 * 查找注解, 结果应由调用方按 id 缓存
+	 * @param mappedStatementId MappedStatement id
+	 * @param annotationType 注解类型
+	 * @return 注解, 不存在返回 null
+	 * @param <A> 注解类型
+	 */
+	@Nullable
+	public static <A extends Annotation> A findAnnotation(String mappedStatementId, Class<A> annotationType) {
+		String sourceId = mappedStatementId;
+		int suffixIndex = sourceId.indexOf(CursorQueryHelper.STREAM_SUFFIX);
+		if (suffixIndex > 0) {
+			sourceId = sourceId.substring(0, suffixIndex);
+		}
+		if (sourceId.endsWith(COUNT_SUFFIX)) {
+			sourceId = sourceId.substring(0, sourceId.length() - COUNT_SUFFIX.length());
+		}
+		int index = sourceId.lastIndexOf('.');
+		if (index < 0) {
+			return null;
+		}
+		Class<?> mapperClass;
+		try {
+			mapperClass = ClassUtils.forName(sourceId.substring(0, index), null);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			return null;
+		}
+		String methodName = sourceId.substring(index + 1);
+		for (Method method : mapperClass.getMethods()) {
+			if (method.getName().equals(methodName)) {
+				A annotation = AnnotatedElementUtils.findMergedAnnotation(method, annotationType);
+				if (annotation != null) {
+					return annotation;
+				}
+			}
+		}
+		return AnnotatedElementUtils.findMergedAnnotation(mapperClass, annotationType);
+	}
+
+}
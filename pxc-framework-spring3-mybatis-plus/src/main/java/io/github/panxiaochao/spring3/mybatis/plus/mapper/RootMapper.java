@@ -15,9 +15,17 @@
  */
 package io.github.panxiaochao.spring3.mybatis.plus.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -29,6 +37,16 @@ import java.util.List;
  */
 public interface RootMapper<T> extends BaseMapper<T> {
 
+    /**
+     * 默认分块大小, MySQL 开启 rewriteBatchedStatements 时 500~2000 行吞吐接近, 取 1000
+     */
+    int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * MySQL 逐行流式读取 fetchSize
+     */
+    int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
     /**
      * 批量新增
      *
@@ -45,4 +63,198 @@ public interface RootMapper<T> extends BaseMapper<T> {
      */
     int updateBatchSomeColumn(List<T> entityList);
 
+    /**
+     * 批量新增或更新, MySQL 为 INSERT ... ON DUPLICATE KEY UPDATE, Oracle 为 MERGE INTO
+     *
+     * @param entityList 实体数组
+     * @return 成功数
+     */
+    int upsertBatch(List<T> entityList);
+
+    /**
+     * 批量更新, 单条 UPDATE ... SET col = CASE id WHEN ... END WHERE id IN (...)
+     *
+     * @param entityList 实体数组
+     * @return 成功数
+     */
+    int updateBatchByCase(List<T> entityList);
+
+    /**
+     * 分块批量新增, 每块一条多行 INSERT, 避免超过 max_allowed_packet
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult insertBatchSomeColumn(List<T> entityList, int chunkSize) {
+        return ChunkedBatchHelper.execute(entityList, chunkSize, this::insertBatchSomeColumn);
+    }
+
+    /**
+     * 分块批量新增或更新, 每块一条 upsertBatch
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult upsertBatch(List<T> entityList, int chunkSize) {
+        return ChunkedBatchHelper.execute(entityList, chunkSize, this::upsertBatch);
+    }
+
+    /**
+     * 分块批量更新, 每块一条 updateBatchByCase
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult updateBatchByCase(List<T> entityList, int chunkSize) {
+        return ChunkedBatchHelper.execute(entityList, chunkSize, this::updateBatchByCase);
+    }
+
+    /**
+     * 分块批量新增, 使用 ExecutorType.BATCH 会话, 加入当前事务
+     *
+     * @param entityList 实体数组
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult insertBatchChunked(List<T> entityList) {
+        return insertBatchChunked(entityList, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 分块批量新增, 使用 ExecutorType.BATCH 会话, 加入当前事务
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult insertBatchChunked(List<T> entityList, int chunkSize) {
+        return ChunkedBatchHelper.executeJdbcBatch(ChunkedBatchHelper.mapperInterface(this), entityList, chunkSize,
+                RootMapper::insert);
+    }
+
+    /**
+     * 分块批量更新, 使用 ExecutorType.BATCH 会话按主键更新, 加入当前事务
+     *
+     * @param entityList 实体数组
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult updateBatchChunked(List<T> entityList) {
+        return updateBatchChunked(entityList, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 分块批量更新, 使用 ExecutorType.BATCH 会话按主键更新, 加入当前事务
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult updateBatchChunked(List<T> entityList, int chunkSize) {
+        return ChunkedBatchHelper.executeJdbcBatch(ChunkedBatchHelper.mapperInterface(this), entityList, chunkSize,
+                RootMapper::updateById);
+    }
+
+    /**
+     * 并行分块批量新增, 每块独立连接与事务, 部分块失败时已成功的块不会回滚; 存在事务时顺序执行
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @param executor   执行线程池
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult insertBatchParallel(List<T> entityList, int chunkSize, Executor executor) {
+        return ChunkedBatchHelper.executeParallel(entityList, chunkSize, executor,
+                chunk -> insertBatchChunked(chunk, chunk.size()).getTotalRows());
+    }
+
+    /**
+     * 并行分块批量更新, 每块独立连接与事务, 部分块失败时已成功的块不会回滚; 存在事务时顺序执行
+     *
+     * @param entityList 实体数组
+     * @param chunkSize  块大小
+     * @param executor   执行线程池
+     * @return 每块影响行数
+     */
+    default ChunkedBatchResult updateBatchParallel(List<T> entityList, int chunkSize, Executor executor) {
+        return ChunkedBatchHelper.executeParallel(entityList, chunkSize, executor,
+                chunk -> updateBatchChunked(chunk, chunk.size()).getTotalRows());
+    }
+
+    /**
+     * 游标查询, 游标与会话在 function 执行结束后关闭, 不占用额外内存
+     *
+     * @param queryWrapper 查询条件
+     * @param fetchSize    fetchSize, MySQL 可使用 {@link #MYSQL_STREAMING_FETCH_SIZE}
+     * @param function     游标处理
+     * @param <R>          结果类型
+     * @return 处理结果
+     */
+    default <R> R selectCursor(Wrapper<T> queryWrapper, int fetchSize, Function<Cursor<T>, R> function) {
+        return CursorQueryHelper.execute(ChunkedBatchHelper.mapperInterface(this), queryWrapper, fetchSize, function);
+    }
+
+    /**
+     * 流式查询, Stream 只能在 function 内使用
+     *
+     * @param queryWrapper 查询条件
+     * @param fetchSize    fetchSize, MySQL 可使用 {@link #MYSQL_STREAMING_FETCH_SIZE}
+     * @param function     Stream 处理
+     * @param <R>          结果类型
+     * @return 处理结果
+     */
+    default <R> R selectStream(Wrapper<T> queryWrapper, int fetchSize, Function<Stream<T>, R> function) {
+        return selectCursor(queryWrapper, fetchSize,
+                cursor -> function.apply(StreamSupport.stream(cursor.spliterator(), false)));
+    }
+
+    /**
+     * 流式逐行处理
+     *
+     * @param queryWrapper 查询条件
+     * @param fetchSize    fetchSize, MySQL 可使用 {@link #MYSQL_STREAMING_FETCH_SIZE}
+     * @param consumer     单行处理
+     * @return 处理行数
+     */
+    default long selectEach(Wrapper<T> queryWrapper, int fetchSize, Consumer<T> consumer) {
+        return selectCursor(queryWrapper, fetchSize, cursor -> {
+            long rows = 0;
+            for (T entity : cursor) {
+                consumer.accept(entity);
+                rows++;
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * 流式分块处理, 例如每 chunkSize 行写一次导出文件, 内存只保留一块
+     *
+     * @param queryWrapper  查询条件
+     * @param fetchSize     fetchSize, MySQL 可使用 {@link #MYSQL_STREAMING_FETCH_SIZE}
+     * @param chunkSize     块大小
+     * @param chunkConsumer 分块处理
+     * @return 处理行数
+     */
+    default long selectChunks(Wrapper<T> queryWrapper, int fetchSize, int chunkSize, Consumer<List<T>> chunkConsumer) {
+        int size = Math.max(1, chunkSize);
+        return selectCursor(queryWrapper, fetchSize, cursor -> {
+            long rows = 0;
+            List<T> chunk = new ArrayList<>(size);
+            for (T entity : cursor) {
+                chunk.add(entity);
+                rows++;
+                if (chunk.size() == size) {
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(size);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+            return rows;
+        });
+    }
+
 }
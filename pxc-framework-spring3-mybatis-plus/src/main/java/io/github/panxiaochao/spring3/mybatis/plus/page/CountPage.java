@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.page;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.github.panxiaochao.spring3.core.response.page.Pagination;
+import io.github.panxiaochao.spring3.core.response.page.RequestPage;
+import io.github.panxiaochao.spring3.mybatis.plus.enums.CountStrategyEnum;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>
+ * 可指定总数查询策略的分页
+ * </p>
+ *
+ * @param <T> 实体类型
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+public class CountPage<T> extends Page<T> {
+
+	private static final long serialVersionUID = -3279142503864190574L;
+
+	/**
+	 * 总数查询策略
+	 */
+	private CountStrategyEnum countStrategy = CountStrategyEnum.DEFAULT;
+
+	/**
+	 * 总数是否为估算值
+	 */
+	private boolean estimated;
+
+	/**
+	 * 并行查询中的总数
+	 */
+	private transient volatile CompletableFuture<Long> totalFuture;
+
+	public CountPage(long current, long size, CountStrategyEnum countStrategy) {
+		super(current, size);
+		this.countStrategy = countStrategy;
+	}
+
+	/**
+	 * 创建分页
+	 * @param requestPage 请求参数
+	 * @param countStrategy 总数查询策略
+	 * @return CountPage
+	 * @param <T> 实体类型
+	 */
+	public static <T> CountPage<T> of(RequestPage requestPage, CountStrategyEnum countStrategy) {
+		CountPage<T> page = new CountPage<>(requestPage.getPageNo(), requestPage.getPageSize(), countStrategy);
+		page.setSearchCount(requestPage.isSearchCount());
+		return page;
+	}
+
+	/**
+	 * 获取总数, 并行查询时等待 COUNT 完成
+	 * @return 总数
+	 */
+	@Override
+	public long getTotal() {
+		CompletableFuture<Long> future = this.totalFuture;
+		if (future != null) {
+			try {
+				super.setTotal(future.join());
+			}
+			catch (CompletionException ex) {
+				throw new MybatisPlusException(ex.getCause());
+			}
+			finally {
+				this.totalFuture = null;
+			}
+		}
+		return super.getTotal();
+	}
+
+	/**
+	 * 转换为响应分页信息
+	 * @return Pagination
+	 */
+	public Pagination toPagination() {
+		return new Pagination(getCurrent(), getSize(), getTotal());
+	}
+
+}
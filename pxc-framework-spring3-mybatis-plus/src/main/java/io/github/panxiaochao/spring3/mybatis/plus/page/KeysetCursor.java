@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.page;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * <p>
+ * 游标编解码, 每个值记录类型标记, 解码后按原类型绑定参数, 时间保留完整精度
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class KeysetCursor {
+
+	private static final String SEPARATOR = ".";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private KeysetCursor() {
+	}
+
+	/**
+	 * 编码
+	 * @param values 排序字段值、主键值
+	 * @return 游标
+	 */
+	public static String encode(Object... values) {
+		StringBuilder builder = new StringBuilder();
+		for (Object value : values) {
+			if (!builder.isEmpty()) {
+				builder.append(SEPARATOR);
+			}
+			builder.append(ENCODER.encodeToString(encodeValue(value).getBytes(StandardCharsets.UTF_8)));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * 解码
+	 * @param cursor 游标
+	 * @return 排序字段值、主键值
+	 */
+	public static Object[] decode(String cursor) {
+		String[] parts = StringUtils.delimitedListToStringArray(cursor, SEPARATOR);
+		Object[] values = new Object[parts.length];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				values[i] = decodeValue(new String(DECODER.decode(parts[i]), StandardCharsets.UTF_8));
+			}
+		}
+		catch (RuntimeException ex) {
+			throw new MybatisPlusException("Invalid keyset cursor: " + cursor);
+		}
+		return values;
+	}
+
+	private static String encodeValue(Object value) {
+		if (value == null) {
+			return "N:";
+		}
+		if (value instanceof Long) {
+			return "L:" + value;
+		}
+		if (value instanceof Integer) {
+			return "I:" + value;
+		}
+		if (value instanceof BigDecimal bigDecimal) {
+			return "B:" + bigDecimal.toPlainString();
+		}
+		if (value instanceof LocalDateTime) {
+			return "T:" + value;
+		}
+		if (value instanceof LocalDate) {
+			return "D:" + value;
+		}
+		if (value instanceof Date date) {
+			return "E:" + date.getTime();
+		}
+		return "S:" + value;
+	}
+
+	private static Object decodeValue(String text) {
+		String value = text.substring(2);
+		return switch (text.charAt(0)) {
+			case 'N' -> null;
+			case 'L' -> Long.valueOf(value);
+			case 'I' -> Integer.valueOf(value);
+			case 'B' -> new BigDecimal(value);
+			case 'T' -> LocalDateTime.parse(value);
+			case 'D' -> LocalDate.parse(value);
+			case 'E' -> new Date(Long.parseLong(value));
+			case 'S' -> value;
+			default -> throw new IllegalArgumentException(text);
+		};
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.page;
+
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.github.panxiaochao.spring3.core.response.page.Pagination;
+import io.github.panxiaochao.spring3.core.response.page.RequestCursorPage;
+import lombok.Getter;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 游标分页, 分页插件改写为 WHERE (sort > ? OR (sort = ? AND id > ?)) ORDER BY sort, id LIMIT n
+ * </p>
+ * <pre>
+ * 1. 排序字段与主键组合必须唯一且非空, 建议建立 (sort, id) 联合索引
+ * 2. 不查询总数, 查询条件中不要再指定排序
+ * 3. 字段名由代码指定, 游标只携带值并以参数绑定, 不存在注入风险
+ * </pre>
+ *
+ * @param <T> 实体类型
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+public class KeysetPage<T> extends Page<T> {
+
+	private static final long serialVersionUID = 5129462731596718214L;
+
+	/**
+	 * 排序字段列名, 与主键列相同时只按主键定位
+	 */
+	private final String sortColumn;
+
+	/**
+	 * 排序字段属性名, 用于从最后一条记录生成下一页游标
+	 */
+	private final String sortProperty;
+
+	/**
+	 * 主键列名
+	 */
+	private final String idColumn;
+
+	/**
+	 * 主键属性名
+	 */
+	private final String idProperty;
+
+	/**
+	 * 是否正序
+	 */
+	private final boolean asc;
+
+	/**
+	 * 当前游标解码后的值, 第一页为 null
+	 */
+	private final Object[] cursorValues;
+
+	/**
+	 * 下一页游标, 没有下一页时为 null
+	 */
+	private String nextCursor;
+
+	public KeysetPage(String cursor, long size, String sortColumn, String sortProperty, String idColumn,
+			String idProperty, boolean asc) {
+		super(1, size, false);
+		this.sortColumn = sortColumn;
+		this.sortProperty = sortProperty;
+		this.idColumn = idColumn;
+		this.idProperty = idProperty;
+		this.asc = asc;
+		this.cursorValues = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+	}
+
+	/**
+	 * 按主键游标分页
+	 * @param requestCursorPage 请求参数
+	 * @param idColumn 主键列名
+	 * @param idProperty 主键属性名
+	 * @param asc 是否正序
+	 * @return KeysetPage
+	 * @param <T> 实体类型
+	 */
+	public static <T> KeysetPage<T> of(RequestCursorPage requestCursorPage, String idColumn, String idProperty,
+			boolean asc) {
+		return of(requestCursorPage, idColumn, idProperty, idColumn, idProperty, asc);
+	}
+
+	/**
+	 * 按排序字段 + 主键游标分页
+	 * @param requestCursorPage 请求参数
+	 * @param sortColumn 排序字段列名
+	 * @param sortProperty 排序字段属性名
+	 * @param idColumn 主键列名
+	 * @param idProperty 主键属性名
+	 * @param asc 是否正序
+	 * @return KeysetPage
+	 * @param <T> 实体类型
+	 */
+	public static <T> KeysetPage<T> of(RequestCursorPage requestCursorPage, String sortColumn, String sortProperty,
+			String idColumn, String idProperty, boolean asc) {
+		return new KeysetPage<>(requestCursorPage.getCursor(), requestCursorPage.getPageSize(), sortColumn,
+				sortProperty, idColumn, idProperty, asc);
+	}
+
+	/**
+	 * 是否只按主键定位
+	 * @return boolean
+	 */
+	public boolean isIdOnly() {
+		return Objects.equals(sortColumn, idColumn);
+	}
+
+	/**
+	 * 是否带游标, 第一页不改写条件
+	 * @return boolean
+	 */
+	public boolean hasCursor() {
+		return cursorValues != null;
+	}
+
+	@Override
+	public List<OrderItem> orders() {
+		List<OrderItem> orders = new ArrayList<>(2);
+		orders.add(asc ? OrderItem.asc(sortColumn) : OrderItem.desc(sortColumn));
+		if (!isIdOnly()) {
+			orders.add(asc ? OrderItem.asc(idColumn) : OrderItem.desc(idColumn));
+		}
+		return orders;
+	}
+
+	@Override
+	public Page<T> setRecords(List<T> records) {
+		super.setRecords(records);
+		// 满页才可能有下一页
+		if (records != null && getSize() > 0 && records.size() >= getSize()) {
+			MetaObject last = SystemMetaObject.forObject(records.get(records.size() - 1));
+			this.nextCursor = isIdOnly() ? KeysetCursor.encode(last.getValue(idProperty))
+					: KeysetCursor.encode(last.getValue(sortProperty), last.getValue(idProperty));
+		}
+		else {
+			this.nextCursor = null;
+		}
+		return this;
+	}
+
+	/**
+	 * 转换为响应分页信息, 携带下一页游标
+	 * @return Pagination
+	 */
+	public Pagination toPagination() {
+		return new Pagination(getSize(), nextCursor);
+	}
+
+}
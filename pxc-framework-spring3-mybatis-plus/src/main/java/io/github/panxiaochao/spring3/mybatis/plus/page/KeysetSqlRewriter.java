@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.page;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * 游标分页 SQL 改写, 在最外层 WHERE 追加定位条件, 参数插入到对应位置
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class KeysetSqlRewriter {
+
+	private static final String MARKER = "__KEYSET_MARKER__";
+
+	private static final String PARAM_PREFIX = "__keyset_";
+
+	private KeysetSqlRewriter() {
+	}
+
+	/**
+	 * 改写 SQL, 排序与 LIMIT 由分页插件追加
+	 * @param configuration 配置
+	 * @param boundSql BoundSql
+	 * @param page 游标分页
+	 */
+	public static void rewrite(Configuration configuration, BoundSql boundSql, KeysetPage<?> page) {
+		Select select;
+		try {
+			select = (Select) CCJSqlParserUtil.parse(boundSql.getSql());
+		}
+		catch (JSQLParserException | ClassCastException ex) {
+			throw new MybatisPlusException("Keyset pagination failed to parse sql: " + boundSql.getSql());
+		}
+		if (!(select.getSelectBody() instanceof PlainSelect plainSelect)) {
+			throw new MybatisPlusException("Keyset pagination only supports plain select: " + boundSql.getSql());
+		}
+		Expression where = plainSelect.getWhere();
+		Column marker = new Column(MARKER);
+		plainSelect.setWhere(where == null ? marker : new AndExpression(new Parenthesis(where), marker));
+		String sql = select.toString();
+		int markerIndex = sql.indexOf(MARKER);
+		int parameterIndex = countParameters(sql, markerIndex);
+		String operator = page.isAsc() ? " > " : " < ";
+		Object[] values = page.getCursorValues();
+		List<ParameterMapping> keysetMappings = new ArrayList<>(3);
+		String predicate;
+		if (page.isIdOnly()) {
+			predicate = page.getIdColumn() + operator + "?";
+			keysetMappings.add(bind(configuration, boundSql, "id", values[values.length - 1]));
+		}
+		else {
+			if (values.length < 2) {
+				throw new MybatisPlusException("Keyset cursor does not match sort column: " + page.getSortColumn());
+			}
+			predicate = "(" + page.getSortColumn() + operator + "? OR (" + page.getSortColumn() + " = ? AND "
+					+ page.getIdColumn() + operator + "?))";
+			keysetMappings.add(bind(configuration, boundSql, "sort", values[0]));
+			keysetMappings.add(bind(configuration, boundSql, "sort_eq", values[0]));
+			keysetMappings.add(bind(configuration, boundSql, "id", values[1]));
+		}
+		PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+		List<ParameterMapping> mappings = new ArrayList<>(mpBoundSql.parameterMappings());
+		mappings.addAll(parameterIndex, keysetMappings);
+		mpBoundSql.sql(sql.substring(0, markerIndex) + predicate + sql.substring(markerIndex + MARKER.length()));
+		mpBoundSql.parameterMappings(mappings);
+	}
+
+	private static ParameterMapping bind(Configuration configuration, BoundSql boundSql, String name, Object value) {
+		String property = PARAM_PREFIX + name;
+		boundSql.setAdditionalParameter(property, value);
+		Class<?> javaType = value == null ? Object.class : value.getClass();
+		return new ParameterMapping.Builder(configuration, property, javaType).build();
+	}
+
+	/**
+	 * 统计 end 之前不在字符串常量中的 ? 个数
+	 */
+	private static int countParameters(String sql, int end) {
+		int count = 0;
+		boolean quoted = false;
+		for (int i = 0; i < end; i++) {
+			char c = sql.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			}
+			else if (c == '?' && !quoted) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
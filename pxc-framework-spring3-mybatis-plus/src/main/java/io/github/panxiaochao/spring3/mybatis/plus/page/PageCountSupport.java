@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.page;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.mybatis.plus.properties.MpProperties;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * 分页总数查询策略实现: 缓存、执行计划估算、并行查询
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class PageCountSupport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PageCountSupport.class);
+
+	/**
+	 * PostgreSQL 执行计划首行 rows=N
+	 */
+	private static final Pattern PG_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+
+	private final MpProperties.Count count;
+
+	private final Cache<CacheKey, Long> countCache;
+
+	private final ThreadPoolExecutor countExecutor;
+
+	public PageCountSupport(MpProperties.Count count) {
+		this.count = count;
+		this.countCache = Caffeine.newBuilder()
+			.expireAfterWrite(count.getCacheTtl())
+			.maximumSize(count.getCacheMaximumSize())
+			.build();
+		int threads = Math.max(1, count.getParallelThreads());
+		AtomicInteger counter = new AtomicInteger();
+		// 队列满时在调用线程中执行 COUNT, 退化为串行
+		this.countExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(256), r -> {
+					Thread thread = new Thread(r, "page-count-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.countExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * COUNT 缓存 key, 包含 MappedStatement id、SQL 与参数值
+	 * @param executor 执行器
+	 * @param ms MappedStatement
+	 * @param parameter 参数
+	 * @param boundSql BoundSql
+	 * @return CacheKey
+	 */
+	public CacheKey cacheKey(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+		return executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+	}
+
+	/**
+	 * 获取缓存的总数
+	 * @param cacheKey key
+	 * @return 总数, 未缓存时为 null
+	 */
+	public Long getCachedTotal(CacheKey cacheKey) {
+		return countCache.getIfPresent(cacheKey);
+	}
+
+	/**
+	 * 缓存总数
+	 * @param cacheKey key
+	 * @param total 总数
+	 */
+	public void putCachedTotal(CacheKey cacheKey, long total) {
+		countCache.put(cacheKey, total);
+	}
+
+	/**
+	 * 清空 COUNT 缓存
+	 */
+	public void clearCache() {
+		countCache.invalidateAll();
+	}
+
+	/**
+	 * 执行计划估算行数, 不小于阈值时返回估算值
+	 * @param executor 执行器
+	 * @param ms MappedStatement
+	 * @param parameter 参数
+	 * @param boundSql 数据查询 BoundSql
+	 * @param dbType 数据库类型
+	 * @return 估算行数, 不支持或小于阈值时为 null
+	 */
+	public Long estimate(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql,
+			DbType dbType) {
+		if (dbType != DbType.MYSQL && dbType != DbType.MARIADB && dbType != DbType.POSTGRE_SQL) {
+			return null;
+		}
+		try {
+			Connection connection = executor.getTransaction().getConnection();
+			try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+				ms.getConfiguration().newParameterHandler(ms, parameter, boundSql).setParameters(ps);
+				try (ResultSet rs = ps.executeQuery()) {
+					if (!rs.next()) {
+						return null;
+					}
+					long rows = dbType == DbType.POSTGRE_SQL ? postgresRows(rs) : mysqlRows(rs);
+					return rows >= count.getEstimateThreshold() ? rows : null;
+				}
+			}
+		}
+		catch (SQLException ex) {
+			LOGGER.warn("估算总数失败, 使用精确 COUNT: {}", ms.getId(), ex);
+			return null;
+		}
+	}
+
+	/**
+	 * 在独立连接上异步 COUNT, 不参与当前事务
+	 * @param ms MappedStatement
+	 * @param parameter 参数
+	 * @param boundSql 数据查询 BoundSql
+	 * @param countSql COUNT SQL
+	 * @return 总数
+	 */
+	public CompletableFuture<Long> countAsync(MappedStatement ms, Object parameter, BoundSql boundSql,
+			String countSql) {
+		Configuration configuration = ms.getConfiguration();
+		PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+		BoundSql countBoundSql = new BoundSql(configuration, countSql, mpBoundSql.parameterMappings(), parameter);
+		mpBoundSql.additionalParameters().forEach(countBoundSql::setAdditionalParameter);
+		DataSource dataSource = configuration.getEnvironment().getDataSource();
+		return CompletableFuture.supplyAsync(() -> {
+			try (Connection connection = dataSource.getConnection();
+					PreparedStatement ps = connection.prepareStatement(countSql)) {
+				configuration.newParameterHandler(ms, parameter, countBoundSql).setParameters(ps);
+				try (ResultSet rs = ps.executeQuery()) {
+					return rs.next() ? rs.getLong(1) : 0L;
+				}
+			}
+			catch (SQLException ex) {
+				throw new CompletionException(ex);
+			}
+		}, countExecutor);
+	}
+
+	/**
+	 * MySQL: 首个表 rows * filtered / 100
+	 */
+	private static long mysqlRows(ResultSet rs) throws SQLException {
+		long rows = rs.getLong("rows");
+		ResultSetMetaData metaData = rs.getMetaData();
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			if ("filtered".equalsIgnoreCase(metaData.getColumnLabel(i))) {
+				double filtered = rs.getDouble(i);
+				return filtered > 0 ? (long) (rows * filtered / 100) : rows;
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * PostgreSQL: 顶层节点 rows=N
+	 */
+	private static long postgresRows(ResultSet rs) throws SQLException {
+		Matcher matcher = PG_ROWS_PATTERN.matcher(rs.getString(1));
+		return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+	}
+
+}
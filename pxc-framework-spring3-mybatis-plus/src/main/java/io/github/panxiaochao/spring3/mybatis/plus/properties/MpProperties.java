@@ -20,6 +20,10 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p>
  * 自定义属性配置文件
@@ -38,4 +42,255 @@ public class MpProperties {
 	 */
 	private DbType dbType = DbType.MYSQL;
 
+	/**
+	 * 分页总数查询配置
+	 */
+	private Count count = new Count();
+
+	/**
+	 * 数据权限配置
+	 */
+	private DataScope dataScope = new DataScope();
+
+	/**
+	 * 读写分离配置
+	 */
+	private ReadWrite readWrite = new ReadWrite();
+
+	/**
+	 * 查询结果缓存配置
+	 */
+	private QueryCache queryCache = new QueryCache();
+
+	/**
+	 * 慢 SQL 检测配置
+	 */
+	private SlowSql slowSql = new SlowSql();
+
+	@Getter
+	@Setter
+	public static class Count {
+
+		/**
+		 * CACHED 策略缓存时间
+		 */
+		private Duration cacheTtl = Duration.ofSeconds(30);
+
+		/**
+		 * CACHED 策略最大缓存条数
+		 */
+		private long cacheMaximumSize = 10000;
+
+		/**
+		 * ESTIMATED 策略阈值, 估算行数不小于该值时使用估算值
+		 */
+		private long estimateThreshold = 100000;
+
+		/**
+		 * PARALLEL 策略线程数, 每个线程占用一个连接
+		 */
+		private int parallelThreads = 4;
+
+	}
+
+	@Getter
+	@Setter
+	public static class DataScope {
+
+		/**
+		 * 改写 SQL 最大缓存条数
+		 */
+		private long sqlCacheMaximumSize = 2000;
+
+		/**
+		 * 部门id集合缓存时间
+		 */
+		private Duration idsCacheTtl = Duration.ofMinutes(5);
+
+		/**
+		 * 部门id集合最大缓存条数
+		 */
+		private long idsCacheMaximumSize = 10000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class ReadWrite {
+
+		/**
+		 * 是否开启读写分离
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 主数据源 Bean 名称
+		 */
+		private String primaryBeanName = "dataSource";
+
+		/**
+		 * 从库列表
+		 */
+		private List<Replica> replicas = new ArrayList<>();
+
+		/**
+		 * 连续获取连接失败次数达到该值时剔除从库
+		 */
+		private int failureThreshold = 3;
+
+		/**
+		 * 剔除时长
+		 */
+		private Duration ejectDuration = Duration.ofSeconds(30);
+
+		/**
+		 * 健康检查间隔, 0 不检查
+		 */
+		private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+		/**
+		 * 健康检查超时时间
+		 */
+		private Duration healthCheckTimeout = Duration.ofSeconds(3);
+
+		/**
+		 * 写入后读主库的时间窗口, 应不小于从库复制延迟
+		 */
+		private Duration stickyWindow = Duration.ofSeconds(1);
+
+		/**
+		 * 复制延迟查询, 返回单个秒数, 无结果或 NULL 视为延迟, 例如 PostgreSQL:
+		 * SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+		 */
+		private String lagQuery;
+
+		/**
+		 * 最大复制延迟, 超过时从库不参与路由
+		 */
+		private Duration maxLag = Duration.ofSeconds(1);
+
+	}
+
+	@Getter
+	@Setter
+	public static class Replica {
+
+		/**
+		 * 名称, 用于日志与指标
+		 */
+		private String name;
+
+		/**
+		 * 驱动类
+		 */
+		private String driverClassName;
+
+		/**
+		 * 连接地址
+		 */
+		private String url;
+
+		/**
+		 * 用户名
+		 */
+		private String username;
+
+		/**
+		 * 密码
+		 */
+		private String password;
+
+		/**
+		 * 权重
+		 */
+		private int weight = 1;
+
+	}
+
+	@Getter
+	@Setter
+	public static class QueryCache {
+
+		/**
+		 * 是否开启查询结果缓存, 只对标注 @QueryCache 的 Mapper 生效
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 存储类型
+		 */
+		private StoreType storeType = StoreType.CAFFEINE;
+
+		/**
+		 * SPRING_CACHE 存储使用的缓存名称
+		 */
+		private String cacheName = "mp:query";
+
+		/**
+		 * CAFFEINE 存储缓存时间, SPRING_CACHE 存储由 CacheManager 配置
+		 */
+		private Duration ttl = Duration.ofMinutes(10);
+
+		/**
+		 * CAFFEINE 存储最大缓存条数
+		 */
+		private long maximumSize = 10000;
+
+		/**
+		 * SQL 解析结果最大缓存条数
+		 */
+		private long sqlCacheMaximumSize = 2000;
+
+		public enum StoreType {
+
+			/**
+			 * 本地 Caffeine
+			 */
+			CAFFEINE,
+
+			/**
+			 * Spring CacheManager, 例如 Redis
+			 */
+			SPRING_CACHE
+
+		}
+
+	}
+
+	@Getter
+	@Setter
+	public static class SlowSql {
+
+		/**
+		 * 是否开启慢 SQL 检测
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 慢 SQL 阈值
+		 */
+		private Duration threshold = Duration.ofSeconds(1);
+
+		/**
+		 * 是否异步采集执行计划
+		 */
+		private boolean explain = true;
+
+		/**
+		 * 同一语句执行计划采集间隔
+		 */
+		private Duration explainInterval = Duration.ofMinutes(10);
+
+		/**
+		 * 最大统计语句数, 超出后合并统计
+		 */
+		private int maxStatements = 1000;
+
+		/**
+		 * 端点默认返回条数
+		 */
+		private int topN = 10;
+
+	}
+
 }
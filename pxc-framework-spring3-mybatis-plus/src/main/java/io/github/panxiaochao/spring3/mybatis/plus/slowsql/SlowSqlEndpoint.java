@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.slowsql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 慢 SQL 统计端点, 访问 /actuator/slowsql?topN=10, DELETE 清空统计
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Endpoint(id = "slowsql")
+public class SlowSqlEndpoint {
+
+	private final SqlStatistics sqlStatistics;
+
+	private final int defaultTopN;
+
+	public SlowSqlEndpoint(SqlStatistics sqlStatistics, int defaultTopN) {
+		this.sqlStatistics = sqlStatistics;
+		this.defaultTopN = defaultTopN;
+	}
+
+	@ReadOperation
+	public Map<String, List<StatementStatistics>> statistics(@Nullable Integer topN) {
+		int limit = topN == null || topN <= 0 ? defaultTopN : topN;
+		Map<String, List<StatementStatistics>> result = new LinkedHashMap<>(4);
+		result.put("slowest", sqlStatistics.topSlowest(limit));
+		result.put("totalTime", sqlStatistics.topTotalTime(limit));
+		return result;
+	}
+
+	@DeleteOperation
+	public void reset() {
+		sqlStatistics.reset();
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.slowsql;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 慢 SQL 执行计划异步采集, 同一语句在间隔内只采集一次, 队列满时丢弃
+ * </p>
+ * <pre>
+ * 支持 MySQL、MariaDB、PostgreSQL、H2, 只采集查询语句, 使用独立连接执行 EXPLAIN
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class SlowSqlExplainer implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlowSqlExplainer.class);
+
+	private final SqlStatistics sqlStatistics;
+
+	private final boolean supported;
+
+	private final long intervalNanos;
+
+	/**
+	 * statementId -> 最近一次采集时间
+	 */
+	private final Map<String, Long> lastExplainNanos = new ConcurrentHashMap<>();
+
+	private final ThreadPoolExecutor explainExecutor;
+
+	public SlowSqlExplainer(SqlStatistics sqlStatistics, DbType dbType, Duration interval) {
+		this.sqlStatistics = sqlStatistics;
+		this.supported = dbType == DbType.MYSQL || dbType == DbType.MARIADB || dbType == DbType.POSTGRE_SQL
+				|| dbType == DbType.H2;
+		this.intervalNanos = interval.toNanos();
+		this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64),
+				r -> {
+					Thread thread = new Thread(r, "slow-sql-explain");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	/**
+	 * 提交执行计划采集
+	 * @param ms MappedStatement
+	 * @param parameter 参数
+	 * @param boundSql BoundSql
+	 */
+	public void explain(MappedStatement ms, Object parameter, BoundSql boundSql) {
+		if (!supported || ms.getSqlCommandType() != SqlCommandType.SELECT) {
+			return;
+		}
+		long now = System.nanoTime();
+		Long accepted = lastExplainNanos.compute(ms.getId(),
+				(id, last) -> last == null || now - last >= intervalNanos ? now : last);
+		if (accepted != now) {
+			return;
+		}
+		explainExecutor.execute(() -> doExplain(ms, parameter, boundSql));
+	}
+
+	private void doExplain(MappedStatement ms, Object parameter, BoundSql boundSql) {
+		DataSource dataSource = ms.getConfiguration().getEnvironment().getDataSource();
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+			ms.getConfiguration().newParameterHandler(ms, parameter, boundSql).setParameters(ps);
+			try (ResultSet rs = ps.executeQuery()) {
+				String plan = format(rs);
+				sqlStatistics.recordExplain(ms.getId(), plan);
+				LOGGER.warn("慢 SQL 执行计划 [{}]:\n{}", ms.getId(), plan);
+			}
+		}
+		catch (SQLException | RuntimeException ex) {
+			LOGGER.warn("慢 SQL 执行计划采集失败 [{}]: {}", ms.getId(), ex.getMessage());
+		}
+	}
+
+	/**
+	 * 每行一条, 列之间以 | 分隔
+	 */
+	private static String format(ResultSet rs) throws SQLException {
+		ResultSetMetaData metaData = rs.getMetaData();
+		int columns = metaData.getColumnCount();
+		StringBuilder plan = new StringBuilder(256);
+		for (int i = 1; i <= columns; i++) {
+			plan.append(i == 1 ? "" : " | ").append(metaData.getColumnLabel(i));
+		}
+		while (rs.next()) {
+			plan.append('\n');
+			for (int i = 1; i <= columns; i++) {
+				plan.append(i == 1 ? "" : " | ").append(rs.getString(i));
+			}
+		}
+		return plan.toString();
+	}
+
+	@Override
+	public void destroy() {
+		explainExecutor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.slowsql;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * 慢 SQL 检测插件, 按 MappedStatement id 统计执行耗时、结果集读取耗时与行数
+ * </p>
+ * <pre>
+ * 1. Executor 层记录当前 MappedStatement, StatementHandler 层计时, ResultSetHandler 层计算读取耗时
+ * 2. 超过阈值时打印参数化 SQL, 并异步采集执行计划
+ * 3. 批量执行（BatchExecutor）在 flush 时执行, 不统计
+ * 4. 排在 MybatisPlusInterceptor 内层, 分页 COUNT 查询单独统计
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Intercepts({
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+						BoundSql.class }),
+		@Signature(type = Executor.class, method = "queryCursor",
+				args = { MappedStatement.class, Object.class, RowBounds.class }),
+		@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+		@Signature(type = StatementHandler.class, method = "query", args = { Statement.class, ResultHandler.class }),
+		@Signature(type = StatementHandler.class, method = "queryCursor", args = { Statement.class }),
+		@Signature(type = StatementHandler.class, method = "update", args = { Statement.class }),
+		@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = { Statement.class }) })
+public class SlowSqlInterceptor implements Interceptor, Ordered {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlowSqlInterceptor.class);
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/**
+	 * 当前线程正在执行的语句, 嵌套查询时入栈
+	 */
+	private static final ThreadLocal<SqlFrame> FRAME = new ThreadLocal<>();
+
+	private final SqlStatistics sqlStatistics;
+
+	private final long thresholdNanos;
+
+	@Nullable
+	private final SlowSqlExplainer slowSqlExplainer;
+
+	public SlowSqlInterceptor(SqlStatistics sqlStatistics, long thresholdNanos,
+			@Nullable SlowSqlExplainer slowSqlExplainer) {
+		this.sqlStatistics = sqlStatistics;
+		this.thresholdNanos = thresholdNanos;
+		this.slowSqlExplainer = slowSqlExplainer;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object target = invocation.getTarget();
+		if (target instanceof Executor) {
+			return interceptExecutor(invocation);
+		}
+		if (target instanceof ResultSetHandler) {
+			return interceptFetch(invocation);
+		}
+		return interceptStatement(invocation, (StatementHandler) target);
+	}
+
+	private Object interceptExecutor(Invocation invocation) throws Throwable {
+		SqlFrame previous = FRAME.get();
+		FRAME.set(new SqlFrame((MappedStatement) invocation.getArgs()[0]));
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			if (previous == null) {
+				FRAME.remove();
+			}
+			else {
+				FRAME.set(previous);
+			}
+		}
+	}
+
+	private Object interceptFetch(Invocation invocation) throws Throwable {
+		SqlFrame frame = FRAME.get();
+		if (frame == null) {
+			return invocation.proceed();
+		}
+		long start = System.nanoTime();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			frame.fetchNanos += System.nanoTime() - start;
+		}
+	}
+
+	private Object interceptStatement(Invocation invocation, StatementHandler statementHandler) throws Throwable {
+		SqlFrame frame = FRAME.get();
+		if (frame == null) {
+			return invocation.proceed();
+		}
+		long fetchBefore = frame.fetchNanos;
+		long start = System.nanoTime();
+		Object result = null;
+		boolean error = true;
+		try {
+			result = invocation.proceed();
+			error = false;
+			return result;
+		}
+		finally {
+			long costNanos = System.nanoTime() - start;
+			long rows = rows(result);
+			boolean slow = costNanos >= thresholdNanos;
+			sqlStatistics.record(frame.ms.getId(), costNanos, frame.fetchNanos - fetchBefore, rows, slow, error);
+			if (slow) {
+				onSlow(frame.ms, statementHandler, costNanos, rows);
+			}
+		}
+	}
+
+	private void onSlow(MappedStatement ms, StatementHandler statementHandler, long costNanos, long rows) {
+		BoundSql boundSql = statementHandler.getBoundSql();
+		String sql = WHITESPACE.matcher(boundSql.getSql()).replaceAll(" ").trim();
+		sqlStatistics.recordSlowSql(ms.getId(), sql);
+		LOGGER.warn("慢 SQL [{}] 耗时 {}ms, 行数 {}: {}", ms.getId(), TimeUnit.NANOSECONDS.toMillis(costNanos), rows,
+				sql);
+		if (slowSqlExplainer != null) {
+			slowSqlExplainer.explain(ms, statementHandler.getParameterHandler().getParameterObject(), boundSql);
+		}
+	}
+
+	/**
+	 * 查询返回行数, 写入影响行数, 游标未知
+	 */
+	private static long rows(@Nullable Object result) {
+		if (result instanceof List<?> list) {
+			return list.size();
+		}
+		if (result instanceof Integer count) {
+			return count;
+		}
+		return -1;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 10;
+	}
+
+	/**
+	 * 当前语句与累计的结果集读取耗时
+	 */
+	private static final class SqlFrame {
+
+		private final MappedStatement ms;
+
+		private long fetchNanos;
+
+		private SqlFrame(MappedStatement ms) {
+			this.ms = ms;
+		}
+
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.slowsql;
+
+import io.github.panxiaochao.spring3.core.utils.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * SQL 执行统计, 按 MappedStatement id 累计
+ * </p>
+ * <pre>
+ *     1、计数使用 LongAdder 分段累加, 耗时使用无锁直方图, 记录过程不加锁
+ *     2、statementId 数量超过 maxStatements 后合并统计到 {@link #OTHER}, 内存占用有上限
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class SqlStatistics {
+
+	/**
+	 * 超出上限的 statementId 合并统计的 key
+	 */
+	public static final String OTHER = "OTHER";
+
+	private final int maxStatements;
+
+	private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+	public SqlStatistics(int maxStatements) {
+		this.maxStatements = Math.max(1, maxStatements);
+	}
+
+	/**
+	 * 记录一次执行
+	 * @param statementId MappedStatement id
+	 * @param costNanos 耗时, 单位纳秒
+	 * @param fetchNanos 结果集读取耗时, 单位纳秒
+	 * @param rows 行数, 未知为 -1
+	 * @param slow 是否慢 SQL
+	 * @param error 是否失败
+	 */
+	public void record(String statementId, long costNanos, long fetchNanos, long rows, boolean slow,
+			boolean error) {
+		StatementStats stats = get(statementId);
+		long micros = TimeUnit.NANOSECONDS.toMicros(costNanos);
+		stats.count.increment();
+		stats.totalMicros.add(micros);
+		stats.maxMicros.accumulate(micros);
+		stats.histogram.record(micros);
+		stats.fetchMicros.add(TimeUnit.NANOSECONDS.toMicros(fetchNanos));
+		if (rows >= 0) {
+			stats.rows.add(rows);
+			stats.maxRows.accumulate(rows);
+		}
+		if (slow) {
+			stats.slowCount.increment();
+		}
+		if (error) {
+			stats.errorCount.increment();
+		}
+	}
+
+	/**
+	 * 记录慢 SQL
+	 * @param statementId MappedStatement id
+	 * @param sql SQL
+	 */
+	public void recordSlowSql(String statementId, String sql) {
+		get(statementId).lastSlowSql = sql;
+	}
+
+	/**
+	 * 记录执行计划
+	 * @param statementId MappedStatement id
+	 * @param explain 执行计划
+	 */
+	public void recordExplain(String statementId, String explain) {
+		get(statementId).lastExplain = explain;
+	}
+
+	/**
+	 * 所有语句的统计快照
+	 * @return 快照
+	 */
+	public List<StatementStatistics> snapshot() {
+		List<StatementStatistics> result = new ArrayList<>(statements.size());
+		statements.forEach((statementId, stats) -> {
+			StatementStatistics statistics = stats.snapshot(statementId);
+			if (statistics.getCount() > 0) {
+				result.add(statistics);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 耗时 p99 最高的前 N 个语句
+	 * @param topN 条数
+	 * @return 快照
+	 */
+	public List<StatementStatistics> topSlowest(int topN) {
+		return top(Comparator.comparingLong(StatementStatistics::getP99Micros)
+			.thenComparingLong(StatementStatistics::getMaxMicros), topN);
+	}
+
+	/**
+	 * 总耗时最高的前 N 个语句
+	 * @param topN 条数
+	 * @return 快照
+	 */
+	public List<StatementStatistics> topTotalTime(int topN) {
+		return top(Comparator.comparingLong(StatementStatistics::getTotalMicros), topN);
+	}
+
+	/**
+	 * 清空统计
+	 */
+	public void reset() {
+		statements.clear();
+	}
+
+	private List<StatementStatistics> top(Comparator<StatementStatistics> comparator, int topN) {
+		return snapshot().stream().sorted(comparator.reversed()).limit(topN).toList();
+	}
+
+	private StatementStats get(String statementId) {
+		StatementStats stats = statements.get(statementId);
+		if (stats == null) {
+			String key = statements.size() < maxStatements ? statementId : OTHER;
+			stats = statements.computeIfAbsent(key, k -> new StatementStats());
+		}
+		return stats;
+	}
+
+	/**
+	 * 单个语句累计统计
+	 */
+	private static final class StatementStats {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder slowCount = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final LongAdder totalMicros = new LongAdder();
+
+		private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder fetchMicros = new LongAdder();
+
+		private final LongAdder rows = new LongAdder();
+
+		private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+
+		private final LatencyHistogram histogram = new LatencyHistogram();
+
+		private volatile String lastSlowSql;
+
+		private volatile String lastExplain;
+
+		private StatementStatistics snapshot(String statementId) {
+			long total = count.sum();
+			long[] buckets = new long[LatencyHistogram.BUCKETS];
+			histogram.addTo(buckets);
+			long totalMicrosSum = totalMicros.sum();
+			return new StatementStatistics(statementId, total, slowCount.sum(), errorCount.sum(),
+					total == 0 ? 0 : totalMicrosSum / total, LatencyHistogram.percentile(buckets, total, 0.5D),
+					LatencyHistogram.percentile(buckets, total, 0.95D),
+					LatencyHistogram.percentile(buckets, total, 0.99D), maxMicros.get(), totalMicrosSum,
+					total == 0 ? 0 : fetchMicros.sum() / total, total == 0 ? 0 : rows.sum() / total, maxRows.get(),
+					lastSlowSql, lastExplain);
+		}
+
+	}
+
+}
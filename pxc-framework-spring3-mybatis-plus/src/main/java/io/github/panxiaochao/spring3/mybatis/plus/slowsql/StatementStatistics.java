@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.mybatis.plus.slowsql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>
+ * 单个 MappedStatement 统计快照
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StatementStatistics {
+
+	/**
+	 * MappedStatement id
+	 */
+	private final String statementId;
+
+	/**
+	 * 执行次数
+	 */
+	private final long count;
+
+	/**
+	 * 慢 SQL 次数
+	 */
+	private final long slowCount;
+
+	/**
+	 * 失败次数
+	 */
+	private final long errorCount;
+
+	/**
+	 * 平均耗时, 单位微秒
+	 */
+	private final long avgMicros;
+
+	/**
+	 * p50 耗时, 单位微秒
+	 */
+	private final long p50Micros;
+
+	/**
+	 * p95 耗时, 单位微秒
+	 */
+	private final long p95Micros;
+
+	/**
+	 * p99 耗时, 单位微秒
+	 */
+	private final long p99Micros;
+
+	/**
+	 * 最大耗时, 单位微秒
+	 */
+	private final long maxMicros;
+
+	/**
+	 * 总耗时, 单位微秒
+	 */
+	private final long totalMicros;
+
+	/**
+	 * 平均结果集读取耗时, 单位微秒
+	 */
+	private final long avgFetchMicros;
+
+	/**
+	 * 平均行数, 查询为返回行数, 写入为影响行数
+	 */
+	private final long avgRows;
+
+	/**
+	 * 最大行数
+	 */
+	private final long maxRows;
+
+	/**
+	 * 最近一次慢 SQL
+	 */
+	private final String lastSlowSql;
+
+	/**
+	 * 最近一次慢 SQL 执行计划
+	 */
+	private final String lastExplain;
+
+}
@@ -19,15 +19,24 @@ import io.github.panxiaochao.spring3.core.exception.ServerRuntimeException;
 import io.github.panxiaochao.spring3.core.utils.SpringContextUtil;
 import io.github.panxiaochao.spring3.operate.log.core.OperateLogDao;
 import io.github.panxiaochao.spring3.operate.log.core.aspect.OperateLogAspect;
+import io.github.panxiaochao.spring3.operate.log.core.endpoint.OperateLogStatisticsEndpoint;
 import io.github.panxiaochao.spring3.operate.log.core.enums.OperateLogErrorEnum;
 import io.github.panxiaochao.spring3.operate.log.core.enums.OperateLogType;
 import io.github.panxiaochao.spring3.operate.log.core.handler.AbstractOperateLogHandler;
+import io.github.panxiaochao.spring3.operate.log.core.metrics.OperateLogMetrics;
+import io.github.panxiaochao.spring3.operate.log.core.stats.OperateLogStatistics;
 import io.github.panxiaochao.spring3.operate.log.properties.OperateLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
 
@@ -46,8 +55,10 @@ import java.util.Objects;
 public class OperateLogAutoConfiguration {
 
 	@Bean
-	public OperateLogAspect operateLogAspect() {
-		return new OperateLogAspect();
+	public OperateLogAspect operateLogAspect(ObjectProvider<OperateLogMetrics> operateLogMetricsProvider,
+			ObjectProvider<OperateLogStatistics> operateLogStatisticsProvider) {
+		return new OperateLogAspect(operateLogMetricsProvider.getIfAvailable(),
+				operateLogStatisticsProvider.getIfAvailable());
 	}
 
 	@Bean
@@ -77,4 +88,44 @@ public class OperateLogAutoConfiguration {
 		return null;
 	}
 
+	/**
+	 * 内存滚动统计
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.operatelog.statistics", name = "enabled", havingValue = "true")
+	public OperateLogStatistics operateLogStatistics(OperateLogProperties operateLogProperties) {
+		return new OperateLogStatistics(operateLogProperties.getStatistics());
+	}
+
+	/**
+	 * 引入 micrometer 时开启操作日志耗时指标
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class OperateLogMetricsConfiguration {
+
+		@Bean
+		public OperateLogMetrics operateLogMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+			return new OperateLogMetrics(meterRegistryProvider);
+		}
+
+	}
+
+	/**
+	 * 引入 actuator 时开启操作日志统计端点
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(Endpoint.class)
+	@ConditionalOnProperty(prefix = "spring.operatelog.statistics", name = "enabled", havingValue = "true")
+	static class OperateLogStatisticsEndpointConfiguration {
+
+		@Bean
+		public OperateLogStatisticsEndpoint operateLogStatisticsEndpoint(OperateLogStatistics operateLogStatistics,
+				OperateLogProperties operateLogProperties) {
+			return new OperateLogStatisticsEndpoint(operateLogStatistics,
+					operateLogProperties.getStatistics().getTopN());
+		}
+
+	}
+
 }
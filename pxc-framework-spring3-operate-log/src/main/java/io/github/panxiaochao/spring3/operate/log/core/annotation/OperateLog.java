@@ -74,6 +74,26 @@ public @interface OperateLog {
 	 */
 	boolean saveResData() default true;
 
+	/**
+	 * 采样率, 取值 [0, 1], 1 表示全部记录, 0 表示不记录
+	 */
+	double sampleRate() default 1.0D;
+
+	/**
+	 * 方法异常时始终记录, 不受采样、限流、去重影响
+	 */
+	boolean alwaysLogOnError() default true;
+
+	/**
+	 * 每秒最多记录条数(按注解方法计数), 小于等于 0 表示不限制
+	 */
+	int maxPerSecond() default 0;
+
+	/**
+	 * 是否对连续相同的记录去重(同方法、同参数、同结果类型)
+	 */
+	boolean dedup() default false;
+
 	/**
 	 * 业务类型
 	 */
@@ -16,13 +16,13 @@
 package io.github.panxiaochao.spring3.operate.log.core.aspect;
 
 import io.github.panxiaochao.spring3.operate.log.core.annotation.OperateLog;
-import io.github.panxiaochao.spring3.operate.log.core.context.MethodCostContext;
+import io.github.panxiaochao.spring3.operate.log.core.metrics.OperateLogMetrics;
+import io.github.panxiaochao.spring3.operate.log.core.stats.OperateLogStatistics;
 import io.github.panxiaochao.spring3.operate.log.utils.OperateLogUtil;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
@@ -31,6 +31,11 @@ import org.springframework.core.annotation.Order;
  * <p>
  * 操作日志 Aspect处理
  * </p>
+ * <pre>
+ *     1、采用 @Around 环绕，开始时间保存在方法栈上，嵌套/重入调用互不干扰
+ *     2、System.nanoTime() 计时，精度为纳秒
+ *     3、指标和内存滚动统计在采样、限流、去重之前记录，统计的是全部调用
+ * </pre>
  *
  * @author Lypxc
  * @since 2023-07-03
@@ -41,33 +46,68 @@ public class OperateLogAspect {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OperateLogAspect.class);
 
-	public OperateLogAspect() {
-		LOGGER.info("配置[OperateLogAspect]成功！");
-	}
+	/**
+	 * 指标记录，未引入 micrometer 时为 null
+	 */
+	private final OperateLogMetrics operateLogMetrics;
 
 	/**
-	 * 前置拦截
+	 * 内存滚动统计，未开启时为 null
 	 */
-	@Before("@annotation(operatorLog)")
-	public void before(JoinPoint joinPoint, OperateLog operatorLog) {
-		// 设置请求方法执行开始时间
-		MethodCostContext.setMethodCostTime(System.currentTimeMillis());
+	private final OperateLogStatistics operateLogStatistics;
+
+	public OperateLogAspect() {
+		this(null, null);
+	}
+
+	public OperateLogAspect(OperateLogMetrics operateLogMetrics) {
+		this(operateLogMetrics, null);
+	}
+
+	public OperateLogAspect(OperateLogMetrics operateLogMetrics, OperateLogStatistics operateLogStatistics) {
+		this.operateLogMetrics = operateLogMetrics;
+		this.operateLogStatistics = operateLogStatistics;
+		LOGGER.info("配置[OperateLogAspect]成功！");
 	}
 
 	/**
-	 * 返回拦截
+	 * 环绕拦截
 	 */
-	@AfterReturning(pointcut = "@annotation(operatorLog)", returning = "returnValue")
-	public void afterReturning(JoinPoint joinPoint, OperateLog operatorLog, Object returnValue) {
-		OperateLogUtil.handleOperateLog(joinPoint, operatorLog, returnValue, null);
+	@Around("@annotation(operateLog)")
+	public Object around(ProceedingJoinPoint joinPoint, OperateLog operateLog) throws Throwable {
+		// 设置请求方法执行开始时间
+		long startNanos = System.nanoTime();
+		Object returnValue;
+		try {
+			returnValue = joinPoint.proceed();
+		}
+		catch (Throwable ex) {
+			record(joinPoint, operateLog, null, ex, System.nanoTime() - startNanos);
+			throw ex;
+		}
+		record(joinPoint, operateLog, returnValue, null, System.nanoTime() - startNanos);
+		return returnValue;
 	}
 
 	/**
-	 * 错误异常拦截
+	 * 记录指标、统计和日志, 任何异常都不影响业务方法
 	 */
-	@AfterThrowing(pointcut = "@annotation(operatorLog)", throwing = "ex")
-	public void afterThrowing(JoinPoint joinPoint, OperateLog operatorLog, Exception ex) {
-		OperateLogUtil.handleOperateLog(joinPoint, operatorLog, null, ex);
+	private void record(ProceedingJoinPoint joinPoint, OperateLog operateLog, Object returnValue, Throwable ex,
+			long costNanos) {
+		try {
+			if (operateLogMetrics != null) {
+				operateLogMetrics.record(((MethodSignature) joinPoint.getSignature()).getMethod(), operateLog,
+						ex != null, costNanos);
+			}
+			if (operateLogStatistics != null) {
+				operateLogStatistics.record(joinPoint.getTarget().getClass().getName() + "."
+						+ joinPoint.getSignature().getName() + "()", costNanos, ex != null);
+			}
+			OperateLogUtil.handleOperateLog(joinPoint, operateLog, returnValue, ex, costNanos);
+		}
+		catch (Exception e) {
+			LOGGER.error("处理操作日志出错", e);
+		}
 	}
 
 }
@@ -127,6 +127,11 @@ public class OperateLogDomain implements Serializable {
 	 */
 	private long costTime;
 
+	/**
+	 * 执行耗时, 单位纳秒
+	 */
+	private long costNanos;
+
 	/**
 	 * 请求时间
 	 */
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.endpoint;
+
+import io.github.panxiaochao.spring3.operate.log.core.stats.MethodStatistics;
+import io.github.panxiaochao.spring3.operate.log.core.stats.OperateLogStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 操作日志统计端点, 访问 /actuator/operatelog?topN=10
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Endpoint(id = "operatelog")
+public class OperateLogStatisticsEndpoint {
+
+	private final OperateLogStatistics operateLogStatistics;
+
+	private final int defaultTopN;
+
+	public OperateLogStatisticsEndpoint(OperateLogStatistics operateLogStatistics, int defaultTopN) {
+		this.operateLogStatistics = operateLogStatistics;
+		this.defaultTopN = defaultTopN;
+	}
+
+	@ReadOperation
+	public Map<String, List<MethodStatistics>> statistics(@Nullable Integer topN) {
+		int limit = topN == null || topN <= 0 ? defaultTopN : topN;
+		Map<String, List<MethodStatistics>> result = new LinkedHashMap<>(4);
+		result.put("slowest", operateLogStatistics.topSlowest(limit));
+		result.put("errorProne", operateLogStatistics.topErrorProne(limit));
+		return result;
+	}
+
+}
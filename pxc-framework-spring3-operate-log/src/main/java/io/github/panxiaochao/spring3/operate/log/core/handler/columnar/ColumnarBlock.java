@@ -0,0 +1,484 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.handler.columnar;
+
+import io.github.panxiaochao.spring3.operate.log.core.domain.OperateLogDomain;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * 操作日志列式数据块编解码
+ * </p>
+ * <pre>
+ * 文件结构：
+ *     MAGIC(int) VERSION(byte) BLOCK*
+ * 数据块结构：
+ *     rowCount(int) minTime(long) maxTime(long) classMethod 字典(int + string*)
+ *     rawLength(int) compressedLength(int) payload(Deflater 压缩)
+ * payload 按列存储：
+ *     字符串列：块内字典 + 每行字典下标(varint, 0 表示 null)
+ *     数值列：varint/zigzag, 请求时间按 minTime 差值存储
+ * </pre>
+ * 块头不压缩，读取时可只根据 min/max 时间和 classMethod 字典跳过整块。
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class ColumnarBlock {
+
+	/**
+	 * 文件头魔数 "OLOG"
+	 */
+	public static final int FILE_MAGIC = 0x4F4C4F47;
+
+	/**
+	 * 文件格式版本
+	 */
+	public static final byte FILE_VERSION = 1;
+
+	/**
+	 * 文件头长度
+	 */
+	public static final int FILE_HEADER_LENGTH = 5;
+
+	/**
+	 * 字符串列, 顺序即存储顺序, 新增列只能追加在末尾
+	 */
+	private static final List<StringColumn> STRING_COLUMNS = List.of(
+			new StringColumn(OperateLogDomain::getTitle, OperateLogDomain::setTitle),
+			new StringColumn(OperateLogDomain::getDescription, OperateLogDomain::setDescription),
+			new StringColumn(OperateLogDomain::getRequestUrl, OperateLogDomain::setRequestUrl),
+			new StringColumn(OperateLogDomain::getRequestMethod, OperateLogDomain::setRequestMethod),
+			new StringColumn(OperateLogDomain::getRequestContentType, OperateLogDomain::setRequestContentType),
+			new StringColumn(OperateLogDomain::getBrowser, OperateLogDomain::setBrowser),
+			new StringColumn(OperateLogDomain::getOs, OperateLogDomain::setOs),
+			new StringColumn(OperateLogDomain::getIp, OperateLogDomain::setIp),
+			new StringColumn(OperateLogDomain::getAddress, OperateLogDomain::setAddress),
+			new StringColumn(OperateLogDomain::getClassName, OperateLogDomain::setClassName),
+			new StringColumn(OperateLogDomain::getClassMethod, OperateLogDomain::setClassMethod),
+			new StringColumn(OperateLogDomain::getRequestParam, OperateLogDomain::setRequestParam),
+			new StringColumn(OperateLogDomain::getRequestBody, OperateLogDomain::setRequestBody),
+			new StringColumn(d -> toStringOrNull(d.getResponseData()), OperateLogDomain::setResponseData),
+			new StringColumn(d -> toStringOrNull(d.getValue()), OperateLogDomain::setValue),
+			new StringColumn(OperateLogDomain::getErrorMessage, OperateLogDomain::setErrorMessage));
+
+	/**
+	 * 可空整数列
+	 */
+	private static final List<IntColumn> INT_COLUMNS = List.of(
+			new IntColumn(OperateLogDomain::getBusinessType, OperateLogDomain::setBusinessType),
+			new IntColumn(OperateLogDomain::getOperateUsertype, OperateLogDomain::setOperateUsertype),
+			new IntColumn(OperateLogDomain::getCode, OperateLogDomain::setCode));
+
+	private ColumnarBlock() {
+	}
+
+	/**
+	 * 写入文件头
+	 * @param out 输出流
+	 * @throws IOException IO 异常
+	 */
+	public static void writeFileHeader(DataOutputStream out) throws IOException {
+		out.writeInt(FILE_MAGIC);
+		out.writeByte(FILE_VERSION);
+	}
+
+	/**
+	 * 读取并校验文件头
+	 * @param in 输入流
+	 * @throws IOException 非操作日志列式文件
+	 */
+	public static void readFileHeader(DataInputStream in) throws IOException {
+		int magic = in.readInt();
+		byte version = in.readByte();
+		if (magic != FILE_MAGIC || version != FILE_VERSION) {
+			throw new IOException("not an operate log columnar file, magic: " + Integer.toHexString(magic)
+					+ ", version: " + version);
+		}
+	}
+
+	/**
+	 * 编码一个数据块
+	 * @param rows 记录
+	 * @param compressionLevel Deflater 压缩级别
+	 * @return 完整数据块字节(块头 + 压缩数据)
+	 * @throws IOException IO 异常
+	 */
+	public static byte[] encode(List<OperateLogDomain> rows, int compressionLevel) throws IOException {
+		int rowCount = rows.size();
+		long[] times = new long[rowCount];
+		long minTime = Long.MAX_VALUE;
+		long maxTime = Long.MIN_VALUE;
+		Set<String> classMethods = new LinkedHashSet<>();
+		for (int i = 0; i < rowCount; i++) {
+			OperateLogDomain row = rows.get(i);
+			long time = toEpochMilli(row.getRequestDateTime());
+			times[i] = time;
+			minTime = Math.min(minTime, time);
+			maxTime = Math.max(maxTime, time);
+			if (row.getClassMethod() != null) {
+				classMethods.add(row.getClassMethod());
+			}
+		}
+		// 1.列数据
+		ByteArrayOutputStream rawBytes = new ByteArrayOutputStream(rowCount * 64);
+		DataOutputStream raw = new DataOutputStream(rawBytes);
+		for (StringColumn column : STRING_COLUMNS) {
+			writeStringColumn(raw, rows, column.getter);
+		}
+		for (IntColumn column : INT_COLUMNS) {
+			for (OperateLogDomain row : rows) {
+				Integer value = column.getter.apply(row);
+				writeVarLong(raw, value == null ? 0 : zigZag(value) + 1);
+			}
+		}
+		for (int i = 0; i < rowCount; i++) {
+			writeVarLong(raw, times[i] - minTime);
+		}
+		for (OperateLogDomain row : rows) {
+			writeVarLong(raw, zigZag(row.getCostTime()));
+		}
+		for (OperateLogDomain row : rows) {
+			writeVarLong(raw, zigZag(row.getCostNanos()));
+		}
+		raw.flush();
+		byte[] payload = rawBytes.toByteArray();
+		byte[] compressed = deflate(payload, compressionLevel);
+		// 2.块头 + 压缩数据
+		ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(compressed.length + 256);
+		DataOutputStream block = new DataOutputStream(blockBytes);
+		block.writeInt(rowCount);
+		block.writeLong(minTime);
+		block.writeLong(maxTime);
+		block.writeInt(classMethods.size());
+		for (String classMethod : classMethods) {
+			writeString(block, classMethod);
+		}
+		block.writeInt(payload.length);
+		block.writeInt(compressed.length);
+		block.write(compressed);
+		block.flush();
+		return blockBytes.toByteArray();
+	}
+
+	/**
+	 * 读取块头, 到达文件末尾返回 null
+	 * @param in 输入流
+	 * @return BlockHeader
+	 * @throws IOException IO 异常
+	 */
+	public static BlockHeader readHeader(DataInputStream in) throws IOException {
+		int rowCount;
+		try {
+			rowCount = in.readInt();
+		}
+		catch (EOFException e) {
+			return null;
+		}
+		long minTime = in.readLong();
+		long maxTime = in.readLong();
+		int classMethodCount = in.readInt();
+		Set<String> classMethods = new LinkedHashSet<>(classMethodCount * 2);
+		for (int i = 0; i < classMethodCount; i++) {
+			classMethods.add(readString(in));
+		}
+		int rawLength = in.readInt();
+		int compressedLength = in.readInt();
+		return new BlockHeader(rowCount, minTime, maxTime, classMethods, rawLength, compressedLength);
+	}
+
+	/**
+	 * 跳过当前块数据
+	 * @param in 输入流
+	 * @param header 块头
+	 * @throws IOException IO 异常
+	 */
+	public static void skipPayload(DataInputStream in, BlockHeader header) throws IOException {
+		in.skipNBytes(header.getCompressedLength());
+	}
+
+	/**
+	 * 读取并解码当前块数据
+	 * @param in 输入流
+	 * @param header 块头
+	 * @return 记录
+	 * @throws IOException IO 异常
+	 */
+	public static List<OperateLogDomain> readPayload(DataInputStream in, BlockHeader header) throws IOException {
+		byte[] compressed = new byte[header.getCompressedLength()];
+		in.readFully(compressed);
+		byte[] payload = inflate(compressed, header.getRawLength());
+		int rowCount = header.getRowCount();
+		List<OperateLogDomain> rows = new ArrayList<>(rowCount);
+		for (int i = 0; i < rowCount; i++) {
+			rows.add(new OperateLogDomain());
+		}
+		DataInputStream raw = new DataInputStream(new ByteArrayInputStream(payload));
+		for (StringColumn column : STRING_COLUMNS) {
+			readStringColumn(raw, rows, column.setter);
+		}
+		for (IntColumn column : INT_COLUMNS) {
+			for (OperateLogDomain row : rows) {
+				long value = readVarLong(raw);
+				column.setter.accept(row, value == 0 ? null : (int) unZigZag(value - 1));
+			}
+		}
+		for (OperateLogDomain row : rows) {
+			row.setRequestDateTime(toLocalDateTime(header.getMinTime() + readVarLong(raw)));
+		}
+		for (OperateLogDomain row : rows) {
+			row.setCostTime(unZigZag(readVarLong(raw)));
+		}
+		for (OperateLogDomain row : rows) {
+			row.setCostNanos(unZigZag(readVarLong(raw)));
+		}
+		return rows;
+	}
+
+	/**
+	 * 请求时间转毫秒, 为空时取 0
+	 * @param dateTime 请求时间
+	 * @return 毫秒
+	 */
+	public static long toEpochMilli(LocalDateTime dateTime) {
+		if (dateTime == null) {
+			return 0L;
+		}
+		return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private static LocalDateTime toLocalDateTime(long epochMilli) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+	}
+
+	private static void writeStringColumn(DataOutputStream out, List<OperateLogDomain> rows,
+			Function<OperateLogDomain, String> getter) throws IOException {
+		Map<String, Integer> dictionary = new HashMap<>();
+		List<String> values = new ArrayList<>();
+		int[] ids = new int[rows.size()];
+		for (int i = 0; i < ids.length; i++) {
+			String value = getter.apply(rows.get(i));
+			if (value == null) {
+				ids[i] = 0;
+				continue;
+			}
+			Integer id = dictionary.get(value);
+			if (id == null) {
+				values.add(value);
+				id = values.size();
+				dictionary.put(value, id);
+			}
+			ids[i] = id;
+		}
+		writeVarLong(out, values.size());
+		for (String value : values) {
+			writeString(out, value);
+		}
+		for (int id : ids) {
+			writeVarLong(out, id);
+		}
+	}
+
+	private static void readStringColumn(DataInputStream in, List<OperateLogDomain> rows,
+			BiConsumer<OperateLogDomain, String> setter) throws IOException {
+		int size = (int) readVarLong(in);
+		String[] dictionary = new String[size + 1];
+		for (int i = 1; i <= size; i++) {
+			dictionary[i] = readString(in);
+		}
+		for (OperateLogDomain row : rows) {
+			setter.accept(row, dictionary[(int) readVarLong(in)]);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[(int) readVarLong(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static byte[] deflate(byte[] input, int level) {
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(input);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				int length = deflater.deflate(buffer);
+				out.write(buffer, 0, length);
+			}
+			return out.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] input, int rawLength) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			byte[] output = new byte[rawLength];
+			int offset = 0;
+			while (offset < rawLength && !inflater.finished()) {
+				int length = inflater.inflate(output, offset, rawLength - offset);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				offset += length;
+			}
+			if (offset != rawLength) {
+				throw new IOException("corrupted block, expected " + rawLength + " bytes but got " + offset);
+			}
+			return output;
+		}
+		catch (DataFormatException e) {
+			throw new IOException("corrupted block", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	private static String toStringOrNull(Object value) {
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * 块头信息
+	 */
+	@Getter
+	@ToString
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class BlockHeader {
+
+		/**
+		 * 行数
+		 */
+		private final int rowCount;
+
+		/**
+		 * 最小请求时间, 毫秒
+		 */
+		private final long minTime;
+
+		/**
+		 * 最大请求时间, 毫秒
+		 */
+		private final long maxTime;
+
+		/**
+		 * 块内出现的 classMethod
+		 */
+		private final Set<String> classMethods;
+
+		/**
+		 * 解压后长度
+		 */
+		private final int rawLength;
+
+		/**
+		 * 压缩后长度
+		 */
+		private final int compressedLength;
+
+	}
+
+	/**
+	 * 字符串列
+	 */
+	@AllArgsConstructor
+	private static final class StringColumn {
+
+		private final Function<OperateLogDomain, String> getter;
+
+		private final BiConsumer<OperateLogDomain, String> setter;
+
+	}
+
+	/**
+	 * 可空整数列
+	 */
+	@AllArgsConstructor
+	private static final class IntColumn {
+
+		private final Function<OperateLogDomain, Integer> getter;
+
+		private final BiConsumer<OperateLogDomain, Integer> setter;
+
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.handler.columnar;
+
+import io.github.panxiaochao.spring3.operate.log.core.domain.OperateLogDomain;
+import io.github.panxiaochao.spring3.operate.log.core.handler.AbstractOperateLogHandler;
+import io.github.panxiaochao.spring3.operate.log.properties.OperateLogProperties;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 操作日志列式压缩文件存储
+ * </p>
+ * <pre>
+ *     1、记录先缓冲到内存, 满 blockRows 条或超过 flushInterval 后编码为一个数据块写入文件, 后台线程按 flushInterval 定时检查
+ *        写入失败时保留缓冲记录, flushInterval 后重试, 最多保留 blockRows * MAX_RETAINED_BLOCKS 条, 超出丢弃最早的记录
+ *     2、数据块内按列存储, 字符串列字典编码, 整块 Deflater 压缩, 详见 {@link ColumnarBlock}
+ *     3、文件超过 maxFileSize 或跨天时滚动, 文件名 operate-log-yyyyMMdd-HHmmssSSS.olog
+ *     4、查询使用 {@link ColumnarOperateLogReader}
+ * </pre>
+ * 使用方式：spring.operatelog.log-type=OTHER, spring.operatelog.handler=ColumnarOperateLogHandler 全类名。
+ * 注意：进程异常退出时尚未落盘的缓冲记录会丢失。
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class ColumnarOperateLogHandler extends AbstractOperateLogHandler implements DisposableBean {
+
+	/**
+	 * 文件后缀
+	 */
+	public static final String FILE_SUFFIX = ".olog";
+
+	/**
+	 * 写入失败时最多保留的数据块数
+	 */
+	private static final int MAX_RETAINED_BLOCKS = 16;
+
+	private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+
+	private final OperateLogProperties.Columnar columnar;
+
+	private final long flushIntervalNanos;
+
+	private final List<OperateLogDomain> buffer;
+
+	private long bufferStartNanos;
+
+	/**
+	 * 写入失败后下次允许重试的时间
+	 */
+	private long retryAtNanos;
+
+	private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "operate-log-columnar-flush");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private DataOutputStream out;
+
+	private long currentFileBytes;
+
+	private LocalDate currentFileDate;
+
+	public ColumnarOperateLogHandler(OperateLogProperties operateLogProperties) {
+		this.columnar = operateLogProperties.getColumnar();
+		this.flushIntervalNanos = columnar.getFlushInterval().toNanos();
+		this.buffer = new ArrayList<>(columnar.getBlockRows());
+		this.retryAtNanos = System.nanoTime();
+		this.flushExecutor.scheduleWithFixedDelay(this::flushIfDue, flushIntervalNanos, flushIntervalNanos,
+				TimeUnit.NANOSECONDS);
+		logger.info("配置[ColumnarOperateLogHandler]成功！目录: {}", columnar.getDirectory());
+	}
+
+	@Override
+	public synchronized void saveOperateLog(OperateLogDomain operateLogDomain) {
+		if (buffer.isEmpty()) {
+			bufferStartNanos = System.nanoTime();
+		}
+		buffer.add(operateLogDomain);
+		if (System.nanoTime() - retryAtNanos < 0) {
+			return;
+		}
+		if (buffer.size() >= columnar.getBlockRows() || System.nanoTime() - bufferStartNanos >= flushIntervalNanos) {
+			flush();
+		}
+	}
+
+	/**
+	 * 定时检查, 缓冲超过 flushInterval 时写入文件
+	 */
+	private synchronized void flushIfDue() {
+		long now = System.nanoTime();
+		if (!buffer.isEmpty() && now - retryAtNanos >= 0 && now - bufferStartNanos >= flushIntervalNanos) {
+			flush();
+		}
+	}
+
+	/**
+	 * 将缓冲记录写入文件, 失败时保留记录等待重试
+	 */
+	public synchronized void flush() {
+		if (buffer.isEmpty()) {
+			return;
+		}
+		try {
+			byte[] block = ColumnarBlock.encode(buffer, columnar.getCompressionLevel());
+			rollIfNecessary();
+			out.write(block);
+			out.flush();
+			currentFileBytes += block.length;
+			buffer.clear();
+		}
+		catch (IOException e) {
+			// 关闭当前文件, 重试时滚动到新文件
+			closeQuietly();
+			retryAtNanos = System.nanoTime() + flushIntervalNanos;
+			int maxRetained = columnar.getBlockRows() * MAX_RETAINED_BLOCKS;
+			int dropped = Math.max(0, buffer.size() - maxRetained);
+			if (dropped > 0) {
+				buffer.subList(0, dropped).clear();
+			}
+			logger.error("写入操作日志列式文件出错, 保留 {} 条记录等待重试, 丢弃 {} 条记录", buffer.size(), dropped, e);
+		}
+	}
+
+	@Override
+	public synchronized void destroy() {
+		flushExecutor.shutdownNow();
+		flush();
+		closeQuietly();
+	}
+
+	/**
+	 * 文件超过大小或跨天时滚动
+	 */
+	private void rollIfNecessary() throws IOException {
+		LocalDate today = LocalDate.now();
+		if (out != null && currentFileBytes < columnar.getMaxFileSize().toBytes() && today.equals(currentFileDate)) {
+			return;
+		}
+		closeQuietly();
+		Path directory = Paths.get(columnar.getDirectory());
+		Files.createDirectories(directory);
+		Path file = directory.resolve("operate-log-" + LocalDateTime.now().format(FILE_NAME_FORMATTER) + FILE_SUFFIX);
+		out = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024));
+		ColumnarBlock.writeFileHeader(out);
+		currentFileBytes = ColumnarBlock.FILE_HEADER_LENGTH;
+		currentFileDate = today;
+	}
+
+	private void closeQuietly() {
+		if (out == null) {
+			return;
+		}
+		try {
+			out.close();
+		}
+		catch (IOException e) {
+			logger.error("关闭操作日志列式文件出错", e);
+		}
+		finally {
+			out = null;
+		}
+	}
+
+}
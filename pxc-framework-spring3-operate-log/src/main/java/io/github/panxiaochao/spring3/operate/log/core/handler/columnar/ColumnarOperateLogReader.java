@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.handler.columnar;
+
+import io.github.panxiaochao.spring3.operate.log.core.domain.OperateLogDomain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * 操作日志列式文件读取工具
+ * </p>
+ * <pre>
+ *     按请求时间范围、classMethod 扫描, 根据块头的 min/max 时间和 classMethod 字典跳过不相关的数据块,
+ *     被跳过的数据块不解压、不解码;
+ *     文件末尾未写完整的数据块(进程异常退出等)视为文件结束, 记录日志后跳过, 不影响其余文件
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class ColumnarOperateLogReader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarOperateLogReader.class);
+
+	private ColumnarOperateLogReader() {
+	}
+
+	/**
+	 * 扫描文件或目录
+	 * @param path 文件或目录, 目录时按文件名顺序扫描其中的 .olog 文件
+	 * @param from 开始时间(包含), 为空不限制
+	 * @param to 结束时间(包含), 为空不限制
+	 * @param classMethod 类方法, 为空不限制
+	 * @param consumer 匹配记录消费者
+	 * @return 匹配记录数
+	 * @throws IOException IO 异常
+	 */
+	public static long scan(Path path, LocalDateTime from, LocalDateTime to, String classMethod,
+			Consumer<OperateLogDomain> consumer) throws IOException {
+		if (!Files.isDirectory(path)) {
+			return scanFile(path, from, to, classMethod, consumer);
+		}
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(path)) {
+			files = stream.filter(p -> p.getFileName().toString().endsWith(ColumnarOperateLogHandler.FILE_SUFFIX))
+				.sorted()
+				.toList();
+		}
+		long matched = 0;
+		for (Path file : files) {
+			matched += scanFile(file, from, to, classMethod, consumer);
+		}
+		return matched;
+	}
+
+	/**
+	 * 扫描单个文件
+	 * @param file 文件
+	 * @param from 开始时间(包含), 为空不限制
+	 * @param to 结束时间(包含), 为空不限制
+	 * @param classMethod 类方法, 为空不限制
+	 * @param consumer 匹配记录消费者
+	 * @return 匹配记录数
+	 * @throws IOException IO 异常
+	 */
+	public static long scanFile(Path file, LocalDateTime from, LocalDateTime to, String classMethod,
+			Consumer<OperateLogDomain> consumer) throws IOException {
+		long fromMillis = from == null ? Long.MIN_VALUE : ColumnarBlock.toEpochMilli(from);
+		long toMillis = to == null ? Long.MAX_VALUE : ColumnarBlock.toEpochMilli(to);
+		boolean filterClassMethod = StringUtils.hasText(classMethod);
+		long matched = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+			ColumnarBlock.readFileHeader(in);
+			ColumnarBlock.BlockHeader header;
+			while ((header = ColumnarBlock.readHeader(in)) != null) {
+				// 块级过滤
+				if (header.getMaxTime() < fromMillis || header.getMinTime() > toMillis
+						|| (filterClassMethod && !header.getClassMethods().contains(classMethod))) {
+					ColumnarBlock.skipPayload(in, header);
+					continue;
+				}
+				// 行级过滤, 整块读完才解码, 残缺的块不会输出任何记录
+				for (OperateLogDomain row : ColumnarBlock.readPayload(in, header)) {
+					long time = ColumnarBlock.toEpochMilli(row.getRequestDateTime());
+					if (time < fromMillis || time > toMillis
+							|| (filterClassMethod && !classMethod.equals(row.getClassMethod()))) {
+						continue;
+					}
+					consumer.accept(row);
+					matched++;
+				}
+			}
+		}
+		catch (EOFException e) {
+			// 写入中断留下的残缺尾块, 视为文件结束
+			LOGGER.warn("操作日志列式文件 [{}] 末尾数据块不完整, 已跳过", file);
+		}
+		return matched;
+	}
+
+}
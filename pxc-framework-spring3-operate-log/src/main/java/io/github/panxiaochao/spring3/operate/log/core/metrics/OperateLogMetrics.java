@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.metrics;
+
+import io.github.panxiaochao.spring3.operate.log.core.annotation.OperateLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 操作日志 Micrometer 指标, 按 title/businessType 记录耗时直方图
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class OperateLogMetrics {
+
+	/**
+	 * 指标名称
+	 */
+	public static final String METRIC_NAME = "operate.log";
+
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+	/**
+	 * Method -> Timer 缓存, 避免每次调用重新构建 Tag
+	 */
+	private final Map<Method, MethodTimers> timersCache = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry meterRegistry;
+
+	public OperateLogMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	/**
+	 * 记录一次调用耗时
+	 * @param method 注解方法
+	 * @param operateLog 注解
+	 * @param error 是否异常
+	 * @param costNanos 耗时, 单位纳秒
+	 */
+	public void record(Method method, OperateLog operateLog, boolean error, long costNanos) {
+		MethodTimers timers = timersCache.get(method);
+		if (timers == null) {
+			timers = timersCache.computeIfAbsent(method, m -> new MethodTimers(getMeterRegistry(), operateLog));
+		}
+		(error ? timers.error : timers.success).record(costNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private MeterRegistry getMeterRegistry() {
+		MeterRegistry registry = this.meterRegistry;
+		if (registry == null) {
+			registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+			this.meterRegistry = registry;
+		}
+		return registry;
+	}
+
+	/**
+	 * 单个方法的成功/失败计时器
+	 */
+	private static final class MethodTimers {
+
+		private final Timer success;
+
+		private final Timer error;
+
+		private MethodTimers(MeterRegistry registry, OperateLog operateLog) {
+			this.success = build(registry, operateLog, "SUCCESS");
+			this.error = build(registry, operateLog, "ERROR");
+		}
+
+		private static Timer build(MeterRegistry registry, OperateLog operateLog, String outcome) {
+			return Timer.builder(METRIC_NAME)
+				.description("@OperateLog 方法执行耗时")
+				.tag("title", operateLog.title())
+				.tag("businessType", operateLog.businessType().name())
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(registry);
+		}
+
+	}
+
+}
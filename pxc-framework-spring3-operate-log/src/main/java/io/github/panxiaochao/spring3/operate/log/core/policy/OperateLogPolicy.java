@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.policy;
+
+import io.github.panxiaochao.spring3.operate.log.core.annotation.OperateLog;
+
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * 操作日志记录策略, 在序列化等耗时处理之前判定是否需要记录
+ * </p>
+ * <pre>
+ *     1、采样：sampleRate 小于 1 时按概率记录
+ *     2、限流：maxPerSecond 大于 0 时每秒最多记录 N 条，无锁 CAS 计数
+ *     3、去重：dedup 为 true 时跳过与上一条相同的记录, 比较的是调用时生成的参数指纹(逐层展开集合、Map、数组后的 toString),
+ *        只保存指纹不保存参数引用, 参数之后被修改不影响比较; 参数(含嵌套)元素总数超过 MAX_DEDUP_ELEMENTS
+ *        或指纹长度超过 MAX_FINGERPRINT_LENGTH 时不去重
+ *     4、异常：alwaysLogOnError 为 true 时异常记录不受以上限制
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class OperateLogPolicy {
+
+	/**
+	 * 去重时参数(含嵌套集合、Map、数组)的最大元素数
+	 */
+	private static final int MAX_DEDUP_ELEMENTS = 64;
+
+	/**
+	 * 去重指纹最大长度
+	 */
+	private static final int MAX_FINGERPRINT_LENGTH = 1024;
+
+	/**
+	 * Method -> 策略状态
+	 */
+	private final Map<Method, PolicyState> stateCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 判定本次调用是否需要记录
+	 * @param method 注解方法
+	 * @param operateLog 注解
+	 * @param args 方法参数
+	 * @param error 是否异常
+	 * @return true 记录, false 跳过
+	 */
+	public boolean shouldLog(Method method, OperateLog operateLog, Object[] args, boolean error) {
+		if (error && operateLog.alwaysLogOnError()) {
+			return true;
+		}
+		double sampleRate = operateLog.sampleRate();
+		if (sampleRate <= 0) {
+			return false;
+		}
+		if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return false;
+		}
+		int maxPerSecond = operateLog.maxPerSecond();
+		boolean dedup = operateLog.dedup();
+		if (maxPerSecond <= 0 && !dedup) {
+			return true;
+		}
+		PolicyState state = stateCache.get(method);
+		if (state == null) {
+			state = stateCache.computeIfAbsent(method, m -> new PolicyState());
+		}
+		if (dedup && state.isDuplicate(args, error)) {
+			return false;
+		}
+		return maxPerSecond <= 0 || state.tryAcquire(maxPerSecond);
+	}
+
+	/**
+	 * 生成参数指纹
+	 * @param args 方法参数
+	 * @return 指纹, 参数过大时返回 null
+	 */
+	@Nullable
+	private static String fingerprint(Object[] args) {
+		StringBuilder sb = new StringBuilder(64);
+		int[] budget = { MAX_DEDUP_ELEMENTS };
+		for (Object arg : args) {
+			if (!appendFingerprint(sb, arg, budget)) {
+				return null;
+			}
+			sb.append('\u0000');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 追加单个值, 超出元素数或长度上限时返回 false
+	 */
+	private static boolean appendFingerprint(StringBuilder sb, @Nullable Object value, int[] budget) {
+		if (--budget[0] < 0) {
+			return false;
+		}
+		if (value instanceof Collection<?> collection) {
+			if (collection.size() > budget[0]) {
+				return false;
+			}
+			sb.append('[');
+			for (Object element : collection) {
+				if (!appendFingerprint(sb, element, budget)) {
+					return false;
+				}
+				sb.append(',');
+			}
+			sb.append(']');
+		}
+		else if (value instanceof Map<?, ?> map) {
+			if (map.size() > budget[0]) {
+				return false;
+			}
+			sb.append('{');
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				if (!appendFingerprint(sb, entry.getKey(), budget)) {
+					return false;
+				}
+				sb.append('=');
+				if (!appendFingerprint(sb, entry.getValue(), budget)) {
+					return false;
+				}
+				sb.append(',');
+			}
+			sb.append('}');
+		}
+		else if (value != null && value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			if (length > budget[0]) {
+				return false;
+			}
+			sb.append('[');
+			for (int i = 0; i < length; i++) {
+				if (!appendFingerprint(sb, Array.get(value, i), budget)) {
+					return false;
+				}
+				sb.append(',');
+			}
+			sb.append(']');
+		}
+		else {
+			sb.append(value);
+		}
+		return sb.length() <= MAX_FINGERPRINT_LENGTH;
+	}
+
+	/**
+	 * 单个方法的限流、去重状态
+	 */
+	private static final class PolicyState {
+
+		/**
+		 * 高 32 位为秒数, 低 32 位为该秒已记录条数
+		 */
+		private final AtomicLong window = new AtomicLong();
+
+		/**
+		 * 上一条记录
+		 */
+		private final AtomicReference<LastRecord> lastRecord = new AtomicReference<>();
+
+		private boolean tryAcquire(int maxPerSecond) {
+			long second = System.currentTimeMillis() / 1000L;
+			for (;;) {
+				long current = window.get();
+				long next;
+				if ((current >>> 32) != (second & 0xFFFFFFFFL)) {
+					next = (second << 32) | 1L;
+				}
+				else {
+					long count = current & 0xFFFFFFFFL;
+					if (count >= maxPerSecond) {
+						return false;
+					}
+					next = current + 1;
+				}
+				if (window.compareAndSet(current, next)) {
+					return true;
+				}
+			}
+		}
+
+		private boolean isDuplicate(Object[] args, boolean error) {
+			String fingerprint;
+			try {
+				fingerprint = fingerprint(args);
+			}
+			catch (RuntimeException e) {
+				// 参数 toString 异常时视为不同记录
+				fingerprint = null;
+			}
+			if (fingerprint == null) {
+				lastRecord.set(null);
+				return false;
+			}
+			LastRecord current = new LastRecord(fingerprint, fingerprint.hashCode(), error);
+			LastRecord previous = lastRecord.getAndSet(current);
+			return previous != null && previous.hash == current.hash && previous.error == error
+					&& previous.fingerprint.equals(fingerprint);
+		}
+
+	}
+
+	/**
+	 * 上一条记录的参数指纹与结果类型
+	 */
+	private static final class LastRecord {
+
+		private final String fingerprint;
+
+		private final int hash;
+
+		private final boolean error;
+
+		private LastRecord(String fingerprint, int hash, boolean error) {
+			this.fingerprint = fingerprint;
+			this.hash = hash;
+			this.error = error;
+		}
+
+	}
+
+}
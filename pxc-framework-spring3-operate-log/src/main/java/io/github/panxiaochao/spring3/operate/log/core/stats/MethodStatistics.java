@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>
+ * 单个方法窗口统计快照
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MethodStatistics {
+
+	/**
+	 * 类方法
+	 */
+	private final String classMethod;
+
+	/**
+	 * 调用数
+	 */
+	private final long count;
+
+	/**
+	 * 失败数
+	 */
+	private final long errorCount;
+
+	/**
+	 * 失败率
+	 */
+	private final double errorRate;
+
+	/**
+	 * 平均耗时, 单位微秒
+	 */
+	private final long avgMicros;
+
+	/**
+	 * p50 耗时, 单位微秒
+	 */
+	private final long p50Micros;
+
+	/**
+	 * p95 耗时, 单位微秒
+	 */
+	private final long p95Micros;
+
+	/**
+	 * p99 耗时, 单位微秒
+	 */
+	private final long p99Micros;
+
+	/**
+	 * 最大耗时, 单位微秒
+	 */
+	private final long maxMicros;
+
+}
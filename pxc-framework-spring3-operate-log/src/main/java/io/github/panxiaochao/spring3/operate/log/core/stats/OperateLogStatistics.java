@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.operate.log.core.stats;
+
+import io.github.panxiaochao.spring3.core.utils.LatencyHistogram;
+import io.github.panxiaochao.spring3.operate.log.properties.OperateLogProperties;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 操作日志内存滚动统计
+ * </p>
+ * <pre>
+ *     1、按 classMethod 统计滑动窗口内的调用数、失败数、耗时分位
+ *     2、窗口切分为若干分片, 分片过期后由下一次写入 CAS 替换为新的空分片, 计数使用 LongAdder 分段累加, 全程无锁
+ *     3、classMethod 数量超过 maxMethods 后合并统计到 {@link #OTHER}, 内存占用有上限
+ * </pre>
+ * 新分片在发布前已是空的, 不会清掉其他线程已写入新周期的数据; 替换瞬间仍写入旧分片的少量记录会丢失, 统计结果为近似值。
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class OperateLogStatistics {
+
+	/**
+	 * 超出上限的 classMethod 合并统计的 key
+	 */
+	public static final String OTHER = "OTHER";
+
+	private final long slotNanos;
+
+	private final int slots;
+
+	private final int maxMethods;
+
+	private final Map<String, MethodWindow> windows = new ConcurrentHashMap<>();
+
+	public OperateLogStatistics(OperateLogProperties.Statistics statistics) {
+		this.slots = Math.max(1, statistics.getSlots());
+		this.slotNanos = Math.max(1, statistics.getWindow().toNanos() / slots);
+		this.maxMethods = Math.max(1, statistics.getMaxMethods());
+	}
+
+	/**
+	 * 记录一次调用
+	 * @param classMethod 类方法
+	 * @param costNanos 耗时, 单位纳秒
+	 * @param error 是否失败
+	 */
+	public void record(String classMethod, long costNanos, boolean error) {
+		if (classMethod == null) {
+			return;
+		}
+		MethodWindow window = windows.get(classMethod);
+		if (window == null) {
+			String key = windows.size() < maxMethods ? classMethod : OTHER;
+			window = windows.computeIfAbsent(key, k -> new MethodWindow(slots));
+		}
+		long epoch = System.nanoTime() / slotNanos;
+		window.slot(epoch).record(TimeUnit.NANOSECONDS.toMicros(costNanos), error);
+	}
+
+	/**
+	 * 当前窗口内所有方法的统计快照
+	 * @return 快照
+	 */
+	public List<MethodStatistics> snapshot() {
+		long epoch = System.nanoTime() / slotNanos;
+		List<MethodStatistics> result = new ArrayList<>(windows.size());
+		windows.forEach((classMethod, window) -> {
+			MethodStatistics statistics = window.snapshot(classMethod, epoch);
+			if (statistics.getCount() > 0) {
+				result.add(statistics);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 耗时 p99 最高的前 N 个方法
+	 * @param topN 条数
+	 * @return 快照
+	 */
+	public List<MethodStatistics> topSlowest(int topN) {
+		return top(Comparator.comparingLong(MethodStatistics::getP99Micros)
+			.thenComparingLong(MethodStatistics::getMaxMicros), topN);
+	}
+
+	/**
+	 * 失败率最高的前 N 个方法
+	 * @param topN 条数
+	 * @return 快照
+	 */
+	public List<MethodStatistics> topErrorProne(int topN) {
+		return snapshot().stream()
+			.filter(s -> s.getErrorCount() > 0)
+			.sorted(Comparator.comparingDouble(MethodStatistics::getErrorRate)
+				.thenComparingLong(MethodStatistics::getErrorCount)
+				.reversed())
+			.limit(topN)
+			.toList();
+	}
+
+	private List<MethodStatistics> top(Comparator<MethodStatistics> comparator, int topN) {
+		return snapshot().stream().sorted(comparator.reversed()).limit(topN).toList();
+	}
+
+	/**
+	 * 单个方法的滑动窗口
+	 */
+	private static final class MethodWindow {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private MethodWindow(int size) {
+			this.slots = new AtomicReferenceArray<>(size);
+			for (int i = 0; i < size; i++) {
+				this.slots.set(i, new Slot(Slot.UNUSED));
+			}
+		}
+
+		private Slot slot(long epoch) {
+			int index = (int) Math.floorMod(epoch, (long) slots.length());
+			Slot slot = slots.get(index);
+			while (slot.epoch < epoch) {
+				// 先建好空分片再发布, CAS 失败说明其他线程已替换, 重新读取
+				Slot fresh = new Slot(epoch);
+				if (slots.compareAndSet(index, slot, fresh)) {
+					return fresh;
+				}
+				slot = slots.get(index);
+			}
+			return slot;
+		}
+
+		private MethodStatistics snapshot(String classMethod, long epoch) {
+			long count = 0;
+			long errorCount = 0;
+			long totalMicros = 0;
+			long maxMicros = 0;
+			long[] buckets = new long[LatencyHistogram.BUCKETS];
+			for (int i = 0; i < slots.length(); i++) {
+				Slot slot = slots.get(i);
+				// 只统计窗口内的分片
+				if (slot.epoch == Slot.UNUSED || epoch - slot.epoch >= slots.length()) {
+					continue;
+				}
+				count += slot.count.sum();
+				errorCount += slot.errorCount.sum();
+				totalMicros += slot.totalMicros.sum();
+				maxMicros = Math.max(maxMicros, slot.maxMicros.get());
+				slot.histogram.addTo(buckets);
+			}
+			return new MethodStatistics(classMethod, count, errorCount, count == 0 ? 0D : (double) errorCount / count,
+					count == 0 ? 0 : totalMicros / count, LatencyHistogram.percentile(buckets, count, 0.5D),
+					LatencyHistogram.percentile(buckets, count, 0.95D),
+					LatencyHistogram.percentile(buckets, count, 0.99D), maxMicros);
+		}
+
+	}
+
+	/**
+	 * 窗口分片
+	 */
+	private static final class Slot {
+
+		private static final long UNUSED = Long.MIN_VALUE;
+
+		private final long epoch;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final LongAdder totalMicros = new LongAdder();
+
+		private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+		private final LatencyHistogram histogram = new LatencyHistogram();
+
+		private Slot(long epoch) {
+			this.epoch = epoch;
+		}
+
+		private void record(long micros, boolean error) {
+			count.increment();
+			if (error) {
+				errorCount.increment();
+			}
+			totalMicros.add(micros);
+			maxMicros.accumulate(micros);
+			histogram.record(micros);
+		}
+
+	}
+
+}
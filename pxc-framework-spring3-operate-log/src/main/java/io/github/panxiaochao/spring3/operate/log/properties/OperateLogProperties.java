@@ -21,6 +21,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.zip.Deflater;
 
 /**
  * <p>
@@ -46,4 +50,78 @@ public class OperateLogProperties {
 	 */
 	private Class<? extends AbstractOperateLogHandler> handler;
 
+	/**
+	 * 列式文件存储配置, handler 为 ColumnarOperateLogHandler 时生效
+	 */
+	private Columnar columnar = new Columnar();
+
+	/**
+	 * 内存滚动统计配置
+	 */
+	private Statistics statistics = new Statistics();
+
+	@Getter
+	@Setter
+	@ToString
+	public static class Columnar {
+
+		/**
+		 * 存储目录
+		 */
+		private String directory = "logs/operate-log";
+
+		/**
+		 * 每个数据块的记录数
+		 */
+		private int blockRows = 4096;
+
+		/**
+		 * 数据块最长缓冲时间, 超过后下一次写入时落盘
+		 */
+		private Duration flushInterval = Duration.ofSeconds(30);
+
+		/**
+		 * 单个文件最大大小, 超过后滚动新文件, 跨天也会滚动
+		 */
+		private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * Deflater 压缩级别 0-9, -1 为默认级别
+		 */
+		private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+	}
+
+	@Getter
+	@Setter
+	@ToString
+	public static class Statistics {
+
+		/**
+		 * 是否开启
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 滑动窗口时长
+		 */
+		private Duration window = Duration.ofMinutes(1);
+
+		/**
+		 * 窗口分片数, 窗口按分片滚动
+		 */
+		private int slots = 6;
+
+		/**
+		 * 最多统计的 classMethod 数量, 超出部分合并统计到 OTHER
+		 */
+		private int maxMethods = 512;
+
+		/**
+		 * 端点默认返回条数
+		 */
+		private int topN = 10;
+
+	}
+
 }
@@ -20,8 +20,8 @@ import cn.hutool.http.useragent.UserAgentUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.github.panxiaochao.spring3.core.utils.*;
 import io.github.panxiaochao.spring3.operate.log.core.annotation.OperateLog;
-import io.github.panxiaochao.spring3.operate.log.core.context.MethodCostContext;
 import io.github.panxiaochao.spring3.operate.log.core.domain.OperateLogDomain;
+import io.github.panxiaochao.spring3.operate.log.core.policy.OperateLogPolicy;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.JoinPoint;
@@ -48,6 +48,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -84,20 +85,30 @@ public class OperateLogUtil {
      */
     private static final ParameterNameDiscoverer PARAMETERNAMEDISCOVERER = new DefaultParameterNameDiscoverer();
 
+    /**
+     * 记录策略(采样、限流、去重)
+     */
+    private static final OperateLogPolicy OPERATELOGPOLICY = new OperateLogPolicy();
+
 	/**
 	 * 处理日志方式
 	 * @param joinPoint joinPoint
 	 * @param returnValue 返回值
 	 * @param ex 报错信息
+	 * @param costNanos 执行耗时, 单位纳秒
 	 */
 	public static void handleOperateLog(final JoinPoint joinPoint, OperateLog operateLog, Object returnValue,
-										Exception ex) {
-		Object target = joinPoint.getTarget();
+										Throwable ex, long costNanos) {
 		MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
 		// 参数
 		Object[] args = joinPoint.getArgs();
 		// Method
 		Method method = methodSignature.getMethod();
+		// 序列化之前判定是否需要记录
+		if (!OPERATELOGPOLICY.shouldLog(method, operateLog, args, ex != null)) {
+			return;
+		}
+		Object target = joinPoint.getTarget();
 		// 设置方法名称
 		String className = target.getClass().getName();
 		String methodName = method.getName();
@@ -117,7 +128,7 @@ public class OperateLogUtil {
 		operateLogDomain.setRequestDateTime(LocalDateTime.now());
 		if (ex != null) {
 			operateLogDomain.setCode(0);
-			operateLogDomain.setErrorMessage(StrUtil.substring(ExceptionUtil.getMessage(ex), 0, 2000));
+			operateLogDomain.setErrorMessage(StrUtil.substring(ExceptionUtil.getStackTrace(ex), 0, 2000));
 		}
 		else {
 			operateLogDomain.setCode(1);
@@ -150,9 +161,8 @@ public class OperateLogUtil {
             operateLogDomain.setValue(parseExpression(method, joinPoint, key));
 		}
 		// 设置消耗时间
-		operateLogDomain.setCostTime(System.currentTimeMillis() - MethodCostContext.getMethodCostTime());
-		// 使用完清除，以免内存泄漏
-		MethodCostContext.removeMethodCostTime();
+		operateLogDomain.setCostNanos(costNanos);
+		operateLogDomain.setCostTime(TimeUnit.NANOSECONDS.toMillis(costNanos));
 		// 发布事件保存数据库
 		SpringContextUtil.publishEvent(operateLogDomain);
     }
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 非阻塞缓存, 所有操作返回 CompletableFuture, 不阻塞调用线程.
+ * </p>
+ * <pre>
+ * retrieve 方法签名与 Spring 6.1 Cache.retrieve 保持一致, 便于升级后直接对接
+ * 缓存值为 null 与未命中都以 null 完成
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public interface AsyncCacheFacade {
+
+	/**
+	 * 缓存名称
+	 * @return 名称
+	 */
+	String getName();
+
+	/**
+	 * 获取缓存
+	 * @param key key
+	 * @return 值, 未命中以 null 完成
+	 */
+	CompletableFuture<Object> retrieve(Object key);
+
+	/**
+	 * 获取缓存, 未命中时调用 valueLoader 加载并写入, 同一 key 并发只加载一次
+	 * @param key key
+	 * @param valueLoader 异步加载
+	 * @return 值
+	 */
+	<T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader);
+
+	/**
+	 * 写入缓存
+	 * @param key key
+	 * @param value 值
+	 * @return 完成
+	 */
+	CompletableFuture<Void> put(Object key, Object value);
+
+	/**
+	 * 删除缓存
+	 * @param key key
+	 * @return 完成
+	 */
+	CompletableFuture<Void> evict(Object key);
+
+	/**
+	 * 清空缓存
+	 * @return 完成
+	 */
+	CompletableFuture<Void> clear();
+
+}
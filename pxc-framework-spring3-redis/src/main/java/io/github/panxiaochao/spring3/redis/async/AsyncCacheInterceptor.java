@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * {@link AsyncCacheable} 拦截器, 缓存 CompletableFuture / CompletionStage / Mono 的结果, 不阻塞调用线程.
+ * </p>
+ * <pre>
+ * SpEL key 按方法缓存解析结果, 不重复解析
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class AsyncCacheInterceptor extends CachedExpressionEvaluator implements MethodInterceptor {
+
+	private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono",
+			AsyncCacheInterceptor.class.getClassLoader());
+
+	private final Supplier<AsyncCacheManager> asyncCacheManager;
+
+	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
+
+	private final Map<Method, Optional<AsyncCacheable>> annotationCache = new ConcurrentHashMap<>(64);
+
+	public AsyncCacheInterceptor(AsyncCacheManager asyncCacheManager) {
+		this(() -> asyncCacheManager);
+	}
+
+	public AsyncCacheInterceptor(Supplier<AsyncCacheManager> asyncCacheManager) {
+		this.asyncCacheManager = asyncCacheManager;
+	}
+
+	@Override
+	@Nullable
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object target = invocation.getThis();
+		Class<?> targetClass = target != null ? AopUtils.getTargetClass(target)
+				: invocation.getMethod().getDeclaringClass();
+		Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+		AsyncCacheable asyncCacheable = annotationCache
+			.computeIfAbsent(method,
+					m -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(m, AsyncCacheable.class)))
+			.orElse(null);
+		if (asyncCacheable == null) {
+			return invocation.proceed();
+		}
+		AsyncCacheFacade cache = asyncCacheManager.get().getCache(asyncCacheable.cacheName());
+		Object key = generateKey(asyncCacheable, method, targetClass, target, invocation.getArguments());
+		Class<?> returnType = method.getReturnType();
+		if (CompletionStage.class.isAssignableFrom(returnType)) {
+			MethodInvocation clone = invocableClone(invocation);
+			return cache.retrieve(key, () -> proceedToFuture(clone));
+		}
+		if (REACTOR_PRESENT && ReactorSupport.isMono(returnType)) {
+			return ReactorSupport.cacheMono(cache, key, invocation);
+		}
+		throw new IllegalStateException(
+				"@AsyncCacheable only supports CompletableFuture, CompletionStage or Mono return types: " + method);
+	}
+
+	private Object generateKey(AsyncCacheable asyncCacheable, Method method, Class<?> targetClass,
+			@Nullable Object target, Object[] args) {
+		if (!StringUtils.hasText(asyncCacheable.key())) {
+			return SimpleKeyGenerator.generateKey(args);
+		}
+		EvaluationContext evaluationContext = new MethodBasedEvaluationContext(target, method, args,
+				getParameterNameDiscoverer());
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, targetClass);
+		return getExpression(keyCache, elementKey, asyncCacheable.key()).getValue(evaluationContext);
+	}
+
+	/**
+	 * 加载可能在 invoke 返回后执行, 使用副本调用
+	 */
+	private static MethodInvocation invocableClone(MethodInvocation invocation) {
+		return invocation instanceof ProxyMethodInvocation proxyMethodInvocation
+				? proxyMethodInvocation.invocableClone() : invocation;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CompletableFuture<Object> proceedToFuture(MethodInvocation invocation) {
+		try {
+			Object result = invocation.proceed();
+			return result == null ? CompletableFuture.completedFuture(null)
+					: ((CompletionStage<Object>) result).toCompletableFuture();
+		}
+		catch (Throwable ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+
+	/**
+	 * reactor 单独放在内部类, 未引入 reactor-core 时不加载
+	 */
+	private static final class ReactorSupport {
+
+		private static boolean isMono(Class<?> returnType) {
+			return Mono.class.isAssignableFrom(returnType);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Mono<Object> cacheMono(AsyncCacheFacade cache, Object key, MethodInvocation invocation) {
+			return Mono.defer(() -> {
+				MethodInvocation clone = invocableClone(invocation);
+				return Mono.fromFuture(cache.retrieve(key, () -> {
+					try {
+						Object result = clone.proceed();
+						return result == null ? CompletableFuture.completedFuture(null)
+								: ((Mono<Object>) result).toFuture();
+					}
+					catch (Throwable ex) {
+						return CompletableFuture.failedFuture(ex);
+					}
+				}));
+			});
+		}
+
+	}
+
+}
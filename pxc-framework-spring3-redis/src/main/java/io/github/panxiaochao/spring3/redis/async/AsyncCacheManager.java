@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.core.utils.StringPools;
+import io.github.panxiaochao.spring3.redis.constants.CacheManagerType;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * 非阻塞缓存管理器, 按 cacheType 创建 Caffeine 或 Redisson 实现, multilevel 使用 Redisson 实现.
+ * </p>
+ * <pre>
+ * key格式为: cacheNames#ttl#maxSize
+ * ttl 过期时间, 0 表示不过期, 未设置默认 60s(caffeine) / 不过期(redis)
+ * maxSize 最大条数, 只对 caffeine 生效, 默认 500
+ * redis 实现使用独立的 RMapCache(名称前加 async:), 与同步缓存不共享数据
+ * 例子: test、test#60s、test#10m#1000
+ *</pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class AsyncCacheManager {
+
+	private static final String REDIS_NAME_PREFIX = "async:";
+
+	private static final Duration DEFAULT_CAFFEINE_TTL = Duration.ofSeconds(60);
+
+	private static final long DEFAULT_CAFFEINE_MAXIMUM_SIZE = 500;
+
+	private final CacheManagerType cacheType;
+
+	private final ConcurrentMap<String, AsyncCacheFacade> cacheMap = new ConcurrentHashMap<>(16);
+
+	public AsyncCacheManager(CacheManagerType cacheType) {
+		this.cacheType = cacheType;
+	}
+
+	/**
+	 * 获取缓存, 不存在时创建
+	 * @param name 缓存名称, 可带参数
+	 * @return AsyncCacheFacade
+	 */
+	public AsyncCacheFacade getCache(String name) {
+		String[] array = StringUtils.delimitedListToStringArray(name, StringPools.HASH);
+		AsyncCacheFacade cache = this.cacheMap.get(array[0]);
+		if (cache == null) {
+			cache = this.cacheMap.computeIfAbsent(array[0], n -> createCache(n, array));
+		}
+		return cache;
+	}
+
+	/**
+	 * 已创建的缓存名称
+	 * @return 名称
+	 */
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.cacheMap.keySet());
+	}
+
+	private AsyncCacheFacade createCache(String cacheName, String[] array) {
+		Duration ttl = array.length > 1 && StringUtils.hasText(array[1]) ? DurationStyle.detectAndParse(array[1])
+				: null;
+		if (CacheManagerType.caffeine.equals(this.cacheType)) {
+			long maxSize = array.length > 2 && StringUtils.hasText(array[2]) ? Long.parseLong(array[2].trim()) : 0;
+			Caffeine<Object, Object> builder = Caffeine.newBuilder()
+				.maximumSize(maxSize > 0 ? maxSize : DEFAULT_CAFFEINE_MAXIMUM_SIZE);
+			Duration expire = ttl == null ? DEFAULT_CAFFEINE_TTL : ttl;
+			if (expire.toMillis() > 0) {
+				builder.expireAfterWrite(expire);
+			}
+			return new CaffeineAsyncCacheFacade(cacheName, builder.buildAsync());
+		}
+		return new RedissonAsyncCacheFacade(
+				RedissonUtil.INSTANCE().ofRedissonClient().getMapCache(REDIS_NAME_PREFIX + cacheName),
+				ttl == null ? 0 : ttl.toMillis());
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * 非阻塞缓存注解, 用于返回 CompletableFuture / CompletionStage / Mono 的方法.
+ * </p>
+ * <pre>
+ * Spring 6.0 的 @Cacheable 会把 Mono / CompletableFuture 对象本身当作缓存值, 此注解缓存其结果且全程不阻塞
+ * 例子: &#64;AsyncCacheable(cacheName = "user#10m", key = "#id")
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AsyncCacheable {
+
+	/**
+	 * 缓存名称, 格式同 {@link AsyncCacheManager}
+	 */
+	String cacheName();
+
+	/**
+	 * SpEL 缓存 key, 为空时使用全部参数生成
+	 */
+	String key() default "";
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.support.NullValue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 基于 Caffeine AsyncCache 的非阻塞缓存, 并发加载由 Caffeine 合并
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CaffeineAsyncCacheFacade implements AsyncCacheFacade {
+
+	private final String name;
+
+	private final AsyncCache<Object, Object> cache;
+
+	public CaffeineAsyncCacheFacade(String name, AsyncCache<Object, Object> cache) {
+		this.name = name;
+		this.cache = cache;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 原生缓存
+	 * @return AsyncCache
+	 */
+	public AsyncCache<Object, Object> getNativeCache() {
+		return cache;
+	}
+
+	@Override
+	public CompletableFuture<Object> retrieve(Object key) {
+		CompletableFuture<Object> future = cache.getIfPresent(key);
+		return future == null ? CompletableFuture.completedFuture(null)
+				: future.thenApply(CaffeineAsyncCacheFacade::fromStoreValue);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return cache.get(key, (k, executor) -> valueLoader.get().thenApply(CaffeineAsyncCacheFacade::toStoreValue))
+			.thenApply(value -> (T) fromStoreValue(value));
+	}
+
+	@Override
+	public CompletableFuture<Void> put(Object key, Object value) {
+		cache.put(key, CompletableFuture.completedFuture(toStoreValue(value)));
+		return CompletableFuture.completedFuture(null);
+	}
+
+	@Override
+	public CompletableFuture<Void> evict(Object key) {
+		cache.synchronous().invalidate(key);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	@Override
+	public CompletableFuture<Void> clear() {
+		cache.synchronous().invalidateAll();
+		return CompletableFuture.completedFuture(null);
+	}
+
+	static Object toStoreValue(Object value) {
+		return value == null ? NullValue.INSTANCE : value;
+	}
+
+	static Object fromStoreValue(Object value) {
+		return value instanceof NullValue ? null : value;
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.async;
+
+import org.redisson.api.RMapCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 基于 Redisson RMapCache 异步命令的非阻塞缓存, 同一节点同一 key 并发加载只执行一次
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class RedissonAsyncCacheFacade implements AsyncCacheFacade {
+
+	private final RMapCache<Object, Object> mapCache;
+
+	private final long ttlMillis;
+
+	private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+	public RedissonAsyncCacheFacade(RMapCache<Object, Object> mapCache, long ttlMillis) {
+		this.mapCache = mapCache;
+		this.ttlMillis = ttlMillis;
+	}
+
+	@Override
+	public String getName() {
+		return mapCache.getName();
+	}
+
+	/**
+	 * 原生缓存
+	 * @return RMapCache
+	 */
+	public RMapCache<Object, Object> getNativeCache() {
+		return mapCache;
+	}
+
+	@Override
+	public CompletableFuture<Object> retrieve(Object key) {
+		return mapCache.getAsync(key).toCompletableFuture().thenApply(CaffeineAsyncCacheFacade::fromStoreValue);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		CompletableFuture<Object> promise = new CompletableFuture<>();
+		CompletableFuture<Object> existing = loading.putIfAbsent(key, promise);
+		if (existing != null) {
+			return existing.thenApply(value -> (T) value);
+		}
+		mapCache.getAsync(key).toCompletableFuture().thenCompose(value -> {
+			if (value != null) {
+				return CompletableFuture.completedFuture(CaffeineAsyncCacheFacade.fromStoreValue(value));
+			}
+			return valueLoader.get().thenCompose(loaded -> put(key, loaded).thenApply(v -> (Object) loaded));
+		}).whenComplete((value, ex) -> {
+			loading.remove(key, promise);
+			if (ex != null) {
+				promise.completeExceptionally(ex);
+			}
+			else {
+				promise.complete(value);
+			}
+		});
+		return promise.thenApply(value -> (T) value);
+	}
+
+	@Override
+	public CompletableFuture<Void> put(Object key, Object value) {
+		Object storeValue = CaffeineAsyncCacheFacade.toStoreValue(value);
+		if (ttlMillis > 0) {
+			return mapCache.fastPutAsync(key, storeValue, ttlMillis, TimeUnit.MILLISECONDS)
+				.toCompletableFuture()
+				.thenApply(v -> null);
+		}
+		return mapCache.fastPutAsync(key, storeValue).toCompletableFuture().thenApply(v -> null);
+	}
+
+	@Override
+	public CompletableFuture<Void> evict(Object key) {
+		return mapCache.fastRemoveAsync(key).toCompletableFuture().thenApply(v -> null);
+	}
+
+	@Override
+	public CompletableFuture<Void> clear() {
+		return mapCache.deleteAsync().toCompletableFuture().thenApply(v -> null);
+	}
+
+}
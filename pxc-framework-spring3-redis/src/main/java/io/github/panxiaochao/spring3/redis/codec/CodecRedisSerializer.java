@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>
+ * Redisson Codec 适配 RedisSerializer, 使 RedisTemplate 与 Redisson 使用同一种序列化
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+	private static final byte[] EMPTY_ARRAY = new byte[0];
+
+	private final Codec codec;
+
+	public CodecRedisSerializer(Codec codec) {
+		this.codec = codec;
+	}
+
+	@Override
+	public byte[] serialize(@Nullable Object value) throws SerializationException {
+		if (value == null) {
+			return EMPTY_ARRAY;
+		}
+		ByteBuf buf = null;
+		try {
+			buf = codec.getValueEncoder().encode(value);
+			return ByteBufUtil.getBytes(buf);
+		}
+		catch (Exception e) {
+			throw new SerializationException("Could not write value: " + e.getMessage(), e);
+		}
+		finally {
+			if (buf != null) {
+				buf.release();
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+		try {
+			return codec.getValueDecoder().decode(buf, new State());
+		}
+		catch (Exception e) {
+			throw new SerializationException("Could not read value: " + e.getMessage(), e);
+		}
+		finally {
+			buf.release();
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.codec;
+
+import io.github.panxiaochao.spring3.redis.constants.CompressionType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * 压缩包装 Codec, 序列化结果超过阈值时压缩
+ * </p>
+ * <pre>
+ * 格式: [1字节头][内容]
+ * 头 0: 未压缩, 内容为原始序列化结果
+ * 头 1: deflate, 内容为 [4字节原始长度][压缩数据]
+ * 头 2: lz4, 内容为 [4字节原始长度][压缩数据]
+ * 解码按头判断, 与当前配置的压缩类型无关
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CompressionCodec extends BaseCodec {
+
+	private static final byte HEADER_RAW = 0;
+
+	private static final byte HEADER_DEFLATE = 1;
+
+	private static final byte HEADER_LZ4 = 2;
+
+	private final Codec innerCodec;
+
+	private final CompressionType compression;
+
+	private final int threshold;
+
+	private final Encoder encoder = new Encoder() {
+		@Override
+		public ByteBuf encode(Object in) throws IOException {
+			ByteBuf raw = innerCodec.getValueEncoder().encode(in);
+			try {
+				int length = raw.readableBytes();
+				if (compression != CompressionType.none && length > threshold) {
+					byte[] source = ByteBufUtil.getBytes(raw);
+					byte[] compressed = compression == CompressionType.lz4 ? Lz4.compress(source) : deflate(source);
+					if (compressed.length < length) {
+						ByteBuf out = ByteBufAllocator.DEFAULT.buffer(5 + compressed.length);
+						out.writeByte(compression == CompressionType.lz4 ? HEADER_LZ4 : HEADER_DEFLATE);
+						out.writeInt(length);
+						out.writeBytes(compressed);
+						return out;
+					}
+				}
+				ByteBuf out = ByteBufAllocator.DEFAULT.buffer(1 + length);
+				out.writeByte(HEADER_RAW);
+				out.writeBytes(raw);
+				return out;
+			}
+			finally {
+				raw.release();
+			}
+		}
+	};
+
+	private final Decoder<Object> decoder = new Decoder<Object>() {
+		@Override
+		public Object decode(ByteBuf buf, State state) throws IOException {
+			byte header = buf.readByte();
+			if (header == HEADER_RAW) {
+				return innerCodec.getValueDecoder().decode(buf, state);
+			}
+			int length = buf.readInt();
+			byte[] compressed = ByteBufUtil.getBytes(buf);
+			buf.skipBytes(compressed.length);
+			byte[] source;
+			if (header == HEADER_DEFLATE) {
+				source = inflate(compressed, length);
+			}
+			else if (header == HEADER_LZ4) {
+				source = Lz4.decompress(compressed, length);
+			}
+			else {
+				throw new IOException("Unknown compression header: " + header);
+			}
+			ByteBuf raw = Unpooled.wrappedBuffer(source);
+			try {
+				return innerCodec.getValueDecoder().decode(raw, state);
+			}
+			finally {
+				raw.release();
+			}
+		}
+	};
+
+	public CompressionCodec(Codec innerCodec, CompressionType compression, int threshold) {
+		this.innerCodec = innerCodec;
+		this.compression = compression;
+		this.threshold = Math.max(0, threshold);
+	}
+
+	public CompressionCodec(ClassLoader classLoader, CompressionCodec codec) throws ReflectiveOperationException {
+		this(copy(classLoader, codec.innerCodec), codec.compression, codec.threshold);
+	}
+
+	@Override
+	public Decoder<Object> getValueDecoder() {
+		return decoder;
+	}
+
+	@Override
+	public Encoder getValueEncoder() {
+		return encoder;
+	}
+
+	/**
+	 * map key 不压缩, 直接使用内部 Codec
+	 */
+	@Override
+	public Decoder<Object> getMapKeyDecoder() {
+		return innerCodec.getMapKeyDecoder();
+	}
+
+	@Override
+	public Encoder getMapKeyEncoder() {
+		return innerCodec.getMapKeyEncoder();
+	}
+
+	@Override
+	public ClassLoader getClassLoader() {
+		return innerCodec.getClassLoader();
+	}
+
+	private static byte[] deflate(byte[] source) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(source);
+			deflater.finish();
+			byte[] buffer = new byte[source.length];
+			int size = 0;
+			while (!deflater.finished()) {
+				if (size == buffer.length) {
+					// 压缩后不比原始小, 直接放弃
+					return source;
+				}
+				size += deflater.deflate(buffer, size, buffer.length - size);
+			}
+			return Arrays.copyOf(buffer, size);
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] compressed, int length) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] source = new byte[length];
+			int size = 0;
+			while (size < length && !inflater.finished()) {
+				int n = inflater.inflate(source, size, length - size);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				size += n;
+			}
+			if (size != length) {
+				throw new IOException("Corrupted deflate value, expected " + length + " bytes but got " + size);
+			}
+			return source;
+		}
+		catch (DataFormatException e) {
+			throw new IOException(e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * lz4 单独放在内部类, 未引入 lz4-java 时不加载
+	 */
+	private static final class Lz4 {
+
+		private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+		private static byte[] compress(byte[] source) {
+			LZ4Compressor compressor = FACTORY.fastCompressor();
+			return compressor.compress(source);
+		}
+
+		private static byte[] decompress(byte[] compressed, int length) {
+			LZ4FastDecompressor decompressor = FACTORY.fastDecompressor();
+			return decompressor.decompress(compressed, length);
+		}
+
+	}
+
+}
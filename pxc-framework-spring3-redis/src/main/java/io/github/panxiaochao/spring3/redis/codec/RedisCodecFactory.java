@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.panxiaochao.spring3.redis.constants.CompressionType;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+
+/**
+ * <p>
+ * 按配置创建 Redisson Codec
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class RedisCodecFactory {
+
+	private RedisCodecFactory() {
+	}
+
+	/**
+	 * 创建 Codec
+	 * @param properties 序列化配置
+	 * @param objectMapper jackson 配置, json/smile/cbor 共用
+	 * @return Codec
+	 */
+	public static Codec create(Redisson3Properties.Codec properties, ObjectMapper objectMapper) {
+		Codec codec = switch (properties.getType()) {
+			case smile -> Smile.create(objectMapper);
+			case cbor -> Cbor.create(objectMapper);
+			case kryo -> new RegisteredKryo5Codec(RedisCodecFactory.class.getClassLoader(),
+					properties.getRegisteredClasses());
+			default -> new JsonJacksonCodec(objectMapper);
+		};
+		if (properties.getCompression() != null && properties.getCompression() != CompressionType.none) {
+			codec = new CompressionCodec(codec, properties.getCompression(), properties.getCompressThreshold());
+		}
+		return codec;
+	}
+
+	/**
+	 * 二进制格式单独放在内部类, 未引入对应 jackson-dataformat 时不加载
+	 */
+	private static final class Smile {
+
+		private static Codec create(ObjectMapper objectMapper) {
+			return new JsonJacksonCodec(objectMapper.copyWith(new SmileFactory()));
+		}
+
+	}
+
+	private static final class Cbor {
+
+		private static Codec create(ObjectMapper objectMapper) {
+			return new JsonJacksonCodec(objectMapper.copyWith(new CBORFactory()));
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.codec;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.redisson.codec.Kryo5Codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * 带类注册表的 Kryo5Codec, 注册类写入 id 代替完整类名, 未注册类仍按类名写入.
+ * </p>
+ * <pre>
+ * 注册 id 按注册顺序分配, 各节点顺序必须一致, 新增类只可在末尾追加
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class RegisteredKryo5Codec extends Kryo5Codec {
+
+	private final List<Class<?>> registeredClasses;
+
+	public RegisteredKryo5Codec(ClassLoader classLoader, List<Class<?>> registeredClasses) {
+		super(classLoader);
+		this.registeredClasses = new ArrayList<>(registeredClasses);
+	}
+
+	public RegisteredKryo5Codec(ClassLoader classLoader, RegisteredKryo5Codec codec) {
+		this(classLoader, codec.registeredClasses);
+	}
+
+	@Override
+	protected Kryo createKryo(ClassLoader classLoader, boolean useReferences) {
+		Kryo kryo = super.createKryo(classLoader, useReferences);
+		for (Class<?> clazz : registeredClasses) {
+			kryo.register(clazz);
+		}
+		return kryo;
+	}
+
+}
@@ -15,15 +15,36 @@
  */
 package io.github.panxiaochao.spring3.redis.config;
 
+import io.github.panxiaochao.spring3.redis.async.AsyncCacheInterceptor;
+import io.github.panxiaochao.spring3.redis.async.AsyncCacheManager;
+import io.github.panxiaochao.spring3.redis.async.AsyncCacheable;
 import io.github.panxiaochao.spring3.redis.constants.CacheManagerType;
 import io.github.panxiaochao.spring3.redis.manager.CustomizerCaffeineCacheManager;
 import io.github.panxiaochao.spring3.redis.manager.CustomizerRedissonSpringCacheManager;
+import io.github.panxiaochao.spring3.redis.manager.MultiLevelCacheManager;
+import io.github.panxiaochao.spring3.redis.manager.StampedeProtectedCacheManager;
+import io.github.panxiaochao.spring3.redis.metrics.MultiLevelCacheMetrics;
 import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.warmup.CacheSnapshotScheduler;
+import io.github.panxiaochao.spring3.redis.warmup.CacheWarmer;
+import io.github.panxiaochao.spring3.redis.warmup.CacheWarmupRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 
 /**
  * <p>
@@ -43,15 +64,123 @@ public class CacheManagerAutoConfiguration {
 	 */
 	@Bean
 	public CacheManager cacheManager(final Redisson3Properties redisson3Properties) {
+		CacheManager cacheManager = createCacheManager(redisson3Properties);
+		if (redisson3Properties.getStampede().isEnabled()) {
+			// 缓存击穿保护: 单飞加载 + XFetch 提前刷新
+			return new StampedeProtectedCacheManager(cacheManager, redisson3Properties.getStampede());
+		}
+		return cacheManager;
+	}
+
+	private CacheManager createCacheManager(Redisson3Properties redisson3Properties) {
 		if (CacheManagerType.redis.equals(redisson3Properties.getCacheType())) {
 			// 使用自定义 RedissonSpringCacheManager 缓存管理器
 			return new CustomizerRedissonSpringCacheManager();
 		}
 		else if (CacheManagerType.caffeine.equals(redisson3Properties.getCacheType())) {
 			// 使用自定义 CaffeineCacheManager 缓存管理器
-            return new CustomizerCaffeineCacheManager();
+            return new CustomizerCaffeineCacheManager(redisson3Properties.getCaffeine());
+		}
+		else if (CacheManagerType.multilevel.equals(redisson3Properties.getCacheType())) {
+			// 使用多级缓存管理器, caffeine 一级 + redis 二级
+			return new MultiLevelCacheManager(redisson3Properties.getMultiLevel(),
+					new CustomizerRedissonSpringCacheManager());
 		}
 		return new ConcurrentMapCacheManager();
 	}
 
+	/**
+	 * 非阻塞缓存管理器, 配合 @AsyncCacheable 使用
+	 * @return AsyncCacheManager
+	 */
+	@Bean
+	public AsyncCacheManager asyncCacheManager(final Redisson3Properties redisson3Properties) {
+		return new AsyncCacheManager(redisson3Properties.getCacheType());
+	}
+
+	/**
+	 * '@AsyncCacheable' 切面
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	static class AsyncCacheAdvisorConfiguration {
+
+		@Bean
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		public static Advisor asyncCacheAdvisor(ObjectProvider<AsyncCacheManager> asyncCacheManager) {
+			// 延迟获取, 避免 Advisor 过早初始化缓存管理器
+			AsyncCacheInterceptor interceptor = new AsyncCacheInterceptor(asyncCacheManager::getObject);
+			return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, AsyncCacheable.class, true),
+					interceptor);
+		}
+
+	}
+
+	/**
+	 * 引入 micrometer 时绑定缓存指标
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class CacheMetricsConfiguration {
+
+		@Bean
+		public SmartInitializingSingleton cacheMetricsBinder(ObjectProvider<CacheManager> cacheManagerProvider,
+				ObjectProvider<MeterRegistry> meterRegistryProvider) {
+			return () -> {
+				CacheManager cacheManager = cacheManagerProvider.getIfUnique();
+				if (cacheManager instanceof StampedeProtectedCacheManager stampedeProtectedCacheManager) {
+					cacheManager = stampedeProtectedCacheManager.getDelegate();
+				}
+				MeterRegistry meterRegistry = meterRegistryProvider.getIfUnique();
+				if (meterRegistry == null) {
+					return;
+				}
+				if (cacheManager instanceof MultiLevelCacheManager multiLevelCacheManager) {
+					multiLevelCacheManager
+						.addCacheCreatedCallback(cache -> MultiLevelCacheMetrics.bind(meterRegistry, cache));
+				}
+				else if (cacheManager instanceof CustomizerCaffeineCacheManager caffeineCacheManager) {
+					caffeineCacheManager.addCacheCreatedCallback(cache -> {
+						// 参数变更时同名缓存会重建, 先移除绑定在旧缓存上的指标
+						removeCacheMeters(meterRegistry, cache.getName());
+						CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), cache.getName());
+					});
+				}
+			};
+		}
+
+		private static void removeCacheMeters(MeterRegistry meterRegistry, String cacheName) {
+			meterRegistry.getMeters()
+				.stream()
+				.filter(meter -> meter.getId().getName().startsWith("cache.")
+						&& cacheName.equals(meter.getId().getTag("cache")))
+				.toList()
+				.forEach(meterRegistry::remove);
+		}
+
+	}
+
+	/**
+	 * 缓存预热, 开启快照时先从快照恢复
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "spring.redis.warmup", name = "enabled", havingValue = "true")
+	static class CacheWarmupConfiguration {
+
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.redis.warmup.snapshot", name = "enabled", havingValue = "true")
+		public CacheSnapshotScheduler cacheSnapshotScheduler(CacheManager cacheManager,
+				Redisson3Properties redisson3Properties) {
+			return new CacheSnapshotScheduler(cacheManager, redisson3Properties.getWarmup().getSnapshot());
+		}
+
+		@Bean
+		public CacheWarmupRunner cacheWarmupRunner(CacheManager cacheManager, ObjectProvider<CacheWarmer> cacheWarmers,
+				Redisson3Properties redisson3Properties, ObjectProvider<CacheSnapshotScheduler> cacheSnapshotScheduler) {
+			return new CacheWarmupRunner(cacheManager, cacheWarmers.orderedStream().toList(),
+					redisson3Properties.getWarmup(), cacheSnapshotScheduler.getIfAvailable());
+		}
+
+	}
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.config;
+
+import io.github.panxiaochao.spring3.redis.lock.DistributedLock;
+import io.github.panxiaochao.spring3.redis.lock.DistributedLockInterceptor;
+import io.github.panxiaochao.spring3.redis.lock.DistributedLockTemplate;
+import io.github.panxiaochao.spring3.redis.metrics.DistributedLockMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * <p>
+ * 分布式锁自动配置类
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@AutoConfiguration(after = Redisson3AutoConfiguration.class)
+@ConditionalOnWebApplication
+public class DistributedLockAutoConfiguration {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLockAutoConfiguration.class);
+
+	/**
+	 * 分布式锁模板
+	 * @return DistributedLockTemplate
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public DistributedLockTemplate distributedLockTemplate(
+			ObjectProvider<DistributedLockMetrics> distributedLockMetrics) {
+		DistributedLockTemplate distributedLockTemplate = new DistributedLockTemplate(
+				distributedLockMetrics.getIfAvailable());
+		LOGGER.info("配置[DistributedLockTemplate]成功！");
+		return distributedLockTemplate;
+	}
+
+	/**
+	 * '@DistributedLock' 切面, 排在事务切面之前, 保证事务提交后再释放锁
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor distributedLockAdvisor(ObjectProvider<DistributedLockTemplate> distributedLockTemplate) {
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+				new AnnotationMatchingPointcut(null, DistributedLock.class, true),
+				new DistributedLockInterceptor(distributedLockTemplate::getObject));
+		advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+		return advisor;
+	}
+
+	/**
+	 * 分布式锁指标, 引入 micrometer 时生效
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class DistributedLockMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public DistributedLockMetrics distributedLockMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+			return new DistributedLockMetrics(meterRegistry);
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.config;
+
+import io.github.panxiaochao.spring3.redis.message.MessageDispatcher;
+import io.github.panxiaochao.spring3.redis.message.StreamMessageTemplate;
+import io.github.panxiaochao.spring3.redis.message.TopicMessageTemplate;
+import io.github.panxiaochao.spring3.redis.metrics.RedisMessageMetrics;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>
+ * 发布/订阅批量发送与 Stream 消息自动配置类
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@AutoConfiguration(after = Redisson3AutoConfiguration.class)
+@ConditionalOnWebApplication
+@EnableConfigurationProperties({ Redisson3Properties.class })
+@ConditionalOnProperty(prefix = "spring.redis.message", name = "enabled", havingValue = "true")
+public class RedisMessageAutoConfiguration {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RedisMessageAutoConfiguration.class);
+
+	/**
+	 * 订阅消息分发器
+	 * @return MessageDispatcher
+	 */
+	@Bean
+	public MessageDispatcher messageDispatcher(Redisson3Properties redisson3Properties,
+			ObjectProvider<RedisMessageMetrics> redisMessageMetrics) {
+		return new MessageDispatcher(redisson3Properties.getMessage(), redisMessageMetrics.getIfAvailable());
+	}
+
+	/**
+	 * 批量发布/订阅模板
+	 * @return TopicMessageTemplate
+	 */
+	@Bean
+	public TopicMessageTemplate topicMessageTemplate(Redisson3Properties redisson3Properties,
+			MessageDispatcher messageDispatcher) {
+		TopicMessageTemplate topicMessageTemplate = new TopicMessageTemplate(redisson3Properties.getMessage(),
+				messageDispatcher);
+		RedissonUtil.INSTANCE().initTopicMessageTemplate(topicMessageTemplate);
+		LOGGER.info("配置[TopicMessageTemplate]成功！linger: {}, maxBatchSize: {}",
+				redisson3Properties.getMessage().getLinger(), redisson3Properties.getMessage().getMaxBatchSize());
+		return topicMessageTemplate;
+	}
+
+	/**
+	 * Stream 消息模板
+	 * @return StreamMessageTemplate
+	 */
+	@Bean
+	public StreamMessageTemplate streamMessageTemplate(Redisson3Properties redisson3Properties,
+			MessageDispatcher messageDispatcher) {
+		return new StreamMessageTemplate(redisson3Properties.getMessage().getStream(), messageDispatcher);
+	}
+
+	/**
+	 * 消息指标, 引入 micrometer 时生效
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class RedisMessageMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public RedisMessageMetrics redisMessageMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+			return new RedisMessageMetrics(meterRegistry);
+		}
+
+	}
+
+}
@@ -21,11 +21,17 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import io.github.panxiaochao.spring3.core.utils.JacksonUtil;
+import io.github.panxiaochao.spring3.redis.codec.CodecRedisSerializer;
+import io.github.panxiaochao.spring3.redis.codec.RedisCodecFactory;
+import io.github.panxiaochao.spring3.redis.constants.CompressionType;
+import io.github.panxiaochao.spring3.redis.constants.RedisCodecType;
+import io.github.panxiaochao.spring3.redis.manager.BucketNearCache;
 import io.github.panxiaochao.spring3.redis.mapper.KeyPrefixNameMapper;
 import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
 import lombok.RequiredArgsConstructor;
 import org.redisson.api.RedissonClient;
-import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.client.codec.Codec;
 import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
 import org.redisson.config.SentinelServersConfig;
@@ -35,6 +41,7 @@ import org.redisson.spring.starter.RedissonAutoConfigurationCustomizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -74,7 +81,11 @@ public class Redisson3AutoConfiguration {
 	public RedissonAutoConfigurationCustomizer redissonAutoConfigurationCustomizers() {
 		return config -> {
 			// 序列化模式
-			config.setCodec(new JsonJacksonCodec(JacksonUtil.objectMapper()));
+			config.setCodec(createCodec());
+			// 分布式锁看门狗超时时间
+			if (redisson3Properties.getLockWatchdogTimeout() != null) {
+				config.setLockWatchdogTimeout(redisson3Properties.getLockWatchdogTimeout().toMillis());
+			}
 			// 获取方法
 			Method singleServerMethod = ReflectionUtils.findMethod(Config.class, "getSingleServerConfig");
 			Method sentinelServersMethod = ReflectionUtils.findMethod(Config.class, "getSentinelServersConfig");
@@ -129,6 +140,17 @@ public class Redisson3AutoConfiguration {
 	public <T> RedisTemplate<String, T> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
 		RedisTemplate<String, T> template = new RedisTemplate<>();
 		template.setConnectionFactory(redisConnectionFactory);
+		if (!isDefaultCodec()) {
+			// 与 Redisson 使用同一种序列化
+			CodecRedisSerializer codecRedisSerializer = new CodecRedisSerializer(createCodec());
+			template.setKeySerializer(RedisSerializer.string());
+			template.setHashKeySerializer(RedisSerializer.string());
+			template.setValueSerializer(codecRedisSerializer);
+			template.setHashValueSerializer(codecRedisSerializer);
+			template.afterPropertiesSet();
+			LOGGER.info("配置[Redis -> RedisTemplate]成功！序列化: {}", redisson3Properties.getCodec().getType());
+			return template;
+		}
 		// 使用Jackson2JsonRedisSerialize 替换默认序列化(默认采用的是JDK序列化)
         Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(
 				Object.class);
@@ -149,9 +171,31 @@ public class Redisson3AutoConfiguration {
 		return template;
 	}
 
+	/**
+	 * RedissonUtil.get 近端缓存
+	 * @return BucketNearCache
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.redis.near-cache", name = "enabled", havingValue = "true")
+	public BucketNearCache bucketNearCache() {
+		BucketNearCache bucketNearCache = new BucketNearCache(redisson3Properties.getNearCache());
+		RedissonUtil.INSTANCE().initBucketNearCache(bucketNearCache);
+		LOGGER.info("配置[Redis -> BucketNearCache]成功！key: {}", redisson3Properties.getNearCache().getKeyPatterns());
+		return bucketNearCache;
+	}
+
 	@Bean
 	public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
 		return new StringRedisTemplate(redisConnectionFactory);
 	}
 
+	private Codec createCodec() {
+		return RedisCodecFactory.create(redisson3Properties.getCodec(), JacksonUtil.objectMapper());
+	}
+
+	private boolean isDefaultCodec() {
+		Redisson3Properties.Codec codec = redisson3Properties.getCodec();
+		return RedisCodecType.json.equals(codec.getType()) && CompressionType.none.equals(codec.getCompression());
+	}
+
 }
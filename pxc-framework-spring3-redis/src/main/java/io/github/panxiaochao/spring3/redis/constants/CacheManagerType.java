@@ -32,6 +32,10 @@ public enum CacheManagerType {
     /**
      * caffeine存储
      */
-    caffeine
+    caffeine,
+    /**
+     * 多级缓存: caffeine 本地一级 + redis 二级
+     */
+    multilevel
 
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.constants;
+
+/**
+ * <p>
+ * Redis 值压缩类型
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public enum CompressionType {
+
+    /**
+     * 不压缩（默认）
+     */
+    none,
+    /**
+     * jdk deflate
+     */
+    deflate,
+    /**
+     * lz4, 需引入 lz4-java
+     */
+    lz4
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 分布式锁注解, 应用于方法
+ * </p>
+ * <pre>
+ * 锁 key 格式: lock:[name]:[key], name 为空时使用 类名.方法名
+ * keys 多于一个时使用联锁, 按 key 排序后加锁, 避免不同调用方加锁顺序不同导致死锁
+ * 开启 fencing 后方法内可通过 {@link DistributedLockContext#getFencingToken()} 获取递增令牌
+ * 例子: &#64;DistributedLock(name = "order", keys = "#orderId", type = LockType.fair)
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Documented
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DistributedLock {
+
+	/**
+	 * 锁名称, 同时作为指标标签, 为空时使用 类名.方法名
+	 */
+	String name() default "";
+
+	/**
+	 * 锁Key, 支持 Spring EL 表达式, 例如 #id, #user.id, 多个时使用联锁
+	 */
+	String[] keys() default {};
+
+	/**
+	 * 锁类型
+	 */
+	LockType type() default LockType.reentrant;
+
+	/**
+	 * 最长等待时间
+	 */
+	long waitTime() default 3000;
+
+	/**
+	 * 持有时间, -1 表示由看门狗自动续期
+	 */
+	long leaseTime() default -1;
+
+	/**
+	 * 时间单位
+	 */
+	TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+	/**
+	 * 是否生成 fencing 令牌
+	 */
+	boolean fencing() default false;
+
+	/**
+	 * 获取锁失败提示信息
+	 */
+	String message() default "";
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+/**
+ * <p>
+ * 分布式锁上下文, 持有当前线程的 fencing 令牌
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class DistributedLockContext {
+
+	private static final ThreadLocal<Long> FENCING_TOKEN = new ThreadLocal<>();
+
+	private DistributedLockContext() {
+	}
+
+	/**
+	 * 当前线程持有锁的 fencing 令牌
+	 * @return 令牌, 未开启 fencing 或未持有锁时为 null
+	 */
+	public static Long getFencingToken() {
+		return FENCING_TOKEN.get();
+	}
+
+	static Long set(Long fencingToken) {
+		Long previous = FENCING_TOKEN.get();
+		if (fencingToken == null) {
+			FENCING_TOKEN.remove();
+		}
+		else {
+			FENCING_TOKEN.set(fencingToken);
+		}
+		return previous;
+	}
+
+}
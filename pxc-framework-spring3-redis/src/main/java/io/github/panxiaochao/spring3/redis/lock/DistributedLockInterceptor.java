@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+import io.github.panxiaochao.spring3.core.exception.ServerRuntimeException;
+import io.github.panxiaochao.spring3.core.ienums.IEnum;
+import io.github.panxiaochao.spring3.core.utils.StringPools;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * {@link DistributedLock} 拦截器
+ * </p>
+ * <pre>
+ * 锁 key 格式为: lock:[name]:[key], name 为空时使用 类名.方法名
+ * SpEL 表达式按方法缓存, 并开启 MIXED 编译模式, 热点方法编译为字节码执行
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class DistributedLockInterceptor extends CachedExpressionEvaluator implements MethodInterceptor {
+
+	/**
+	 * 锁 redis key
+	 */
+	private static final String LOCK_KEY = "lock:";
+
+	private final Supplier<DistributedLockTemplate> distributedLockTemplate;
+
+	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
+
+	private final Map<Method, Optional<DistributedLock>> annotationCache = new ConcurrentHashMap<>(64);
+
+	public DistributedLockInterceptor(Supplier<DistributedLockTemplate> distributedLockTemplate) {
+		super(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED,
+				DistributedLockInterceptor.class.getClassLoader())));
+		this.distributedLockTemplate = distributedLockTemplate;
+	}
+
+	@Override
+	@Nullable
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object target = invocation.getThis();
+		Class<?> targetClass = target != null ? AopUtils.getTargetClass(target)
+				: invocation.getMethod().getDeclaringClass();
+		Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+		DistributedLock distributedLock = annotationCache
+			.computeIfAbsent(method,
+					m -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(m, DistributedLock.class)))
+			.orElse(null);
+		if (distributedLock == null) {
+			return invocation.proceed();
+		}
+		String name = StringUtils.hasText(distributedLock.name()) ? distributedLock.name()
+				: targetClass.getName() + StringPools.DOT + method.getName();
+		LockOptions options = new LockOptions();
+		options.setName(name);
+		options.setKeys(buildKeys(distributedLock, name, method, targetClass, target, invocation.getArguments()));
+		options.setType(distributedLock.type());
+		options.setWaitTime(distributedLock.waitTime());
+		options.setLeaseTime(distributedLock.leaseTime());
+		options.setTimeUnit(distributedLock.timeUnit());
+		options.setFencing(distributedLock.fencing());
+		return distributedLockTemplate.get().execute(options, fencingToken -> invocation.proceed(), () -> {
+			String message = StringUtils.hasText(distributedLock.message()) ? distributedLock.message()
+					: DistributedLockErrorEnum.LOCK_ACQUIRE_ERROR.getMessage();
+			throw new ServerRuntimeException(DistributedLockErrorEnum.LOCK_ACQUIRE_ERROR, message);
+		});
+	}
+
+	private List<String> buildKeys(DistributedLock distributedLock, String name, Method method, Class<?> targetClass,
+			@Nullable Object target, Object[] args) {
+		String prefix = LOCK_KEY + name;
+		List<String> keys = new ArrayList<>(Math.max(1, distributedLock.keys().length));
+		if (distributedLock.keys().length == 0) {
+			keys.add(prefix);
+			return keys;
+		}
+		EvaluationContext evaluationContext = new MethodBasedEvaluationContext(target, method, args,
+				getParameterNameDiscoverer());
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, targetClass);
+		for (String expression : distributedLock.keys()) {
+			Object value;
+			try {
+				value = getExpression(keyCache, elementKey, expression).getValue(evaluationContext);
+			}
+			catch (Exception ex) {
+				throw new ServerRuntimeException(DistributedLockErrorEnum.LOCK_PARSE_EXPRESSION_ERROR,
+						DistributedLockErrorEnum.LOCK_PARSE_EXPRESSION_ERROR.getMessage() + expression);
+			}
+			keys.add(prefix + StringPools.COLON + value);
+		}
+		return keys;
+	}
+
+	/**
+	 * 分布式锁错误码
+	 */
+	@Getter
+	@AllArgsConstructor
+	enum DistributedLockErrorEnum implements IEnum<Integer> {
+
+		/**
+		 * 获取锁失败，请稍后再试
+		 */
+		LOCK_ACQUIRE_ERROR(6101, "操作正在处理中，请稍后再试!"),
+		/**
+		 * 锁KEY解析异常
+		 */
+		LOCK_PARSE_EXPRESSION_ERROR(6102, "锁KEY解析异常!");
+
+		private final Integer code;
+
+		private final String message;
+
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+import io.github.panxiaochao.spring3.redis.metrics.DistributedLockMetrics;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import io.github.panxiaochao.spring3.redis.utils.function.RLockTryFail;
+import io.github.panxiaochao.spring3.redis.utils.function.RLockTrySuccess;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * 分布式锁模板, 支持可重入/公平/读写锁, 多个 key 时按排序后的联锁获取.
+ * </p>
+ * <pre>
+ * fencing 令牌: 获取锁后对 lock:fence:[name] 自增, 单调递增.
+ * 持有时间超过 leaseTime 或进程停顿导致锁被其他节点获取时, 受保护资源可通过
+ * {@link #validateFencingToken(String, long)} 拒绝旧令牌的写入.
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class DistributedLockTemplate {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLockTemplate.class);
+
+	/**
+	 * fencing 令牌计数 key 前缀
+	 */
+	private static final String FENCE_KEY_PREFIX = "lock:fence:";
+
+	/**
+	 * 令牌不小于资源已记录的令牌时写入并返回 true
+	 */
+	private static final String VALIDATE_FENCING_TOKEN_SCRIPT = "local current = redis.call('get', KEYS[1]) "
+			+ "if current == false or tonumber(ARGV[1]) >= tonumber(current) then "
+			+ "redis.call('set', KEYS[1], ARGV[1]) return 1 end return 0";
+
+	@Nullable
+	private final DistributedLockMetrics distributedLockMetrics;
+
+	public DistributedLockTemplate() {
+		this(null);
+	}
+
+	public DistributedLockTemplate(@Nullable DistributedLockMetrics distributedLockMetrics) {
+		this.distributedLockMetrics = distributedLockMetrics;
+	}
+
+	/**
+	 * 加锁执行
+	 * @param options 锁参数
+	 * @param callback 持有锁时执行
+	 * @param fail 获取锁失败处理, 可抛出异常中断
+	 * @return callback 结果, 获取锁失败时为 null
+	 * @param <T> 结果类型
+	 * @throws Throwable callback 执行出错
+	 */
+	@Nullable
+	public <T> T execute(LockOptions options, LockCallback<T> callback, RLockTryFail fail) throws Throwable {
+		RLock lock = obtainLock(options.getType(), options.getKeys());
+		long start = System.nanoTime();
+		boolean acquired = tryLock(lock, options);
+		long acquiredAt = System.nanoTime();
+		if (distributedLockMetrics != null) {
+			distributedLockMetrics.recordWait(options.getName(), options.getType(), acquired, acquiredAt - start);
+		}
+		if (!acquired) {
+			fail.apply();
+			return null;
+		}
+		try {
+			Long fencingToken = options.isFencing() ? nextFencingToken(options.getName()) : null;
+			Long previous = DistributedLockContext.set(fencingToken);
+			try {
+				return callback.doInLock(fencingToken);
+			}
+			finally {
+				DistributedLockContext.set(previous);
+			}
+		}
+		finally {
+			unlock(lock, options);
+			if (distributedLockMetrics != null) {
+				distributedLockMetrics.recordHeld(options.getName(), options.getType(), System.nanoTime() - acquiredAt);
+			}
+		}
+	}
+
+	/**
+	 * 加锁执行, 与 {@link RedissonUtil} 回调方式一致
+	 * @param options 锁参数
+	 * @param success 获取锁成功处理
+	 * @param fail 获取锁失败处理
+	 * @return 是否获取锁成功
+	 */
+	public boolean execute(LockOptions options, RLockTrySuccess success, RLockTryFail fail) {
+		boolean[] acquired = new boolean[1];
+		try {
+			execute(options, fencingToken -> {
+				acquired[0] = true;
+				success.apply();
+				return null;
+			}, fail);
+		}
+		catch (RuntimeException | Error ex) {
+			throw ex;
+		}
+		catch (Throwable ex) {
+			// RLockTrySuccess 不会抛出受检异常
+			throw new IllegalStateException(ex);
+		}
+		return acquired[0];
+	}
+
+	/**
+	 * 获取锁, 多个 key 时按 key 排序去重后组成联锁, 保证所有调用方加锁顺序一致
+	 * @param type 锁类型
+	 * @param keys 完整锁 key
+	 * @return RLock
+	 */
+	public RLock obtainLock(LockType type, Collection<String> keys) {
+		Assert.notEmpty(keys, "lock keys must not be empty");
+		if (keys.size() == 1) {
+			return obtainLock(type, keys.iterator().next());
+		}
+		RLock[] locks = new TreeSet<>(keys).stream().map(key -> obtainLock(type, key)).toArray(RLock[]::new);
+		return locks.length == 1 ? locks[0] : RedissonUtil.INSTANCE().ofRedissonClient().getMultiLock(locks);
+	}
+
+	/**
+	 * 获取单个锁
+	 * @param type 锁类型
+	 * @param key 完整锁 key
+	 * @return RLock
+	 */
+	public RLock obtainLock(LockType type, String key) {
+		RedissonUtil redissonUtil = RedissonUtil.INSTANCE();
+		return switch (type) {
+			case fair -> redissonUtil.rFairLock(key);
+			case read -> redissonUtil.rReadWriteLock(key).readLock();
+			case write -> redissonUtil.rReadWriteLock(key).writeLock();
+			default -> redissonUtil.rLock(key);
+		};
+	}
+
+	/**
+	 * 生成下一个 fencing 令牌
+	 * @param name 锁名称
+	 * @return 令牌
+	 */
+	public long nextFencingToken(String name) {
+		return RedissonUtil.INSTANCE().ofRedissonClient().getAtomicLong(FENCE_KEY_PREFIX + name).incrementAndGet();
+	}
+
+	/**
+	 * 校验并记录资源的 fencing 令牌, 令牌小于资源已记录的令牌时返回 false, 调用方应放弃写入
+	 * @param resource 资源 key
+	 * @param fencingToken 令牌
+	 * @return 是否有效
+	 */
+	public boolean validateFencingToken(String resource, long fencingToken) {
+		List<Object> keys = Collections.singletonList(resource);
+		Boolean valid = RedissonUtil.INSTANCE()
+			.ofRedissonClient()
+			.getScript(StringCodec.INSTANCE)
+			.eval(RScript.Mode.READ_WRITE, VALIDATE_FENCING_TOKEN_SCRIPT, RScript.ReturnType.BOOLEAN, keys,
+					String.valueOf(fencingToken));
+		return Boolean.TRUE.equals(valid);
+	}
+
+	private static boolean tryLock(RLock lock, LockOptions options) {
+		try {
+			return lock.tryLock(options.getWaitTime(), options.getLeaseTime(), options.getTimeUnit());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			LOGGER.warn("获取锁 {} 被中断", options.getKeys());
+			return false;
+		}
+	}
+
+	private static void unlock(RLock lock, LockOptions options) {
+		try {
+			lock.unlock();
+		}
+		catch (IllegalMonitorStateException ex) {
+			// 持有时间超过 leaseTime, 锁已自动释放, 可能已被其他节点获取
+			LOGGER.warn("释放锁 {} 时已不再持有, 持有时间超过 leaseTime: {} {}", options.getKeys(), options.getLeaseTime(),
+					options.getTimeUnit());
+		}
+	}
+
+}
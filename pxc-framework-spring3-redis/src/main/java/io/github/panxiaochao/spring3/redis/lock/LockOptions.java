@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 分布式锁参数
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@ToString
+public class LockOptions {
+
+	/**
+	 * 锁名称, 作为指标标签, 不要包含业务 id
+	 */
+	private String name = "default";
+
+	/**
+	 * 完整锁 key, 多个时使用联锁
+	 */
+	private List<String> keys = new ArrayList<>();
+
+	/**
+	 * 锁类型
+	 */
+	private LockType type = LockType.reentrant;
+
+	/**
+	 * 最长等待时间
+	 */
+	private long waitTime = 3000;
+
+	/**
+	 * 持有时间, -1 表示由看门狗自动续期
+	 */
+	private long leaseTime = -1;
+
+	/**
+	 * 时间单位
+	 */
+	private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+
+	/**
+	 * 是否生成 fencing 令牌
+	 */
+	private boolean fencing = false;
+
+	/**
+	 * 创建参数
+	 * @param name 锁名称
+	 * @param keys 完整锁 key
+	 * @return LockOptions
+	 */
+	public static LockOptions of(String name, String... keys) {
+		LockOptions lockOptions = new LockOptions();
+		lockOptions.setName(name);
+		lockOptions.setKeys(new ArrayList<>(List.of(keys)));
+		return lockOptions;
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.lock;
+
+/**
+ * <p>
+ * 分布式锁类型
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public enum LockType {
+
+    /**
+     * 可重入锁（默认）
+     */
+    reentrant,
+    /**
+     * 公平锁, 按请求顺序获取, 减少竞争下的长尾等待
+     */
+    fair,
+    /**
+     * 读锁, 读读不互斥
+     */
+    read,
+    /**
+     * 写锁
+     */
+    write
+
+}
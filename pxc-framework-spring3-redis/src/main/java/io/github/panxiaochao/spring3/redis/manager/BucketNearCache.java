@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.StatusListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.NullValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * RBucket 近端缓存, RedissonUtil.get 命中 keyPatterns 的 key 从本地读取.
+ * </p>
+ * <pre>
+ * 1、RedissonUtil 的写入、删除、过期操作先失效本地, 再通过 RTopic 广播其他节点失效
+ * 2、订阅建立(包括断线重连)时清空本地, 避免断线期间丢失失效消息
+ * 3、本地 ttl 兜底绕过 RedissonUtil 的写入
+ * 4、加载与失效在同一 key 上互斥, 失效不会被并发加载的旧值覆盖
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class BucketNearCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BucketNearCache.class);
+
+	private static final String CACHE_NAME = "bucket";
+
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private final Redisson3Properties.NearCache nearCache;
+
+	private final String[] keyPatterns;
+
+	private final Cache<String, Object> cache;
+
+	private volatile RTopic topic;
+
+	public BucketNearCache(Redisson3Properties.NearCache nearCache) {
+		this.nearCache = nearCache;
+		this.keyPatterns = nearCache.getKeyPatterns().toArray(new String[0]);
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(nearCache.getMaximumSize())
+			.expireAfterWrite(nearCache.getTtl())
+			.build();
+	}
+
+	/**
+	 * key 是否使用近端缓存
+	 * @param key key
+	 * @return true 使用
+	 */
+	public boolean matches(String key) {
+		return this.keyPatterns.length > 0 && PatternMatchUtils.simpleMatch(this.keyPatterns, key);
+	}
+
+	/**
+	 * 读取, 未命中时调用 loader 读取 Redis
+	 * @param key key
+	 * @param loader 读取 Redis
+	 * @return 值
+	 */
+	@Nullable
+	public Object get(String key, Function<String, Object> loader) {
+		ensureSubscribed();
+		Object value = this.cache.get(key, k -> {
+			Object loaded = loader.apply(k);
+			return loaded == null ? NullValue.INSTANCE : loaded;
+		});
+		return value == NullValue.INSTANCE ? null : value;
+	}
+
+	/**
+	 * 失效本地并广播
+	 * @param key key, 为 null 表示清空
+	 */
+	public void invalidate(@Nullable String key) {
+		invalidateLocal(key);
+		ensureSubscribed().publishAsync(new CacheInvalidationMessage(this.instanceId, CACHE_NAME, key));
+	}
+
+	/**
+	 * 本地条数
+	 * @return 条数
+	 */
+	public long size() {
+		return this.cache.estimatedSize();
+	}
+
+	private void invalidateLocal(@Nullable String key) {
+		if (key == null) {
+			this.cache.invalidateAll();
+		}
+		else {
+			this.cache.invalidate(key);
+		}
+	}
+
+	/**
+	 * 订阅失效消息, 首次读写时订阅
+	 */
+	private RTopic ensureSubscribed() {
+		RTopic topic = this.topic;
+		if (topic != null) {
+			return topic;
+		}
+		synchronized (this) {
+			topic = this.topic;
+			if (topic == null) {
+				topic = RedissonUtil.INSTANCE().ofRedissonClient().getTopic(this.nearCache.getTopic());
+				topic.addListener(CacheInvalidationMessage.class, (channel, message) -> {
+					if (!this.instanceId.equals(message.getSourceId())) {
+						invalidateLocal(message.getKey());
+					}
+				});
+				topic.addListener(new StatusListener() {
+					@Override
+					public void onSubscribe(String channel) {
+						// 首次订阅或重连, 期间的失效消息可能丢失
+						LOGGER.debug("近端缓存订阅 [{}] 建立, 清空本地", channel);
+						BucketNearCache.this.cache.invalidateAll();
+					}
+
+					@Override
+					public void onUnsubscribe(String channel) {
+						BucketNearCache.this.cache.invalidateAll();
+					}
+				});
+				this.topic = topic;
+				LOGGER.info("配置[BucketNearCache]成功！失效通道: {}", this.nearCache.getTopic());
+			}
+		}
+		return topic;
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>
+ * 默认缓存权重: 集合、Map、数组按元素个数计算, 其他对象权重为 1
+ * </p>
+ * <pre>
+ * 配合 maximumWeight 使用时, maximumWeight 即为缓存的最大元素总数, 适合缓存查询列表
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+	@Override
+	public int weigh(Object key, Object value) {
+		int weight;
+		if (value instanceof Collection<?> collection) {
+			weight = collection.size();
+		}
+		else if (value instanceof Map<?, ?> map) {
+			weight = map.size();
+		}
+		else if (value != null && value.getClass().isArray()) {
+			weight = Array.getLength(value);
+		}
+		else {
+			weight = 1;
+		}
+		return Math.max(weight, 1);
+	}
+
+}
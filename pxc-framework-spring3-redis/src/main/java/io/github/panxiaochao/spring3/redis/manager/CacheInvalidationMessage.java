@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * 本地缓存失效消息, 多级缓存一级缓存和 RBucket 近端缓存共用
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 发送节点id, 本节点发送的消息不处理
+	 */
+	private String sourceId;
+
+	/**
+	 * 缓存名称
+	 */
+	private String cacheName;
+
+	/**
+	 * 缓存key 的字符串形式, 为 null 表示清空整个缓存. 不直接传原始 key, 编解码后 Long 会变成 Integer 导致匹配不上
+	 */
+	private String key;
+
+}
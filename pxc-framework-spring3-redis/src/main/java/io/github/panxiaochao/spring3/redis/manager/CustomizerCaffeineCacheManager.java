@@ -15,9 +15,13 @@
  */
 package io.github.panxiaochao.spring3.redis.manager;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
 import io.github.panxiaochao.spring3.core.utils.StringPools;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
 import org.springframework.boot.convert.DurationStyle;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -30,9 +34,12 @@ import org.springframework.util.StringUtils;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -42,9 +49,19 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * 重写源码：{@link org.springframework.cache.caffeine.CaffeineCacheManager}
  * </p>
  * <pre>
- * key格式为: cacheNames#ttl
- * ttl 过期时间 如果设置为0则不过期 默认为0
- * 例子: test、test#60s
+ * key格式为: cacheNames#ttl#maxIdleTime#maxSize#spec, 前四段与 redis、多级缓存一致
+ * ttl 过期时间 如果设置为0则不过期, 未设置时取配置的 spec, 默认不过期
+ * maxIdleTime 最长空闲时间(expireAfterAccess), 0或未设置时取配置的 spec
+ * maxSize 最大条数, 0或未设置时取配置的 spec
+ * spec 其余 CaffeineSpec 参数, 逗号隔开, 例如 softValues,maximumWeight=10000
+ * 例子: test、test#60s、test#0#5m#1000、test#10m#0#0#softValues
+ *
+ * 参数优先级: cacheName 参数 &gt; spring.redis.caffeine.specs.[cacheName] &gt; spring.redis.caffeine.spec
+ * 带参数的缓存未配置容量时使用 {@link #PARAMETERIZED_DEFAULT_SPEC}, 不带参数的缓存默认不限制条数、不过期
+ * maximumWeight 使用 {@link #setWeigher} 设置的权重, 默认 {@link CacheEntryWeigher}
+ * refreshAfterWrite 需要通过 {@link #setCacheLoader} 设置 CacheLoader
+ * 只配置 ttl(expireAfterWrite) 或只配置 maxIdleTime(expireAfterAccess) 时使用可变过期策略(expireAfter),
+ * 快照恢复时按剩余时间写入; 两者同时配置时使用固定过期策略, 快照恢复后重新计时
  *</pre>
  *
  * @author Lypxc
@@ -52,7 +69,46 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class CustomizerCaffeineCacheManager implements CacheManager {
 
-	private Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
+	/**
+	 * 默认参数, 为空: 不带参数的缓存不限制条数、不过期
+	 */
+	public static final String DEFAULT_SPEC = "";
+
+	/**
+	 * 带参数(cacheName#ttl...)的缓存的默认容量, 与原 name#ttl 创建方式一致, 可被配置覆盖
+	 */
+	public static final String PARAMETERIZED_DEFAULT_SPEC = "initialCapacity=100,maximumSize=500";
+
+	private static final String EXPIRE_AFTER_WRITE = "expireAfterWrite";
+
+	private static final String EXPIRE_AFTER_ACCESS = "expireAfterAccess";
+
+	private static final String MAXIMUM_SIZE = "maximumSize";
+
+	private static final String MAXIMUM_WEIGHT = "maximumWeight";
+
+	private static final String REFRESH_AFTER_WRITE = "refreshAfterWrite";
+
+	private static final String RECORD_STATS = "recordStats";
+
+	/**
+	 * 通过 setCaffeine 指定的 builder, 只对无参数且未单独配置的缓存生效
+	 */
+	@Nullable
+	private Caffeine<Object, Object> cacheBuilder;
+
+	private String defaultSpec = DEFAULT_SPEC;
+
+	private final Map<String, String> cacheSpecs = new ConcurrentHashMap<>(16);
+
+	private boolean recordStats = true;
+
+	private Weigher<Object, Object> weigher = new CacheEntryWeigher();
+
+	@Nullable
+	private CacheLoader<Object, Object> cacheLoader;
+
+	private final List<Consumer<CaffeineCache>> cacheCreatedCallbacks = new CopyOnWriteArrayList<>();
 
 	private boolean allowNullValues = true;
 
@@ -62,6 +118,11 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 
 	private final Collection<String> customCacheNames = new CopyOnWriteArrayList<>();
 
+	/**
+	 * cacheName -> 创建时的完整名称(带参数), 快照恢复时按原参数重建
+	 */
+	private final Map<String, String> cacheFullNames = new ConcurrentHashMap<>(16);
+
 	/**
 	 * Construct a dynamic CaffeineCacheManager, lazily creating cache instances as they
 	 * are being requested.
@@ -69,6 +130,16 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 	public CustomizerCaffeineCacheManager() {
 	}
 
+	/**
+	 * 按配置创建
+	 * @param caffeine caffeine 配置
+	 */
+	public CustomizerCaffeineCacheManager(Redisson3Properties.Caffeine caffeine) {
+		this.defaultSpec = caffeine.getSpec() == null ? "" : caffeine.getSpec();
+		this.cacheSpecs.putAll(caffeine.getSpecs());
+		this.recordStats = caffeine.isRecordStats();
+	}
+
 	/**
 	 * Specify the set of cache names for this CacheManager's 'static' mode.
 	 * <p>
@@ -122,6 +193,60 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 		doSetCaffeine(Caffeine.from(cacheSpecification));
 	}
 
+	/**
+	 * 设置单个缓存的 CaffeineSpec 参数, 覆盖默认参数
+	 * @param cacheName 缓存名称
+	 * @param cacheSpecification CaffeineSpec 参数
+	 */
+	public void setCacheSpecification(String cacheName, String cacheSpecification) {
+		this.cacheSpecs.put(cacheName, cacheSpecification);
+	}
+
+	/**
+	 * 设置 maximumWeight 使用的权重计算
+	 * @param weigher 权重计算
+	 */
+	public void setWeigher(Weigher<Object, Object> weigher) {
+		Assert.notNull(weigher, "Weigher must not be null");
+		this.weigher = weigher;
+		refreshCommonCaches();
+	}
+
+	/**
+	 * 设置 CacheLoader, 设置后创建 LoadingCache, refreshAfterWrite 需要
+	 * @param cacheLoader CacheLoader
+	 */
+	public void setCacheLoader(CacheLoader<Object, Object> cacheLoader) {
+		if (!ObjectUtils.nullSafeEquals(this.cacheLoader, cacheLoader)) {
+			this.cacheLoader = cacheLoader;
+			refreshCommonCaches();
+		}
+	}
+
+	/**
+	 * 是否记录命中率等统计, 默认 true
+	 * @param recordStats recordStats
+	 */
+	public void setRecordStats(boolean recordStats) {
+		if (this.recordStats != recordStats) {
+			this.recordStats = recordStats;
+			refreshCommonCaches();
+		}
+	}
+
+	/**
+	 * 注册缓存创建回调, 用于指标绑定等, 已创建的缓存立即回调
+	 * @param callback 回调
+	 */
+	public void addCacheCreatedCallback(Consumer<CaffeineCache> callback) {
+		this.cacheCreatedCallbacks.add(callback);
+		this.cacheMap.values().forEach(cache -> {
+			if (cache instanceof CaffeineCache caffeineCache) {
+				callback.accept(caffeineCache);
+			}
+		});
+	}
+
 	private void doSetCaffeine(Caffeine<Object, Object> cacheBuilder) {
 		if (!ObjectUtils.nullSafeEquals(this.cacheBuilder, cacheBuilder)) {
 			this.cacheBuilder = cacheBuilder;
@@ -164,18 +289,25 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 		name = array[0];
 		Cache cache = this.cacheMap.get(name);
 		if (cache == null && this.dynamic) {
-			if (array.length > 1) {
-				long mills = DurationStyle.detectAndParse(array[1]).toMillis();
-				cache = this.cacheMap.computeIfAbsent(name,
-                        str -> this.adaptCaffeineCache(str, createNativeCaffeineCache(mills, 100, 500)));
-			}
-			else {
-				cache = this.cacheMap.computeIfAbsent(name, this::createCaffeineCache);
-			}
+			cache = this.cacheMap.computeIfAbsent(name, str -> {
+				if (array.length > 1) {
+					this.cacheFullNames.put(str, String.join(StringPools.HASH, array));
+				}
+				return createCaffeineCache(str);
+			});
 		}
 		return cache;
 	}
 
+	/**
+	 * 获取缓存创建时的完整名称, 例如 test#60s, 未带参数时返回 name
+	 * @param name cacheName
+	 * @return 完整名称
+	 */
+	public String getCacheFullName(String name) {
+		return this.cacheFullNames.getOrDefault(name, name);
+	}
+
 	/**
 	 * Register the given native Caffeine Cache instance with this cache manager, adapting
 	 * it to Spring's cache API for exposure through {@link #getCache}. Any number of such
@@ -196,7 +328,9 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 	 */
 	public void registerCustomCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
 		this.customCacheNames.add(name);
-		this.cacheMap.put(name, adaptCaffeineCache(name, cache));
+		Cache adapted = adaptCaffeineCache(name, cache);
+		this.cacheMap.put(name, adapted);
+		notifyCacheCreated(adapted);
 	}
 
 	/**
@@ -226,37 +360,126 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 	 * @see #createNativeCaffeineCache
 	 */
 	protected Cache createCaffeineCache(String name) {
-        return adaptCaffeineCache(name, createNativeCaffeineCache());
+		Cache cache = adaptCaffeineCache(name, createNativeCaffeineCache(name));
+		notifyCacheCreated(cache);
+		return cache;
 	}
 
 	/**
 	 * Build a common Caffeine Cache instance for the specified cache name, using the
-     * common Caffeine configuration specified on this cache manager, default expire 1
-     * minute.
+	 * merged spec of this cache manager and the parameters in the full cache name.
+	 * @param name the name of the cache
 	 * @return the native Caffeine Cache instance
 	 * @see #createCaffeineCache
 	 */
-    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache() {
-        return this.cacheBuilder
-                // 设置过期时间
-                .expireAfterWrite(Duration.ofSeconds(60))
-                // 初始化缓存空间大小
-                .initialCapacity(100)
-                // 最大的缓存条数
-                .maximumSize(500)
-                .build();
-    }
-
-    private com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(long milliseconds,
-                                                                                               int initialCapacity, long maximumSize) {
-        return Caffeine.newBuilder()
-                // 设置过期时间
-                .expireAfterWrite(Duration.ofMillis(milliseconds))
-                // 初始化缓存空间大小
-                .initialCapacity(initialCapacity)
-                // 最大的缓存条数
-                .maximumSize(maximumSize)
-                .build();
+	protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+		Caffeine<Object, Object> builder = createCaffeine(name);
+		return this.cacheLoader != null ? builder.build(this.cacheLoader) : builder.build();
+	}
+
+	/**
+	 * 合并参数创建 builder
+	 */
+	private Caffeine<Object, Object> createCaffeine(String name) {
+		String[] array = StringUtils.delimitedListToStringArray(getCacheFullName(name), StringPools.HASH);
+		String cacheSpec = this.cacheSpecs.get(name);
+		if (this.cacheBuilder != null && cacheSpec == null && array.length == 1) {
+			return this.cacheBuilder;
+		}
+		Map<String, String> spec = array.length > 1 ? parseSpec(PARAMETERIZED_DEFAULT_SPEC) : new LinkedHashMap<>();
+		Map<String, String> configured = parseSpec(this.defaultSpec);
+		configured.putAll(parseSpec(cacheSpec));
+		if (array.length > 4) {
+			configured.putAll(parseSpec(array[4]));
+		}
+		if (configured.containsKey(MAXIMUM_WEIGHT)) {
+			spec.remove(MAXIMUM_SIZE);
+		}
+		spec.putAll(configured);
+		Duration ttl = array.length > 1 && StringUtils.hasText(array[1]) ? DurationStyle.detectAndParse(array[1]) : null;
+		Duration maxIdle = array.length > 2 && StringUtils.hasText(array[2]) ? DurationStyle.detectAndParse(array[2])
+				: Duration.ZERO;
+		long maxSize = array.length > 3 && StringUtils.hasText(array[3]) ? Long.parseLong(array[3].trim()) : 0;
+		// 过期参数统一由 builder 设置, 便于使用可变过期策略
+		Duration specAfterWrite = specDuration(spec.remove(EXPIRE_AFTER_WRITE));
+		Duration specAfterAccess = specDuration(spec.remove(EXPIRE_AFTER_ACCESS));
+		Duration afterWrite = ttl != null ? ttl : specAfterWrite;
+		Duration afterAccess = !maxIdle.isZero() ? maxIdle : specAfterAccess;
+		if (maxSize > 0) {
+			spec.remove(MAXIMUM_SIZE);
+			spec.remove(MAXIMUM_WEIGHT);
+		}
+		if (this.recordStats) {
+			spec.put(RECORD_STATS, null);
+		}
+		if (spec.containsKey(REFRESH_AFTER_WRITE) && this.cacheLoader == null) {
+			throw new IllegalStateException(
+					"Cache [" + name + "] uses refreshAfterWrite, which requires a CacheLoader, see setCacheLoader");
+		}
+		Caffeine<Object, Object> builder = spec.isEmpty() ? Caffeine.newBuilder() : Caffeine.from(toSpec(spec));
+		boolean hasAfterWrite = afterWrite != null && afterWrite.toMillis() > 0;
+		boolean hasAfterAccess = afterAccess != null && afterAccess.toMillis() > 0;
+		if (hasAfterWrite && hasAfterAccess) {
+			builder.expireAfterWrite(afterWrite).expireAfterAccess(afterAccess);
+		}
+		else if (hasAfterWrite) {
+			builder.expireAfter(new FixedDurationExpiry(afterWrite, false));
+		}
+		else if (hasAfterAccess) {
+			builder.expireAfter(new FixedDurationExpiry(afterAccess, true));
+		}
+		if (maxSize > 0) {
+			builder.maximumSize(maxSize);
+		}
+		if (spec.containsKey(MAXIMUM_WEIGHT)) {
+			builder.weigher(this.weigher);
+		}
+		return builder;
+	}
+
+	/**
+	 * 解析 CaffeineSpec 为有序 Map, 无值的参数 value 为 null
+	 */
+	private static Map<String, String> parseSpec(@Nullable String spec) {
+		Map<String, String> map = new LinkedHashMap<>();
+		if (!StringUtils.hasText(spec)) {
+			return map;
+		}
+		for (String option : StringUtils.tokenizeToStringArray(spec, StringPools.COMMA)) {
+			int index = option.indexOf('=');
+			if (index < 0) {
+				map.put(option, null);
+			}
+			else {
+				map.put(option.substring(0, index).trim(), option.substring(index + 1).trim());
+			}
+		}
+		return map;
+	}
+
+	@Nullable
+	private static Duration specDuration(@Nullable String value) {
+		return StringUtils.hasText(value) ? DurationStyle.detectAndParse(value) : null;
+	}
+
+	private static String toSpec(Map<String, String> spec) {
+		StringBuilder builder = new StringBuilder();
+		spec.forEach((key, value) -> {
+			if (builder.length() > 0) {
+				builder.append(',');
+			}
+			builder.append(key);
+			if (value != null) {
+				builder.append('=').append(value);
+			}
+		});
+		return builder.toString();
+	}
+
+	private void notifyCacheCreated(Cache cache) {
+		if (cache instanceof CaffeineCache caffeineCache) {
+			this.cacheCreatedCallbacks.forEach(callback -> callback.accept(caffeineCache));
+		}
 	}
 
 	/**
@@ -270,4 +493,38 @@ public class CustomizerCaffeineCacheManager implements CacheManager {
 		}
 	}
 
+	/**
+	 * 固定时长的可变过期策略, 等价于 expireAfterWrite 或 expireAfterAccess, 支持按条目设置剩余时间
+	 */
+	private static final class FixedDurationExpiry implements Expiry<Object, Object> {
+
+		private final long durationNanos;
+
+		/**
+		 * 读取时是否重新计时
+		 */
+		private final boolean resetOnRead;
+
+		private FixedDurationExpiry(Duration duration, boolean resetOnRead) {
+			this.durationNanos = duration.toNanos();
+			this.resetOnRead = resetOnRead;
+		}
+
+		@Override
+		public long expireAfterCreate(Object key, Object value, long currentTime) {
+			return durationNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+			return durationNanos;
+		}
+
+		@Override
+		public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+			return resetOnRead ? durationNanos : currentDuration;
+		}
+
+	}
+
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 多级缓存: 一级 Caffeine 本地缓存 + 二级 Redisson 缓存
+ * </p>
+ * <pre>
+ *     1、读: 一级命中直接返回, 否则读二级并回填一级
+ *     2、写/删: 先写二级再写一级, 然后广播失效消息, 其他节点删除一级缓存
+ *     3、一级缓存 key 统一为 String.valueOf(key), 与失效消息中的 key 一致, 收到消息时按 key 直接删除
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class MultiLevelCache implements Cache {
+
+	private final String name;
+
+	private final Cache level1;
+
+	private final Cache level2;
+
+	private final MultiLevelCacheManager cacheManager;
+
+	private final LongAdder level1Hits = new LongAdder();
+
+	private final LongAdder level1Misses = new LongAdder();
+
+	private final LongAdder level2Hits = new LongAdder();
+
+	private final LongAdder level2Misses = new LongAdder();
+
+	public MultiLevelCache(String name, Cache level1, Cache level2, MultiLevelCacheManager cacheManager) {
+		this.name = name;
+		this.level1 = level1;
+		this.level2 = level2;
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this;
+	}
+
+	/**
+	 * 一级缓存
+	 * @return Cache
+	 */
+	public Cache getLevel1() {
+		return this.level1;
+	}
+
+	/**
+	 * 二级缓存
+	 * @return Cache
+	 */
+	public Cache getLevel2() {
+		return this.level2;
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = level1.get(localKey(key));
+		if (wrapper != null) {
+			level1Hits.increment();
+			return wrapper;
+		}
+		level1Misses.increment();
+		wrapper = level2.get(key);
+		if (wrapper != null) {
+			level2Hits.increment();
+			level1.put(localKey(key), wrapper.get());
+		}
+		else {
+			level2Misses.increment();
+		}
+		return wrapper;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper == null) {
+			return null;
+		}
+		Object value = wrapper.get();
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = level1.get(localKey(key));
+		if (wrapper != null) {
+			level1Hits.increment();
+			return (T) wrapper.get();
+		}
+		level1Misses.increment();
+		boolean[] loaded = new boolean[1];
+		T value = level2.get(key, () -> {
+			loaded[0] = true;
+			return valueLoader.call();
+		});
+		if (loaded[0]) {
+			level2Misses.increment();
+		}
+		else {
+			level2Hits.increment();
+		}
+		level1.put(localKey(key), value);
+		return value;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		level2.put(key, value);
+		level1.put(localKey(key), value);
+		cacheManager.publishInvalidation(name, key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = level2.putIfAbsent(key, value);
+		if (existing == null) {
+			level1.put(localKey(key), value);
+			cacheManager.publishInvalidation(name, key);
+		}
+		else {
+			level1.put(localKey(key), existing.get());
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		level2.evict(key);
+		level1.evict(localKey(key));
+		cacheManager.publishInvalidation(name, key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean present = level2.evictIfPresent(key);
+		level1.evict(localKey(key));
+		cacheManager.publishInvalidation(name, key);
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		level2.clear();
+		level1.clear();
+		cacheManager.publishInvalidation(name, null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean present = level2.invalidate();
+		level1.invalidate();
+		cacheManager.publishInvalidation(name, null);
+		return present;
+	}
+
+	/**
+	 * 收到其他节点失效消息, 只删除本地一级缓存
+	 * @param key key 的字符串形式, 为 null 时清空
+	 */
+	void invalidateLocal(@Nullable String key) {
+		if (key == null) {
+			level1.clear();
+		}
+		else {
+			level1.evict(key);
+		}
+	}
+
+	/**
+	 * 一级缓存 key, 与广播的失效 key 保持一致
+	 */
+	private static String localKey(Object key) {
+		return String.valueOf(key);
+	}
+
+	public long getLevel1Hits() {
+		return level1Hits.sum();
+	}
+
+	public long getLevel1Misses() {
+		return level1Misses.sum();
+	}
+
+	public long getLevel2Hits() {
+		return level2Hits.sum();
+	}
+
+	public long getLevel2Misses() {
+		return level2Misses.sum();
+	}
+
+}
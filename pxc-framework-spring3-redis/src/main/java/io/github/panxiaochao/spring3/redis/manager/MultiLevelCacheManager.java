@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.panxiaochao.spring3.core.utils.StringPools;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.StatusListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 多级缓存管理器: 一级 Caffeine + 二级 Redisson, 通过 RTopic 广播一级缓存失效.
+ * </p>
+ * <pre>
+ * key格式为: cacheNames#ttl#maxIdleTime#maxSize, 两级缓存共用
+ * ttl 过期时间, 一级缓存取 min(ttl, level1ExpireAfterWrite)
+ * maxIdleTime 最大空闲时间, 一级缓存对应 expireAfterAccess
+ * maxSize 最大条数, 一级缓存未指定时取 level1MaximumSize
+ * 例子: test、test#60s、test#0#60s、test#0#1m#1000、test#1h#0#500
+ *</pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class MultiLevelCacheManager implements CacheManager {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MultiLevelCacheManager.class);
+
+	/**
+	 * 当前节点id
+	 */
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private final Redisson3Properties.MultiLevel multiLevel;
+
+	private final CustomizerRedissonSpringCacheManager level2CacheManager;
+
+	private final ConcurrentMap<String, MultiLevelCache> cacheMap = new ConcurrentHashMap<>(16);
+
+	private final List<Consumer<MultiLevelCache>> cacheCreatedCallbacks = new CopyOnWriteArrayList<>();
+
+	private volatile RTopic topic;
+
+	public MultiLevelCacheManager(Redisson3Properties.MultiLevel multiLevel,
+			CustomizerRedissonSpringCacheManager level2CacheManager) {
+		this.multiLevel = multiLevel;
+		this.level2CacheManager = level2CacheManager;
+	}
+
+	/**
+	 * 注册缓存创建回调, 用于指标绑定等, 只对之后创建的缓存生效
+	 * @param callback 回调
+	 */
+	public void addCacheCreatedCallback(Consumer<MultiLevelCache> callback) {
+		this.cacheCreatedCallbacks.add(callback);
+		this.cacheMap.values().forEach(callback);
+	}
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		String[] array = StringUtils.delimitedListToStringArray(name, StringPools.HASH);
+		String cacheName = array[0];
+		MultiLevelCache cache = this.cacheMap.get(cacheName);
+		if (cache == null) {
+			cache = this.cacheMap.computeIfAbsent(cacheName, n -> createCache(n, name, array));
+			ensureSubscribed();
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.cacheMap.keySet());
+	}
+
+	private MultiLevelCache createCache(String cacheName, String fullName, String[] array) {
+		Cache level2 = this.level2CacheManager.getCache(fullName);
+		Cache level1 = new CaffeineCache(cacheName, buildLevel1(array).build(), true);
+		MultiLevelCache cache = new MultiLevelCache(cacheName, level1, level2, this);
+		this.cacheCreatedCallbacks.forEach(callback -> callback.accept(cache));
+		return cache;
+	}
+
+	/**
+	 * 按 cacheName 参数构建一级缓存
+	 */
+	private Caffeine<Object, Object> buildLevel1(String[] array) {
+		Duration defaultTtl = this.multiLevel.getLevel1ExpireAfterWrite();
+		Duration ttl = array.length > 1 ? DurationStyle.detectAndParse(array[1]) : Duration.ZERO;
+		Duration maxIdle = array.length > 2 ? DurationStyle.detectAndParse(array[2]) : Duration.ZERO;
+		long maxSize = array.length > 3 ? Long.parseLong(array[3]) : 0;
+		Caffeine<Object, Object> builder = Caffeine.newBuilder();
+		builder.expireAfterWrite(ttl.isZero() || ttl.compareTo(defaultTtl) > 0 ? defaultTtl : ttl);
+		if (!maxIdle.isZero()) {
+			builder.expireAfterAccess(maxIdle);
+		}
+		builder.maximumSize(maxSize > 0 ? maxSize : this.multiLevel.getLevel1MaximumSize());
+		return builder;
+	}
+
+	/**
+	 * 广播一级缓存失效
+	 * @param cacheName 缓存名称
+	 * @param key key, 为 null 表示清空
+	 */
+	void publishInvalidation(String cacheName, @Nullable Object key) {
+		String keyString = key == null ? null : String.valueOf(key);
+		ensureSubscribed().publishAsync(new CacheInvalidationMessage(this.instanceId, cacheName, keyString));
+	}
+
+	/**
+	 * 订阅失效消息
+	 */
+	private RTopic ensureSubscribed() {
+		RTopic topic = this.topic;
+		if (topic == null) {
+			synchronized (this) {
+				topic = this.topic;
+				if (topic == null) {
+					topic = RedissonUtil.INSTANCE().ofRedissonClient().getTopic(this.multiLevel.getTopic());
+					topic.addListener(CacheInvalidationMessage.class, (channel, message) -> onInvalidation(message));
+					topic.addListener(new StatusListener() {
+						@Override
+						public void onSubscribe(String channel) {
+							// 首次订阅或重连, 期间的失效消息可能丢失
+							LOGGER.debug("多级缓存订阅 [{}] 建立, 清空一级缓存", channel);
+							clearLocal();
+						}
+
+						@Override
+						public void onUnsubscribe(String channel) {
+							clearLocal();
+						}
+					});
+					this.topic = topic;
+					LOGGER.info("配置[MultiLevelCacheManager]成功！失效通道: {}", this.multiLevel.getTopic());
+				}
+			}
+		}
+		return topic;
+	}
+
+	private void clearLocal() {
+		this.cacheMap.values().forEach(cache -> cache.invalidateLocal(null));
+	}
+
+	private void onInvalidation(CacheInvalidationMessage message) {
+		if (this.instanceId.equals(message.getSourceId())) {
+			return;
+		}
+		MultiLevelCache cache = this.cacheMap.get(message.getCacheName());
+		if (cache != null) {
+			cache.invalidateLocal(message.getKey());
+		}
+	}
+
+}
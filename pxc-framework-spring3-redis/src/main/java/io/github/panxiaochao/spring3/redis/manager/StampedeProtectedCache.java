@@ -0,0 +1,367 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.redisson.api.RLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>
+ * 缓存击穿保护装饰器
+ * </p>
+ * <pre>
+ *     1、单飞加载: 只作用于 get(key, valueLoader)（sync=true）, 同一节点同一 key 并发未命中时只有一个调用方加载,
+ *        其余等待结果; get(key)（sync=false）未命中直接返回 null, 不阻塞, 不做单飞
+ *     2、分布式锁: sync=true 时可选 Redisson 锁跨节点互斥, 拿到锁后先重读缓存
+ *     3、XFetch 提前刷新: 带 ttl 的缓存按 now - delta * beta * ln(rand) &gt;= expireAt 概率性提前刷新, 在过期前分散重算,
+ *        sync=true 时异步刷新并返回旧值, sync=false 时选一个调用方返回 null 触发重新加载;
+ *        delta 为重算耗时, sync=true 为 valueLoader 耗时, sync=false 为 get(key) 未命中到随后 put 的耗时
+ * </pre>
+ * 注意：带 ttl 且 beta &gt; 0 的缓存写入的是 {@link XFetchValue} 包装值, 经本类读取时自动解包;
+ * 关闭 stampede.enabled 前需清空这些缓存(Redis 中的数据会保留), 否则调用方会读到包装值。
+ * 开启时已有的未包装值按原值返回, 不参与提前刷新。
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class StampedeProtectedCache implements Cache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StampedeProtectedCache.class);
+
+	private static final String LOCK_PREFIX = "cache:lock:";
+
+	private final Cache delegate;
+
+	private final long ttlMillis;
+
+	private final Redisson3Properties.Stampede stampede;
+
+	private final Executor refreshExecutor;
+
+	private final boolean xfetchEnabled;
+
+	/**
+	 * sync=true 加载中的 key
+	 */
+	private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+	/**
+	 * 提前刷新中的 key -> 开始时间
+	 */
+	private final ConcurrentMap<Object, Long> refreshing = new ConcurrentHashMap<>();
+
+	/**
+	 * sync=false 未命中(或选中提前刷新)的 key -> 开始时间(nanoTime), put 时计算重算耗时
+	 */
+	private final ConcurrentMap<Object, Long> missStarted = new ConcurrentHashMap<>();
+
+	/**
+	 * missStarted 最大条数, 超出时先清理超时的记录, 仍超出则不再记录
+	 */
+	private static final int MAX_MISS_STARTED = 10000;
+
+	public StampedeProtectedCache(Cache delegate, long ttlMillis, Redisson3Properties.Stampede stampede,
+			Executor refreshExecutor) {
+		this.delegate = delegate;
+		this.ttlMillis = ttlMillis;
+		this.stampede = stampede;
+		this.refreshExecutor = refreshExecutor;
+		this.xfetchEnabled = ttlMillis > 0 && stampede.getBeta() > 0;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return delegate.getNativeCache();
+	}
+
+	/**
+	 * 被装饰的缓存
+	 * @return Cache
+	 */
+	public Cache getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = delegate.get(key);
+		if (wrapper != null) {
+			Object value = wrapper.get();
+			if (value instanceof XFetchValue xfetchValue) {
+				// 选一个调用方提前重新加载
+				if (shouldRefreshEarly(xfetchValue) && tryMarkRefreshing(key)) {
+					recordMiss(key);
+					return null;
+				}
+				return new SimpleValueWrapper(xfetchValue.getValue());
+			}
+			return wrapper;
+		}
+		recordMiss(key);
+		return null;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper == null) {
+			return null;
+		}
+		Object value = wrapper.get();
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = delegate.get(key);
+		if (wrapper != null) {
+			Object value = wrapper.get();
+			if (value instanceof XFetchValue xfetchValue) {
+				if (shouldRefreshEarly(xfetchValue) && tryMarkRefreshing(key)) {
+					refreshAsync(key, valueLoader);
+				}
+				return (T) xfetchValue.getValue();
+			}
+			return (T) value;
+		}
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> existing = loading.putIfAbsent(key, future);
+		if (existing != null) {
+			return (T) awaitLoading(key, existing, valueLoader);
+		}
+		try {
+			Object value = loadWithLock(key, valueLoader);
+			future.complete(value);
+			return (T) value;
+		}
+		catch (Throwable ex) {
+			future.completeExceptionally(ex);
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		finally {
+			loading.remove(key, future);
+		}
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		delegate.put(key, wrap(value, recomputeMillis(key)));
+		refreshing.remove(key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		return unwrap(delegate.putIfAbsent(key, wrap(value, 0)));
+	}
+
+	@Override
+	public void evict(Object key) {
+		missStarted.remove(key);
+		delegate.evict(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		missStarted.remove(key);
+		return delegate.evictIfPresent(key);
+	}
+
+	@Override
+	public void clear() {
+		missStarted.clear();
+		delegate.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		missStarted.clear();
+		return delegate.invalidate();
+	}
+
+	/**
+	 * 记录 sync=false 未命中时间, 不阻塞
+	 */
+	private void recordMiss(Object key) {
+		if (!xfetchEnabled) {
+			return;
+		}
+		if (missStarted.size() >= MAX_MISS_STARTED) {
+			long expired = System.nanoTime() - stampede.getSingleFlightTimeout().toNanos();
+			missStarted.values().removeIf(started -> started - expired < 0);
+			if (missStarted.size() >= MAX_MISS_STARTED) {
+				return;
+			}
+		}
+		missStarted.put(key, System.nanoTime());
+	}
+
+	/**
+	 * 未命中到 put 的耗时, 超过 singleFlightTimeout 视为无关的 put, 返回 0
+	 */
+	private long recomputeMillis(Object key) {
+		Long started = missStarted.remove(key);
+		if (started == null) {
+			return 0;
+		}
+		long elapsed = System.nanoTime() - started;
+		return elapsed > stampede.getSingleFlightTimeout().toNanos() ? 0 : TimeUnit.NANOSECONDS.toMillis(elapsed);
+	}
+
+	/**
+	 * 加载并写入, 开启分布式锁时拿到锁后先重读缓存
+	 */
+	private Object loadWithLock(Object key, Callable<?> valueLoader) throws Exception {
+		if (!stampede.isDistributedLock()) {
+			return loadAndPut(key, valueLoader);
+		}
+		RedissonUtil redissonUtil = RedissonUtil.INSTANCE();
+		RLock lock = redissonUtil.rLock(LOCK_PREFIX + getName() + ":" + key);
+		boolean locked = redissonUtil.tryLock(lock, stampede.getLockWaitTime().toMillis(),
+				stampede.getLockLeaseTime().toMillis(), TimeUnit.MILLISECONDS);
+		try {
+			if (locked) {
+				ValueWrapper wrapper = unwrap(delegate.get(key));
+				if (wrapper != null) {
+					return wrapper.get();
+				}
+			}
+			return loadAndPut(key, valueLoader);
+		}
+		finally {
+			if (locked) {
+				redissonUtil.unLock(lock);
+			}
+		}
+	}
+
+	private Object loadAndPut(Object key, Callable<?> valueLoader) throws Exception {
+		long start = System.nanoTime();
+		Object value = valueLoader.call();
+		long delta = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		delegate.put(key, wrap(value, delta));
+		return value;
+	}
+
+	private void refreshAsync(Object key, Callable<?> valueLoader) {
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					loadAndPut(key, valueLoader);
+				}
+				catch (Exception e) {
+					LOGGER.error("缓存 [{}] key [{}] 提前刷新出错", getName(), key, e);
+				}
+				finally {
+					refreshing.remove(key);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private Object awaitLoading(Object key, CompletableFuture<Object> future, Callable<?> valueLoader) {
+		try {
+			return future.get(stampede.getSingleFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+		catch (ExecutionException e) {
+			throw new ValueRetrievalException(key, valueLoader, e.getCause());
+		}
+		catch (TimeoutException e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+	}
+
+	/**
+	 * XFetch: now - delta * beta * ln(rand) &gt;= expireAt
+	 */
+	private boolean shouldRefreshEarly(XFetchValue value) {
+		if (value.getDelta() <= 0 || value.getExpireAt() <= 0) {
+			return false;
+		}
+		double random = ThreadLocalRandom.current().nextDouble();
+		if (random == 0D) {
+			return true;
+		}
+		double gap = -value.getDelta() * stampede.getBeta() * Math.log(random);
+		return System.currentTimeMillis() + gap >= value.getExpireAt();
+	}
+
+	/**
+	 * 标记刷新中, 超过 singleFlightTimeout 的标记视为失效
+	 */
+	private boolean tryMarkRefreshing(Object key) {
+		long now = System.currentTimeMillis();
+		Long started = refreshing.putIfAbsent(key, now);
+		if (started == null) {
+			return true;
+		}
+		return now - started > stampede.getSingleFlightTimeout().toMillis() && refreshing.replace(key, started, now);
+	}
+
+	private Object wrap(@Nullable Object value, long delta) {
+		if (!xfetchEnabled) {
+			return value;
+		}
+		return new XFetchValue(value, delta, System.currentTimeMillis() + ttlMillis);
+	}
+
+	@Nullable
+	private static ValueWrapper unwrap(@Nullable ValueWrapper wrapper) {
+		if (wrapper != null && wrapper.get() instanceof XFetchValue xfetchValue) {
+			return new SimpleValueWrapper(xfetchValue.getValue());
+		}
+		return wrapper;
+	}
+
+}
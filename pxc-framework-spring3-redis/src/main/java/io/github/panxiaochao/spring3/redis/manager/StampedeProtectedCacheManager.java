@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.manager;
+
+import io.github.panxiaochao.spring3.core.utils.StringPools;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * 缓存击穿保护管理器, 装饰任意 CacheManager, 为每个缓存加上单飞加载和 XFetch 提前刷新.
+ * </p>
+ * <pre>
+ * key格式沿用被装饰的管理器: cacheNames#ttl#..., 只有指定 ttl 的缓存才启用 XFetch 提前刷新
+ * 例子: test、test#60s
+ *</pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class StampedeProtectedCacheManager implements CacheManager, DisposableBean {
+
+	private final CacheManager delegate;
+
+	private final Redisson3Properties.Stampede stampede;
+
+	private final ConcurrentMap<String, StampedeProtectedCache> cacheMap = new ConcurrentHashMap<>(16);
+
+	private final ThreadPoolExecutor refreshExecutor;
+
+	public StampedeProtectedCacheManager(CacheManager delegate, Redisson3Properties.Stampede stampede) {
+		this.delegate = delegate;
+		this.stampede = stampede;
+		int threads = Math.max(1, stampede.getRefreshThreads());
+		AtomicInteger counter = new AtomicInteger();
+		// 队列满直接丢弃, 刷新任务丢弃后由下一次命中重新选举
+		this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(1024), r -> {
+					Thread thread = new Thread(r, "cache-refresh-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	/**
+	 * 被装饰的缓存管理器
+	 * @return CacheManager
+	 */
+	public CacheManager getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		StampedeProtectedCache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Cache target = this.delegate.getCache(name);
+			if (target == null) {
+				return null;
+			}
+			cache = this.cacheMap.computeIfAbsent(name,
+					n -> new StampedeProtectedCache(target, parseTtlMillis(n), this.stampede, this.refreshExecutor));
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.delegate.getCacheNames();
+	}
+
+	@Override
+	public void destroy() {
+		this.refreshExecutor.shutdownNow();
+	}
+
+	private static long parseTtlMillis(String name) {
+		String[] array = StringUtils.delimitedListToStringArray(name, StringPools.HASH);
+		if (array.length < 2) {
+			return 0;
+		}
+		return DurationStyle.detectAndParse(array[1]).toMillis();
+	}
+
+}
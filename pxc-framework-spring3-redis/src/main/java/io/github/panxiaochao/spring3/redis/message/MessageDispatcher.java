@@ -0,0 +1,253 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.message;
+
+import io.github.panxiaochao.spring3.redis.metrics.RedisMessageMetrics;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 消息分发器, 订阅回调在独立线程池或虚拟线程中执行, 不占用 Redisson netty IO 线程
+ * </p>
+ * <pre>
+ *     1、排队和执行中的任务总数不超过 dispatchQueueCapacity, 虚拟线程同样受限, 超出时拒绝
+ *     2、{@link SerialDispatcher} 内的任务按提交顺序逐个执行, 用于保证同一订阅的消息顺序
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class MessageDispatcher implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MessageDispatcher.class);
+
+	/**
+	 * 发布/订阅类型
+	 */
+	public static final String TYPE_TOPIC = "topic";
+
+	/**
+	 * Stream 类型
+	 */
+	public static final String TYPE_STREAM = "stream";
+
+	private final ExecutorService executor;
+
+	private final int capacity;
+
+	/**
+	 * 排队和执行中的任务数
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	@Nullable
+	private final RedisMessageMetrics redisMessageMetrics;
+
+	public MessageDispatcher(Redisson3Properties.Message message, @Nullable RedisMessageMetrics redisMessageMetrics) {
+		this.executor = createExecutor(message);
+		this.capacity = Math.max(1, message.getDispatchQueueCapacity());
+		this.redisMessageMetrics = redisMessageMetrics;
+	}
+
+	/**
+	 * 提交任务
+	 * @param task 任务
+	 * @return 是否提交成功, 分发队列满时返回 false
+	 */
+	public boolean execute(Runnable task) {
+		if (!tryAcquire()) {
+			return false;
+		}
+		try {
+			this.executor.execute(() -> {
+				try {
+					task.run();
+				}
+				finally {
+					release();
+				}
+			});
+			return true;
+		}
+		catch (RejectedExecutionException ex) {
+			release();
+			return false;
+		}
+	}
+
+	/**
+	 * 新建顺序分发器, 提交到其中的任务按顺序逐个执行, 共用本分发器的线程与容量
+	 * @return SerialDispatcher
+	 */
+	public SerialDispatcher newSerialDispatcher() {
+		return new SerialDispatcher();
+	}
+
+	/**
+	 * 消费单条消息, 记录耗时, 异常只记录日志
+	 * @param type 类型
+	 * @param channel 通道
+	 * @param msg 消息
+	 * @param consumer 自定义处理
+	 * @return 是否消费成功
+	 * @param <T> 消息类型
+	 */
+	public <T> boolean consume(String type, String channel, T msg, Consumer<T> consumer) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			consumer.accept(msg);
+			success = true;
+		}
+		catch (Exception ex) {
+			LOGGER.error("消费消息失败, 类型: {}, 通道: {}", type, channel, ex);
+		}
+		finally {
+			if (redisMessageMetrics != null) {
+				redisMessageMetrics.recordConsumed(type, channel, success, System.nanoTime() - start);
+			}
+		}
+		return success;
+	}
+
+	@Nullable
+	RedisMessageMetrics getRedisMessageMetrics() {
+		return redisMessageMetrics;
+	}
+
+	private boolean tryAcquire() {
+		if (this.pending.incrementAndGet() > this.capacity) {
+			this.pending.decrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	private void release() {
+		this.pending.decrementAndGet();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		this.executor.shutdown();
+		if (!this.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	private static ExecutorService createExecutor(Redisson3Properties.Message message) {
+		if (message.isVirtualThreads()) {
+			// JDK 21+ 才有虚拟线程, 反射调用保持 JDK 17 编译
+			Method method = ReflectionUtils.findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+			if (method != null) {
+				LOGGER.info("配置[MessageDispatcher]成功！使用虚拟线程分发");
+				return (ExecutorService) ReflectionUtils.invokeMethod(method, null);
+			}
+			LOGGER.warn("当前 JDK 不支持虚拟线程, 使用有界线程池分发");
+		}
+		int threads = Math.max(1, message.getDispatchThreads());
+		AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(message.getDispatchQueueCapacity()), r -> {
+					Thread thread = new Thread(r, "redis-message-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		LOGGER.info("配置[MessageDispatcher]成功！线程数: {}, 队列容量: {}", threads, message.getDispatchQueueCapacity());
+		return executor;
+	}
+
+	/**
+	 * 顺序分发器, 同一时刻最多占用一个分发线程, 任务按提交顺序执行
+	 */
+	public final class SerialDispatcher {
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicBoolean running = new AtomicBoolean();
+
+		private SerialDispatcher() {
+		}
+
+		/**
+		 * 提交任务
+		 * @param task 任务
+		 * @return 是否提交成功, 分发队列满时返回 false
+		 */
+		public boolean execute(Runnable task) {
+			if (!tryAcquire()) {
+				return false;
+			}
+			this.tasks.offer(task);
+			schedule();
+			return true;
+		}
+
+		private void schedule() {
+			if (!this.running.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				MessageDispatcher.this.executor.execute(this::drain);
+			}
+			catch (RejectedExecutionException ex) {
+				// 线程池已关闭或队列满, 剩余任务由下一次提交重新调度
+				this.running.set(false);
+			}
+		}
+
+		private void drain() {
+			Runnable task;
+			while ((task = this.tasks.poll()) != null) {
+				try {
+					task.run();
+				}
+				catch (RuntimeException ex) {
+					LOGGER.error("顺序分发任务执行失败", ex);
+				}
+				finally {
+					release();
+				}
+			}
+			this.running.set(false);
+			// 释放标记后可能有新任务入队
+			if (!this.tasks.isEmpty()) {
+				schedule();
+			}
+		}
+
+	}
+
+}
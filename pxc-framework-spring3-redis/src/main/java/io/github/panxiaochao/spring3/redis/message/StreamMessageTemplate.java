@@ -0,0 +1,309 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.message;
+
+import io.github.panxiaochao.spring3.redis.metrics.RedisMessageMetrics;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.redisson.api.PendingEntry;
+import org.redisson.api.RStream;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Redis Stream 消息模板, 消费组持久化消费, 适合不允许丢失的消息.
+ * </p>
+ * <pre>
+ * 每个订阅使用一个拉取线程阻塞读取, 一批消息作为一个任务交由 {@link MessageDispatcher} 执行, 消费成功后批量 ACK.
+ * 分发队列满时在拉取线程中直接消费, 形成背压.
+ * 启动时先重新消费本消费者未 ACK 的消息, 再读取新消息.
+ * 运行中每隔 claimInterval 认领消费组内空闲超过 claimMinIdle 的未 ACK 消息重新消费(含已下线消费者的消息),
+ * 投递次数达到 maxDeliveries 的消息转入死信 Stream(原 key + deadLetterSuffix) 后 ACK.
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class StreamMessageTemplate implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StreamMessageTemplate.class);
+
+	/**
+	 * 消息体字段
+	 */
+	private static final String PAYLOAD = "payload";
+
+	private final Redisson3Properties.Stream stream;
+
+	private final MessageDispatcher messageDispatcher;
+
+	private final Map<String, Thread> subscriptions = new ConcurrentHashMap<>(16);
+
+	public StreamMessageTemplate(Redisson3Properties.Stream stream, MessageDispatcher messageDispatcher) {
+		this.stream = stream;
+		this.messageDispatcher = messageDispatcher;
+	}
+
+	/**
+	 * 写入消息, 按 maxLen 近似裁剪
+	 * @param streamKey Stream key
+	 * @param msg 消息
+	 * @return 消息id
+	 */
+	public StreamMessageId add(String streamKey, Object msg) {
+		StreamMessageId id = getRStream(streamKey).add(addArgs(msg));
+		recordPublished(streamKey, 1, 1);
+		return id;
+	}
+
+	/**
+	 * 批量写入消息, 一次管道提交
+	 * @param streamKey Stream key
+	 * @param msgs 消息
+	 */
+	public void addAll(String streamKey, Collection<?> msgs) {
+		if (CollectionUtils.isEmpty(msgs)) {
+			return;
+		}
+		RedissonUtil.INSTANCE().pipelined(batch -> {
+			for (Object msg : msgs) {
+				batch.<String, Object>getStream(streamKey).addAsync(addArgs(msg));
+			}
+		});
+		recordPublished(streamKey, msgs.size(), 1);
+	}
+
+	/**
+	 * 按消费组订阅, 同一 group 下多个 consumer 分摊消息
+	 * @param streamKey Stream key
+	 * @param group 消费组
+	 * @param consumerName 消费者名称, 同一 group 内唯一, 重启后保持不变才能重新消费未 ACK 的消息
+	 * @param clazz 消息类型
+	 * @param consumer 自定义处理, 抛出异常时不 ACK
+	 * @param <T> 消息类型
+	 */
+	public <T> void subscribe(String streamKey, String group, String consumerName, Class<T> clazz,
+			Consumer<T> consumer) {
+		String subscriptionKey = subscriptionKey(streamKey, group, consumerName);
+		this.subscriptions.computeIfAbsent(subscriptionKey, k -> {
+			RStream<String, Object> rStream = getRStream(streamKey);
+			createGroupIfAbsent(rStream, group);
+			Thread thread = new Thread(() -> poll(rStream, streamKey, group, consumerName, clazz, consumer),
+					"redis-stream-" + k);
+			thread.setDaemon(true);
+			thread.start();
+			LOGGER.info("订阅 Stream [{}] 成功！group: {}, consumer: {}", streamKey, group, consumerName);
+			return thread;
+		});
+	}
+
+	/**
+	 * 取消订阅
+	 * @param streamKey Stream key
+	 * @param group 消费组
+	 * @param consumerName 消费者名称
+	 */
+	public void unsubscribe(String streamKey, String group, String consumerName) {
+		Thread thread = this.subscriptions.remove(subscriptionKey(streamKey, group, consumerName));
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.subscriptions.values().forEach(Thread::interrupt);
+		this.subscriptions.clear();
+	}
+
+	private <T> void poll(RStream<String, Object> rStream, String streamKey, String group, String consumerName,
+			Class<T> clazz, Consumer<T> consumer) {
+		// 先读取本消费者未 ACK 的消息
+		StreamMessageId pendingId = StreamMessageId.ALL;
+		boolean pendingDone = false;
+		long claimIntervalNanos = this.stream.getClaimInterval().toNanos();
+		long nextClaimNanos = System.nanoTime() + claimIntervalNanos;
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				if (pendingDone && claimIntervalNanos > 0 && System.nanoTime() - nextClaimNanos >= 0) {
+					nextClaimNanos = System.nanoTime() + claimIntervalNanos;
+					Map<StreamMessageId, Map<String, Object>> claimed = claimIdle(rStream, streamKey, group,
+							consumerName);
+					if (!claimed.isEmpty()) {
+						dispatch(rStream, streamKey, group, claimed, clazz, consumer);
+					}
+				}
+				StreamReadGroupArgs args = pendingDone
+						? StreamReadGroupArgs.neverDelivered()
+							.count(this.stream.getBatchSize())
+							.timeout(this.stream.getPollTimeout())
+						: StreamReadGroupArgs.greaterThan(pendingId).count(this.stream.getBatchSize());
+				Map<StreamMessageId, Map<String, Object>> entries = rStream.readGroup(group, consumerName, args);
+				if (CollectionUtils.isEmpty(entries)) {
+					pendingDone = true;
+					continue;
+				}
+				if (!pendingDone) {
+					for (StreamMessageId id : entries.keySet()) {
+						pendingId = id;
+					}
+				}
+				dispatch(rStream, streamKey, group, entries, clazz, consumer);
+			}
+			catch (RuntimeException ex) {
+				// 阻塞拉取被中断时 Redisson 抛出运行时异常
+				if (Thread.currentThread().isInterrupted()) {
+					break;
+				}
+				LOGGER.error("拉取 Stream [{}] 消息失败, group: {}", streamKey, group, ex);
+				sleep(this.stream.getPollTimeout().toMillis());
+			}
+		}
+		LOGGER.info("取消订阅 Stream [{}], group: {}, consumer: {}", streamKey, group, consumerName);
+	}
+
+	private <T> void dispatch(RStream<String, Object> rStream, String streamKey, String group,
+			Map<StreamMessageId, Map<String, Object>> entries, Class<T> clazz, Consumer<T> consumer) {
+		Runnable task = () -> consumeEntries(rStream, streamKey, group, entries, clazz, consumer);
+		if (!this.messageDispatcher.execute(task)) {
+			task.run();
+		}
+	}
+
+	/**
+	 * 认领消费组内空闲的未 ACK 消息, 投递次数超限的转入死信
+	 * @return 认领到的消息
+	 */
+	private Map<StreamMessageId, Map<String, Object>> claimIdle(RStream<String, Object> rStream, String streamKey,
+			String group, String consumerName) {
+		long minIdleMillis = this.stream.getClaimMinIdle().toMillis();
+		List<PendingEntry> idleEntries = rStream.pendingRange(group, StreamMessageId.MIN, StreamMessageId.MAX,
+				minIdleMillis, TimeUnit.MILLISECONDS, this.stream.getBatchSize());
+		List<StreamMessageId> retryIds = new ArrayList<>(idleEntries.size());
+		for (PendingEntry entry : idleEntries) {
+			if (this.stream.getMaxDeliveries() > 0 && entry.getLastTimeDelivered() >= this.stream.getMaxDeliveries()) {
+				deadLetter(rStream, streamKey, group, entry);
+			}
+			else {
+				retryIds.add(entry.getId());
+			}
+		}
+		if (retryIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		return rStream.claim(group, consumerName, minIdleMillis, TimeUnit.MILLISECONDS,
+				retryIds.toArray(new StreamMessageId[0]));
+	}
+
+	/**
+	 * 转入死信 Stream 并 ACK, 消息已被裁剪时只 ACK
+	 */
+	private void deadLetter(RStream<String, Object> rStream, String streamKey, String group, PendingEntry entry) {
+		StreamMessageId id = entry.getId();
+		Map<String, Object> fields = rStream.range(id, id).get(id);
+		String deadLetterKey = streamKey + this.stream.getDeadLetterSuffix();
+		if (fields != null) {
+			getRStream(deadLetterKey).add(StreamAddArgs.<String, Object>entries(fields)
+				.trimNonStrict()
+				.maxLen(this.stream.getMaxLen())
+				.noLimit());
+		}
+		rStream.ack(group, id);
+		LOGGER.warn("Stream [{}] 消息 {} 投递 {} 次仍未成功, 转入死信 [{}], group: {}", streamKey, id,
+				entry.getLastTimeDelivered(), deadLetterKey, group);
+	}
+
+	private <T> void consumeEntries(RStream<String, Object> rStream, String streamKey, String group,
+			Map<StreamMessageId, Map<String, Object>> entries, Class<T> clazz, Consumer<T> consumer) {
+		List<StreamMessageId> ackIds = new ArrayList<>(entries.size());
+		entries.forEach((id, fields) -> {
+			Object payload = fields.get(PAYLOAD);
+			if (!clazz.isInstance(payload) || this.messageDispatcher.consume(MessageDispatcher.TYPE_STREAM,
+					streamKey, clazz.cast(payload), consumer)) {
+				ackIds.add(id);
+			}
+		});
+		if (!ackIds.isEmpty()) {
+			try {
+				rStream.ack(group, ackIds.toArray(new StreamMessageId[0]));
+			}
+			catch (RedisException ex) {
+				LOGGER.error("ACK Stream [{}] 消息失败, group: {}, ids: {}", streamKey, group, ackIds, ex);
+			}
+		}
+	}
+
+	private static void createGroupIfAbsent(RStream<String, Object> rStream, String group) {
+		try {
+			rStream.createGroup(StreamCreateGroupArgs.name(group).makeStream());
+		}
+		catch (RedisException ex) {
+			// 消费组已存在
+			if (ex.getMessage() == null || !ex.getMessage().contains("BUSYGROUP")) {
+				throw ex;
+			}
+		}
+	}
+
+	private StreamAddArgs<String, Object> addArgs(Object msg) {
+		return StreamAddArgs.<String, Object>entry(PAYLOAD, msg)
+			.trimNonStrict()
+			.maxLen(this.stream.getMaxLen())
+			.noLimit();
+	}
+
+	private void recordPublished(String streamKey, int count, int batches) {
+		RedisMessageMetrics metrics = this.messageDispatcher.getRedisMessageMetrics();
+		if (metrics != null) {
+			metrics.recordPublished(MessageDispatcher.TYPE_STREAM, streamKey, count, batches);
+		}
+	}
+
+	private static RStream<String, Object> getRStream(String streamKey) {
+		return RedissonUtil.INSTANCE().ofRedissonClient().getStream(streamKey);
+	}
+
+	private static String subscriptionKey(String streamKey, String group, String consumerName) {
+		return streamKey + ':' + group + ':' + consumerName;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.message;
+
+import io.github.panxiaochao.spring3.redis.metrics.RedisMessageMetrics;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import io.github.panxiaochao.spring3.redis.utils.RedissonUtil;
+import org.redisson.api.RTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 发布/订阅模板, 按通道在 linger 时间内合并消息批量发布, 订阅回调交由 {@link MessageDispatcher} 执行.
+ * </p>
+ * <pre>
+ * 多条消息以 {@link TopicBatch} 发布, 只有一条时直接发布原消息, 订阅方需使用本模板订阅才能拆分批量消息.
+ * 单个通道的批次由同一线程顺序发布, 每个订阅的批次经 {@link MessageDispatcher.SerialDispatcher} 按接收顺序逐个消费.
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class TopicMessageTemplate implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessageTemplate.class);
+
+	private final Redisson3Properties.Message message;
+
+	private final MessageDispatcher messageDispatcher;
+
+	private final Map<String, ChannelBuffer> buffers = new ConcurrentHashMap<>(16);
+
+	private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "redis-message-flush");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public TopicMessageTemplate(Redisson3Properties.Message message, MessageDispatcher messageDispatcher) {
+		this.message = message;
+		this.messageDispatcher = messageDispatcher;
+	}
+
+	/**
+	 * 批量发布通道消息, 在 linger 时间内或达到 maxBatchSize 时合并发布
+	 * @param channelKey 通道key
+	 * @param msg 发送数据
+	 */
+	public void publish(String channelKey, Object msg) {
+		ChannelBuffer buffer = this.buffers.get(channelKey);
+		if (buffer == null) {
+			buffer = this.buffers.computeIfAbsent(channelKey, ChannelBuffer::new);
+		}
+		buffer.queue.offer(msg);
+		int size = buffer.size.incrementAndGet();
+		ChannelBuffer target = buffer;
+		if (size == this.message.getMaxBatchSize()) {
+			this.flushExecutor.execute(() -> flush(target));
+		}
+		else if (buffer.scheduled.compareAndSet(false, true)) {
+			this.flushExecutor.schedule(() -> flush(target), this.message.getLinger().toNanos(),
+					TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * 订阅通道接收消息, 同时支持单条消息与批量消息, 回调在分发线程中执行
+	 * @param channelKey 通道key
+	 * @param clazz 消息类型
+	 * @param consumer 自定义处理
+	 * @return locally unique listener id
+	 */
+	public <T> int subscribe(String channelKey, Class<T> clazz, Consumer<T> consumer) {
+		RTopic topic = RedissonUtil.INSTANCE().ofRedissonClient().getTopic(channelKey);
+		// 每个订阅一个顺序分发器, 同一通道的批次不会并发或乱序消费
+		MessageDispatcher.SerialDispatcher serialDispatcher = this.messageDispatcher.newSerialDispatcher();
+		return topic.addListener(Object.class, (channel, msg) -> {
+			List<Object> messages = msg instanceof TopicBatch topicBatch ? topicBatch.getMessages()
+					: Collections.singletonList(msg);
+			boolean accepted = serialDispatcher.execute(() -> messages.forEach(item -> {
+				if (clazz.isInstance(item)) {
+					this.messageDispatcher.consume(MessageDispatcher.TYPE_TOPIC, channelKey, clazz.cast(item),
+							consumer);
+				}
+			}));
+			if (!accepted) {
+				LOGGER.warn("分发队列已满, 丢弃通道 {} 消息 {} 条", channelKey, messages.size());
+				RedisMessageMetrics metrics = this.messageDispatcher.getRedisMessageMetrics();
+				if (metrics != null) {
+					messages.forEach(item -> metrics.recordDropped(MessageDispatcher.TYPE_TOPIC, channelKey));
+				}
+			}
+		});
+	}
+
+	/**
+	 * 发布缓冲区内的消息, 只在 flushExecutor 线程中执行
+	 */
+	private void flush(ChannelBuffer buffer) {
+		buffer.scheduled.set(false);
+		int maxBatchSize = Math.max(1, this.message.getMaxBatchSize());
+		int count = 0;
+		int batches = 0;
+		RTopic topic = RedissonUtil.INSTANCE().ofRedissonClient().getTopic(buffer.channelKey);
+		List<Object> messages = new ArrayList<>(Math.min(maxBatchSize, buffer.size.get()));
+		Object msg;
+		while ((msg = buffer.queue.poll()) != null) {
+			buffer.size.decrementAndGet();
+			messages.add(msg);
+			if (messages.size() == maxBatchSize) {
+				count += publishBatch(topic, messages);
+				batches++;
+				messages = new ArrayList<>(maxBatchSize);
+			}
+		}
+		if (!messages.isEmpty()) {
+			count += publishBatch(topic, messages);
+			batches++;
+		}
+		RedisMessageMetrics metrics = this.messageDispatcher.getRedisMessageMetrics();
+		if (metrics != null && count > 0) {
+			metrics.recordPublished(MessageDispatcher.TYPE_TOPIC, buffer.channelKey, count, batches);
+		}
+	}
+
+	private static int publishBatch(RTopic topic, List<Object> messages) {
+		try {
+			// 同步发布, 保证同一通道批次之间的顺序
+			topic.publish(messages.size() == 1 ? messages.get(0) : new TopicBatch(messages));
+			return messages.size();
+		}
+		catch (Exception ex) {
+			LOGGER.error("批量发布通道 {} 消息失败, 丢弃 {} 条", topic.getChannelNames(), messages.size(), ex);
+			return 0;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.flushExecutor.shutdownNow();
+		// 发布剩余消息
+		this.buffers.values().forEach(this::flush);
+	}
+
+	/**
+	 * 单个通道的缓冲区
+	 */
+	private static final class ChannelBuffer {
+
+		private final String channelKey;
+
+		private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private ChannelBuffer(String channelKey) {
+			this.channelKey = channelKey;
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.metrics;
+
+import io.github.panxiaochao.spring3.redis.lock.LockType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 分布式锁 Micrometer 指标, 按锁名称/类型记录等待时间与持有时间
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class DistributedLockMetrics {
+
+	/**
+	 * 等待时间指标名称
+	 */
+	public static final String WAIT_METRIC_NAME = "distributed.lock.wait";
+
+	/**
+	 * 持有时间指标名称
+	 */
+	public static final String HELD_METRIC_NAME = "distributed.lock.held";
+
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+	/**
+	 * name:type -> Timer 缓存, 避免每次调用重新构建 Tag
+	 */
+	private final Map<String, LockTimers> timersCache = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry meterRegistry;
+
+	public DistributedLockMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	/**
+	 * 记录获取锁等待时间
+	 * @param name 锁名称
+	 * @param type 锁类型
+	 * @param acquired 是否获取成功
+	 * @param waitNanos 等待时间, 单位纳秒
+	 */
+	public void recordWait(String name, LockType type, boolean acquired, long waitNanos) {
+		LockTimers timers = getTimers(name, type);
+		(acquired ? timers.acquired : timers.timeout).record(waitNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 记录持有锁时间
+	 * @param name 锁名称
+	 * @param type 锁类型
+	 * @param heldNanos 持有时间, 单位纳秒
+	 */
+	public void recordHeld(String name, LockType type, long heldNanos) {
+		getTimers(name, type).held.record(heldNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private LockTimers getTimers(String name, LockType type) {
+		String cacheKey = name + ':' + type.name();
+		LockTimers timers = timersCache.get(cacheKey);
+		if (timers == null) {
+			timers = timersCache.computeIfAbsent(cacheKey, k -> new LockTimers(getMeterRegistry(), name, type));
+		}
+		return timers;
+	}
+
+	private MeterRegistry getMeterRegistry() {
+		MeterRegistry registry = this.meterRegistry;
+		if (registry == null) {
+			registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+			this.meterRegistry = registry;
+		}
+		return registry;
+	}
+
+	/**
+	 * 单个锁的计时器
+	 */
+	private static final class LockTimers {
+
+		private final Timer acquired;
+
+		private final Timer timeout;
+
+		private final Timer held;
+
+		private LockTimers(MeterRegistry registry, String name, LockType type) {
+			this.acquired = waitTimer(registry, name, type, "ACQUIRED");
+			this.timeout = waitTimer(registry, name, type, "TIMEOUT");
+			this.held = Timer.builder(HELD_METRIC_NAME)
+				.description("分布式锁持有时间")
+				.tag("name", name)
+				.tag("type", type.name())
+				.publishPercentileHistogram()
+				.register(registry);
+		}
+
+		private static Timer waitTimer(MeterRegistry registry, String name, LockType type, String outcome) {
+			return Timer.builder(WAIT_METRIC_NAME)
+				.description("分布式锁获取等待时间")
+				.tag("name", name)
+				.tag("type", type.name())
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(registry);
+		}
+
+	}
+
+}
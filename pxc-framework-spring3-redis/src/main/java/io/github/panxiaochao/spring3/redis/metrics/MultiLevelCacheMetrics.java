@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.metrics;
+
+import io.github.panxiaochao.spring3.redis.manager.MultiLevelCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>
+ * 多级缓存命中指标, 按 level(l1/l2) 和 result(hit/miss) 区分
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class MultiLevelCacheMetrics {
+
+	/**
+	 * 指标名称
+	 */
+	public static final String METRIC_NAME = "cache.multilevel.gets";
+
+	private MultiLevelCacheMetrics() {
+	}
+
+	/**
+	 * 绑定指标
+	 * @param registry MeterRegistry
+	 * @param cache MultiLevelCache
+	 */
+	public static void bind(MeterRegistry registry, MultiLevelCache cache) {
+		register(registry, cache, "l1", "hit", MultiLevelCache::getLevel1Hits);
+		register(registry, cache, "l1", "miss", MultiLevelCache::getLevel1Misses);
+		register(registry, cache, "l2", "hit", MultiLevelCache::getLevel2Hits);
+		register(registry, cache, "l2", "miss", MultiLevelCache::getLevel2Misses);
+	}
+
+	private static void register(MeterRegistry registry, MultiLevelCache cache, String level, String result,
+			ToDoubleFunction<MultiLevelCache> function) {
+		FunctionCounter.builder(METRIC_NAME, cache, function)
+			.tag("cache", cache.getName())
+			.tag("level", level)
+			.tag("result", result)
+			.description("多级缓存命中次数")
+			.register(registry);
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 发布/订阅与 Stream 消息 Micrometer 指标, 按通道/类型记录发布数、批大小、消费耗时与丢弃数
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class RedisMessageMetrics {
+
+	/**
+	 * 指标名称前缀
+	 */
+	public static final String METRIC_PREFIX = "redis.message";
+
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+	/**
+	 * type:channel -> 指标缓存, 避免每次调用重新构建 Tag
+	 */
+	private final Map<String, ChannelMeters> metersCache = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry meterRegistry;
+
+	public RedisMessageMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	/**
+	 * 记录发布
+	 * @param type 类型, topic 或 stream
+	 * @param channel 通道
+	 * @param count 消息数
+	 * @param batches 实际发布次数
+	 */
+	public void recordPublished(String type, String channel, int count, int batches) {
+		ChannelMeters meters = getMeters(type, channel);
+		meters.published.increment(count);
+		meters.batchSize.record((double) count / Math.max(1, batches));
+	}
+
+	/**
+	 * 记录消费
+	 * @param type 类型, topic 或 stream
+	 * @param channel 通道
+	 * @param success 是否成功
+	 * @param costNanos 耗时, 单位纳秒
+	 */
+	public void recordConsumed(String type, String channel, boolean success, long costNanos) {
+		ChannelMeters meters = getMeters(type, channel);
+		(success ? meters.consumeSuccess : meters.consumeError).record(costNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 记录分发队列满时丢弃的消息
+	 * @param type 类型, topic 或 stream
+	 * @param channel 通道
+	 */
+	public void recordDropped(String type, String channel) {
+		getMeters(type, channel).dropped.increment();
+	}
+
+	private ChannelMeters getMeters(String type, String channel) {
+		String cacheKey = type + ':' + channel;
+		ChannelMeters meters = metersCache.get(cacheKey);
+		if (meters == null) {
+			meters = metersCache.computeIfAbsent(cacheKey, k -> new ChannelMeters(getMeterRegistry(), type, channel));
+		}
+		return meters;
+	}
+
+	private MeterRegistry getMeterRegistry() {
+		MeterRegistry registry = this.meterRegistry;
+		if (registry == null) {
+			registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+			this.meterRegistry = registry;
+		}
+		return registry;
+	}
+
+	/**
+	 * 单个通道的指标
+	 */
+	private static final class ChannelMeters {
+
+		private final Counter published;
+
+		private final DistributionSummary batchSize;
+
+		private final Timer consumeSuccess;
+
+		private final Timer consumeError;
+
+		private final Counter dropped;
+
+		private ChannelMeters(MeterRegistry registry, String type, String channel) {
+			this.published = Counter.builder(METRIC_PREFIX + ".published")
+				.description("发布消息数")
+				.tag("type", type)
+				.tag("channel", channel)
+				.register(registry);
+			this.batchSize = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+				.description("单次发布消息数")
+				.tag("type", type)
+				.tag("channel", channel)
+				.register(registry);
+			this.consumeSuccess = consumeTimer(registry, type, channel, "SUCCESS");
+			this.consumeError = consumeTimer(registry, type, channel, "ERROR");
+			this.dropped = Counter.builder(METRIC_PREFIX + ".dropped")
+				.description("分发队列满时丢弃的消息数")
+				.tag("type", type)
+				.tag("channel", channel)
+				.register(registry);
+		}
+
+		private static Timer consumeTimer(MeterRegistry registry, String type, String channel, String outcome) {
+			return Timer.builder(METRIC_PREFIX + ".consume")
+				.description("消息消费耗时")
+				.tag("type", type)
+				.tag("channel", channel)
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(registry);
+		}
+
+	}
+
+}
@@ -16,10 +16,18 @@
 package io.github.panxiaochao.spring3.redis.properties;
 
 import io.github.panxiaochao.spring3.redis.constants.CacheManagerType;
+import io.github.panxiaochao.spring3.redis.constants.CompressionType;
+import io.github.panxiaochao.spring3.redis.constants.RedisCodecType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * <p>
  * Redisson 自定义属性
@@ -39,8 +47,318 @@ public class Redisson3Properties {
 	private String keyPrefix;
 
 	/**
-	 * 缓存类型: redis（默认）、caffeine
+	 * 缓存类型: redis（默认）、caffeine、multilevel
 	 */
 	private CacheManagerType cacheType = CacheManagerType.redis;
 
+	/**
+	 * 多级缓存配置, cacheType 为 multilevel 时生效
+	 */
+	private MultiLevel multiLevel = new MultiLevel();
+
+	/**
+	 * caffeine 缓存配置, cacheType 为 caffeine 时生效
+	 */
+	private Caffeine caffeine = new Caffeine();
+
+	/**
+	 * 缓存击穿保护配置
+	 */
+	private Stampede stampede = new Stampede();
+
+	/**
+	 * 值序列化配置
+	 */
+	private Codec codec = new Codec();
+
+	/**
+	 * 缓存预热配置
+	 */
+	private Warmup warmup = new Warmup();
+
+	/**
+	 * RedissonUtil.get 近端缓存配置
+	 */
+	private NearCache nearCache = new NearCache();
+
+	/**
+	 * 分布式锁看门狗超时时间, leaseTime 为 -1 时按 1/3 间隔续期, 为空时使用 Redisson 默认 30s
+	 */
+	private Duration lockWatchdogTimeout;
+
+	/**
+	 * 发布/订阅与 Stream 消息配置
+	 */
+	private Message message = new Message();
+
+	@Getter
+	@Setter
+	public static class MultiLevel {
+
+		/**
+		 * 一级缓存失效广播通道
+		 */
+		private String topic = "cache:multilevel:invalidate";
+
+		/**
+		 * 一级缓存默认过期时间, cacheName 中的 ttl 超过该值时也以该值为准, 限制消息丢失时的脏读时长
+		 */
+		private Duration level1ExpireAfterWrite = Duration.ofSeconds(60);
+
+		/**
+		 * 一级缓存默认最大条数, cacheName 中未指定 maxSize 时生效
+		 */
+		private long level1MaximumSize = 1000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Caffeine {
+
+		/**
+		 * 默认 CaffeineSpec 参数, 默认为空: 不限制条数、不过期
+		 */
+		private String spec = "";
+
+		/**
+		 * 单个缓存的 CaffeineSpec 参数, key 为 cacheName, 覆盖默认参数, 例如:
+		 * user: maximumWeight=100000,expireAfterAccess=10m,softValues
+		 */
+		private Map<String, String> specs = new LinkedHashMap<>();
+
+		/**
+		 * 是否记录命中率等统计, 引入 micrometer 时绑定指标
+		 */
+		private boolean recordStats = true;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Stampede {
+
+		/**
+		 * 是否开启. 开启后带 ttl 的缓存写入 XFetchValue 包装值, 关闭前需清空这些缓存, 否则会读到包装值
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 同一节点内同一 key 并发未命中时, 等待首个加载线程的最长时间; 也是 sync=false 未命中到 put 计时的上限
+		 */
+		private Duration singleFlightTimeout = Duration.ofSeconds(5);
+
+		/**
+		 * 是否使用 Redisson 分布式锁跨节点互斥加载, 只对 @Cacheable(sync = true) 生效
+		 */
+		private boolean distributedLock = false;
+
+		/**
+		 * 分布式锁等待时间, 超时后直接加载
+		 */
+		private Duration lockWaitTime = Duration.ofSeconds(3);
+
+		/**
+		 * 分布式锁租约时间
+		 */
+		private Duration lockLeaseTime = Duration.ofSeconds(30);
+
+		/**
+		 * XFetch 提前刷新系数, 越大越早刷新, 0 表示关闭, 只对带 ttl 的缓存生效
+		 */
+		private double beta = 1.0D;
+
+		/**
+		 * 异步刷新线程数
+		 */
+		private int refreshThreads = 2;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Codec {
+
+		/**
+		 * 序列化类型: json（默认）、smile、cbor、kryo, 切换后旧数据无法读取, 需清理
+		 */
+		private RedisCodecType type = RedisCodecType.json;
+
+		/**
+		 * kryo 注册类, 以 id 代替类名写入, 各节点顺序必须一致, 只可在末尾追加
+		 */
+		private List<Class<?>> registeredClasses = new ArrayList<>();
+
+		/**
+		 * 压缩类型: none（默认）、deflate、lz4, 开启后每个值带一个字节头标记是否压缩
+		 */
+		private CompressionType compression = CompressionType.none;
+
+		/**
+		 * 压缩阈值, 序列化后超过该字节数才压缩
+		 */
+		private int compressThreshold = 1024;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Message {
+
+		/**
+		 * 是否开启批量发布与订阅线程池分发, 只作用于 publishBatched/subscribeBatched 及 Stream 订阅
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 批量发布等待时间, 同一通道在该时间内的消息合并为一条发布
+		 */
+		private Duration linger = Duration.ofMillis(5);
+
+		/**
+		 * 单批最大消息数, 达到后立即发布
+		 */
+		private int maxBatchSize = 100;
+
+		/**
+		 * 订阅分发线程数
+		 */
+		private int dispatchThreads = Runtime.getRuntime().availableProcessors() * 2;
+
+		/**
+		 * 订阅分发队列容量, 排队和执行中的任务总数上限(含虚拟线程), 超出时丢弃发布/订阅消息
+		 */
+		private int dispatchQueueCapacity = 10000;
+
+		/**
+		 * 是否使用虚拟线程分发, 需 JDK 21+, 不支持时使用线程池
+		 */
+		private boolean virtualThreads = false;
+
+		/**
+		 * Stream 配置
+		 */
+		private Stream stream = new Stream();
+
+	}
+
+	@Getter
+	@Setter
+	public static class Stream {
+
+		/**
+		 * Stream 近似最大长度, 写入时裁剪
+		 */
+		private int maxLen = 100000;
+
+		/**
+		 * 单次拉取消息数
+		 */
+		private int batchSize = 100;
+
+		/**
+		 * 阻塞拉取超时时间
+		 */
+		private Duration pollTimeout = Duration.ofSeconds(2);
+
+		/**
+		 * 检查消费组内空闲未 ACK 消息的间隔, 0 表示不检查
+		 */
+		private Duration claimInterval = Duration.ofSeconds(30);
+
+		/**
+		 * 未 ACK 消息空闲超过该时间后被认领重新消费, 需大于单批消息的最长消费时间
+		 */
+		private Duration claimMinIdle = Duration.ofMinutes(1);
+
+		/**
+		 * 最大投递次数, 超过后转入死信 Stream 并 ACK, 0 表示不限制
+		 */
+		private int maxDeliveries = 5;
+
+		/**
+		 * 死信 Stream key 后缀, 死信 Stream key 为原 key + 后缀
+		 */
+		private String deadLetterSuffix = ":dlq";
+
+	}
+
+	@Getter
+	@Setter
+	public static class NearCache {
+
+		/**
+		 * 是否开启
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 需要近端缓存的 key 模式, 支持 *, 例如 config:*、dict:*, 为空时不缓存任何 key
+		 */
+		private List<String> keyPatterns = new ArrayList<>();
+
+		/**
+		 * 最大条数
+		 */
+		private long maximumSize = 10000;
+
+		/**
+		 * 本地过期时间, 兜底绕过 RedissonUtil 写入或失效消息丢失时的脏读时长
+		 */
+		private Duration ttl = Duration.ofSeconds(30);
+
+		/**
+		 * 失效广播通道
+		 */
+		private String topic = "cache:near:invalidate";
+
+	}
+
+	@Getter
+	@Setter
+	public static class Warmup {
+
+		/**
+		 * 是否开启, 开启后启动时先从快照恢复, 再并行执行所有 CacheWarmer, 完成后才对外提供服务
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 并行数
+		 */
+		private int parallelism = 4;
+
+		/**
+		 * 预热超时时间, 超时后不再等待, 继续启动
+		 */
+		private Duration timeout = Duration.ofSeconds(60);
+
+		/**
+		 * 本地快照配置, 只对 caffeine 缓存生效
+		 */
+		private Snapshot snapshot = new Snapshot();
+
+	}
+
+	@Getter
+	@Setter
+	public static class Snapshot {
+
+		/**
+		 * 是否开启
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 快照文件
+		 */
+		private String file = "cache-snapshot/caffeine.snapshot";
+
+		/**
+		 * 快照间隔, 关闭时也会写一次
+		 */
+		private Duration interval = Duration.ofMinutes(5);
+
+	}
+
 }
@@ -15,22 +15,28 @@
  */
 package io.github.panxiaochao.spring3.redis.utils;
 
-import io.github.panxiaochao.spring3.core.utils.JacksonUtil;
 import io.github.panxiaochao.spring3.core.utils.SpringContextUtil;
 import io.github.panxiaochao.spring3.core.utils.StrUtil;
 import io.github.panxiaochao.spring3.core.utils.StringPools;
+import io.github.panxiaochao.spring3.redis.manager.BucketNearCache;
+import io.github.panxiaochao.spring3.redis.message.TopicMessageTemplate;
+import io.github.panxiaochao.spring3.redis.utils.function.RLockTryFail;
+import io.github.panxiaochao.spring3.redis.utils.function.RLockTrySuccess;
+import org.redisson.RedissonMultiLock;
 import org.redisson.api.*;
 import org.redisson.api.geo.GeoSearchArgs;
-import org.redisson.codec.JsonJacksonCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -49,6 +55,11 @@ public class RedissonUtil {
 	 */
 	private static final Logger LOGGER = LoggerFactory.getLogger(RedissonUtil.class);
 
+	/**
+	 * 默认 SCAN 数量
+	 */
+	private static final int DEFAULT_SCAN_COUNT = 500;
+
 	/**
 	 * constructor private
 	 */
@@ -65,6 +76,16 @@ public class RedissonUtil {
 	 */
 	private RedissonClient redissonClient;
 
+	/**
+	 * RBucket 近端缓存, 未开启时为 null
+	 */
+	private volatile BucketNearCache bucketNearCache;
+
+	/**
+	 * 批量发布/订阅模板, 未开启时为 null
+	 */
+	private volatile TopicMessageTemplate topicMessageTemplate;
+
 	/**
 	 * 自己手动初始化 RedissonClient Bean instance
 	 * @param redissonClient RedissonClient
@@ -75,6 +96,26 @@ public class RedissonUtil {
 		return this;
 	}
 
+	/**
+	 * 开启 RBucket 近端缓存
+	 * @param bucketNearCache 近端缓存
+	 * @return RedissonUtil
+	 */
+	public RedissonUtil initBucketNearCache(BucketNearCache bucketNearCache) {
+		this.bucketNearCache = bucketNearCache;
+		return this;
+	}
+
+	/**
+	 * 开启批量发布与订阅线程池分发
+	 * @param topicMessageTemplate 发布/订阅模板
+	 * @return RedissonUtil
+	 */
+	public RedissonUtil initTopicMessageTemplate(TopicMessageTemplate topicMessageTemplate) {
+		this.topicMessageTemplate = topicMessageTemplate;
+		return this;
+	}
+
 	/**
 	 * Obtain static RedissonUtil instance
 	 * @return RedissonUtil
@@ -122,6 +163,7 @@ public class RedissonUtil {
      */
     public <T> boolean expire(String key, Duration duration) {
         RBucket<T> rBucket = getRBucket(key);
+        invalidateNearCache(key);
         return rBucket.expire(duration);
     }
 
@@ -133,6 +175,7 @@ public class RedissonUtil {
      */
     public <T> boolean expireIfSet(String key, Duration duration) {
         RBucket<T> rBucket = getRBucket(key);
+        invalidateNearCache(key);
         return rBucket.expireIfSet(duration);
     }
 
@@ -144,6 +187,7 @@ public class RedissonUtil {
      */
     public <T> boolean expireIfNotSet(String key, Duration duration) {
         RBucket<T> rBucket = getRBucket(key);
+        invalidateNearCache(key);
         return rBucket.expireIfNotSet(duration);
 	}
 
@@ -152,7 +196,12 @@ public class RedissonUtil {
 	 * @param key key
 	 * @return value
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T get(String key) {
+		BucketNearCache bucketNearCache = this.bucketNearCache;
+		if (bucketNearCache != null && bucketNearCache.matches(key)) {
+			return (T) bucketNearCache.get(key, k -> getRBucket(k).get());
+		}
 		RBucket<T> rBucket = getRBucket(key);
 		return rBucket.get();
 	}
@@ -165,7 +214,11 @@ public class RedissonUtil {
 	 * @return {@code true} if successful, or {@code false} if element was already set
 	 */
 	public <T> boolean setIfAbsent(String key, T value, Duration duration) {
-        return getRBucket(key).setIfAbsent(value, duration);
+        boolean success = getRBucket(key).setIfAbsent(value, duration);
+        if (success) {
+            invalidateNearCache(key);
+        }
+        return success;
     }
 
     /**
@@ -178,12 +231,13 @@ public class RedissonUtil {
         if (duration.toMillis() <= 0) {
             getRBucket(key).set(value);
         } else {
-            RBatch batch = ofRBatch();
+            RBatch batch = ofRBatch(BatchOptions.defaults().skipResult());
             RBucketAsync<T> bucket = batch.getBucket(key);
             bucket.setAsync(value);
             bucket.expireAsync(duration);
 			batch.execute();
 		}
+		invalidateNearCache(key);
 	}
 
 	/**
@@ -192,7 +246,9 @@ public class RedissonUtil {
 	 * @return true or false
 	 */
 	public boolean delete(String key) {
-		return getRBucket(key).delete();
+		boolean deleted = getRBucket(key).delete();
+		invalidateNearCache(key);
+		return deleted;
 	}
 
 	/**
@@ -200,11 +256,12 @@ public class RedissonUtil {
 	 * @param collection collection
 	 */
 	public void delete(Collection<?> collection) {
-		RBatch batch = ofRBatch();
+		RBatch batch = ofRBatch(BatchOptions.defaults().skipResult());
 		collection.forEach(key -> {
 			batch.getBucket(key.toString()).deleteAsync();
         });
         batch.execute();
+        collection.forEach(key -> invalidateNearCache(key.toString()));
     }
 
     /**
@@ -225,6 +282,17 @@ public class RedissonUtil {
 		return ofRedissonClient().getBucket(name);
 	}
 
+	/**
+	 * 写入后失效近端缓存
+	 * @param key key, 为 null 表示清空
+	 */
+	private void invalidateNearCache(String key) {
+		BucketNearCache bucketNearCache = this.bucketNearCache;
+		if (bucketNearCache != null && (key == null || bucketNearCache.matches(key))) {
+			bucketNearCache.invalidate(key);
+		}
+	}
+
 	// ------------------------------- 管道 类型操作 --------------------------------
 
 	/**
@@ -235,6 +303,167 @@ public class RedissonUtil {
 		return ofRedissonClient().createBatch();
     }
 
+	/**
+	 * Obtain the RBatch
+	 * @param batchOptions 批量参数, 响应超时、重试、执行模式、是否跳过结果等
+	 * @return RBatch
+	 */
+	private RBatch ofRBatch(BatchOptions batchOptions) {
+		return ofRedissonClient().createBatch(batchOptions);
+	}
+
+	/**
+	 * 管道执行, 所有命令一次往返发送
+	 * @param consumer 往 RBatch 中添加命令
+	 * @return 按添加顺序的结果
+	 */
+	public BatchResult<?> pipelined(Consumer<RBatch> consumer) {
+		return pipelined(consumer, BatchOptions.defaults());
+	}
+
+	/**
+	 * 管道执行, 所有命令一次往返发送
+	 * @param consumer 往 RBatch 中添加命令
+	 * @param batchOptions 批量参数, 不需要结果时使用 skipResult() 减少响应开销
+	 * @return 按添加顺序的结果, skipResult 时为空
+	 */
+	public BatchResult<?> pipelined(Consumer<RBatch> consumer, BatchOptions batchOptions) {
+		RBatch batch = ofRBatch(batchOptions);
+		consumer.accept(batch);
+		return batch.execute();
+	}
+
+	/**
+	 * 批量获取, 不存在的 key 不在结果中
+	 * @param keys keys
+	 * @return key -> value
+	 */
+	public <T> Map<String, T> multiGet(Collection<String> keys) {
+		if (keys.isEmpty()) {
+			return new LinkedHashMap<>();
+		}
+		return ofRedissonClient().getBuckets().get(keys.toArray(new String[0]));
+	}
+
+	/**
+	 * 批量设置
+	 * @param values key -> value
+	 * @param duration expiration duration, 小于等于0表示不过期
+	 */
+	public <T> void multiSet(Map<String, T> values, Duration duration) {
+		multiSet(values, duration, BatchOptions.defaults().skipResult());
+	}
+
+	/**
+	 * 批量设置
+	 * @param values key -> value
+	 * @param duration expiration duration, 小于等于0表示不过期
+	 * @param batchOptions 批量参数
+	 */
+	public <T> void multiSet(Map<String, T> values, Duration duration, BatchOptions batchOptions) {
+		if (values.isEmpty()) {
+			return;
+		}
+		long ttl = duration.toMillis();
+		if (ttl <= 0) {
+			// MSET 一条命令
+			ofRedissonClient().getBuckets().set(values);
+		}
+		else {
+			RBatch batch = ofRBatch(batchOptions);
+			values.forEach((key, value) -> batch.<T>getBucket(key).setAsync(value, ttl, TimeUnit.MILLISECONDS));
+			batch.execute();
+		}
+		values.keySet().forEach(this::invalidateNearCache);
+	}
+
+	/**
+	 * 按模式删除, SCAN 遍历后按批 UNLINK 异步删除, 不使用阻塞的 KEYS
+	 * @param pattern 模式, 例如 user:*
+	 * @return 删除数量
+	 */
+	public long deleteByPattern(String pattern) {
+		return deleteByPattern(pattern, DEFAULT_SCAN_COUNT);
+	}
+
+	/**
+	 * 按模式删除, SCAN 遍历后按批 UNLINK 异步删除, 不使用阻塞的 KEYS
+	 * @param pattern 模式, 例如 user:*
+	 * @param count 每次 SCAN 数量, 同时作为每批 UNLINK 数量
+	 * @return 删除数量
+	 */
+	public long deleteByPattern(String pattern, int count) {
+		RKeys keys = ofRedissonClient().getKeys();
+		List<String> chunk = new ArrayList<>(count);
+		long deleted = 0;
+		for (String key : keys.getKeysByPattern(pattern, count)) {
+			chunk.add(key);
+			if (chunk.size() >= count) {
+				deleted += keys.unlink(chunk.toArray(new String[0]));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			deleted += keys.unlink(chunk.toArray(new String[0]));
+		}
+		if (deleted > 0) {
+			invalidateNearCache(null);
+		}
+		return deleted;
+	}
+
+	/**
+	 * 批量获取 Hash 全部字段
+	 * @param keys keys
+	 * @return key -> hash, 不存在的 key 为空 Map
+	 */
+	public <K, V> Map<String, Map<K, V>> multiHashGetAll(Collection<String> keys) {
+		Map<String, Map<K, V>> result = new LinkedHashMap<>(keys.size());
+		if (keys.isEmpty()) {
+			return result;
+		}
+		RBatch batch = ofRBatch();
+		Map<String, RFuture<Map<K, V>>> futures = new LinkedHashMap<>(keys.size());
+		keys.forEach(key -> futures.put(key, batch.<K, V>getMap(key).readAllMapAsync()));
+		batch.execute();
+		futures.forEach((key, future) -> result.put(key, future.toCompletableFuture().join()));
+		return result;
+	}
+
+	/**
+	 * 批量写入 Hash
+	 * @param values key -> hash
+	 * @param duration expiration duration, 小于等于0表示不过期
+	 */
+	public <K, V> void multiHashPutAll(Map<String, Map<K, V>> values, Duration duration) {
+		if (values.isEmpty()) {
+			return;
+		}
+		RBatch batch = ofRBatch(BatchOptions.defaults().skipResult());
+		values.forEach((key, hash) -> {
+			RMapAsync<K, V> map = batch.getMap(key);
+			map.putAllAsync(hash);
+			if (duration.toMillis() > 0) {
+				map.expireAsync(duration);
+			}
+		});
+		batch.execute();
+	}
+
+	/**
+	 * 批量删除 Hash 字段
+	 * @param key key
+	 * @param fields fields
+	 * @return 删除数量
+	 */
+	@SafeVarargs
+	public final <K> long hashDelete(String key, K... fields) {
+		if (fields.length == 0) {
+			return 0;
+		}
+		return ofRedissonClient().<K, Object>getMap(key).fastRemove(fields);
+	}
+
     // ------------------------------- 限流 类型操作 --------------------------------
 
 	/**
@@ -801,7 +1030,7 @@ public class RedissonUtil {
      * @return RGeo
      */
     private <T> RGeo<T> getRGeo(String name) {
-        return ofRedissonClient().getGeo(name, new JsonJacksonCodec(JacksonUtil.objectMapper()));
+        return ofRedissonClient().getGeo(name);
     }
 
     // ------------------------------- 可重入锁 类型操作 --------------------------------
@@ -821,6 +1050,8 @@ public class RedissonUtil {
         try {
             tryLockSuccess = lock.tryLock(waitTime, leaseTime, unit);
         } catch (InterruptedException e) {
+            // 恢复中断标记, 交由调用方处理
+            Thread.currentThread().interrupt();
             LOGGER.error("Exception tryLock", e);
         }
         return tryLockSuccess;
@@ -832,6 +1063,11 @@ public class RedissonUtil {
      * @param lock the RLock Object
      */
     public void unLock(RLock lock) {
+        // 联锁不支持 isLocked/isHeldByCurrentThread, 直接释放
+        if (lock instanceof RedissonMultiLock) {
+            lock.unlock();
+            return;
+        }
         // 是否上锁 && 是否同一个线程
         if (lock.isLocked() && lock.isHeldByCurrentThread()) {
             lock.unlock();
@@ -848,6 +1084,62 @@ public class RedissonUtil {
         return ofRedissonClient().getLock(lockName);
     }
 
+    /**
+     * Obtain fair RLock, 按请求顺序获取锁.
+     *
+     * @param lockName the lock name
+     * @return RLock object
+     */
+    public RLock rFairLock(String lockName) {
+        return ofRedissonClient().getFairLock(lockName);
+    }
+
+    /**
+     * Obtain RReadWriteLock.
+     *
+     * @param lockName the lock name
+     * @return RReadWriteLock object
+     */
+    public RReadWriteLock rReadWriteLock(String lockName) {
+        return ofRedissonClient().getReadWriteLock(lockName);
+    }
+
+    /**
+     * Obtain multi RLock, 按锁名称排序后加锁, 避免不同调用方加锁顺序不一致导致死锁.
+     *
+     * @param lockNames the lock names
+     * @return RLock object
+     */
+    public RLock rMultiLock(Collection<String> lockNames) {
+        RLock[] locks = new TreeSet<>(lockNames).stream().map(this::rLock).toArray(RLock[]::new);
+        return ofRedissonClient().getMultiLock(locks);
+    }
+
+    /**
+     * tryLock by RLock, 获取成功执行 success 后释放锁, 失败执行 fail.
+     *
+     * @param lock      the RLock object
+     * @param waitTime  the maximum time to acquire the lock
+     * @param leaseTime lease time
+     * @param unit      time unit
+     * @param success   获取锁成功处理
+     * @param fail      获取锁失败处理
+     * @return <code>true</code> if lock is successfully acquired
+     */
+    public boolean tryLock(RLock lock, long waitTime, long leaseTime, TimeUnit unit, RLockTrySuccess success,
+            RLockTryFail fail) {
+        if (!tryLock(lock, waitTime, leaseTime, unit)) {
+            fail.apply();
+            return false;
+        }
+        try {
+            success.apply();
+        } finally {
+            unLock(lock);
+        }
+        return true;
+    }
+
     // ------------------------------- 发布/订阅 类型操作 --------------------------------
 
     /**
@@ -872,8 +1164,24 @@ public class RedissonUtil {
 		consumer.accept(msg);
 	}
 
+	/**
+	 * 批量发布通道消息, 同一通道在 linger 时间内的消息合并发布, 未开启时等同 {@link #publish(String, Object)}.
+	 * 订阅方需使用 {@link #subscribeBatched(String, Class, Consumer)} 才能拆分批量消息.
+	 * @param channelKey 通道key
+	 * @param msg 发送数据
+	 */
+	public <T> void publishBatched(String channelKey, T msg) {
+		TopicMessageTemplate topicMessageTemplate = this.topicMessageTemplate;
+		if (topicMessageTemplate == null) {
+			publish(channelKey, msg);
+			return;
+		}
+		topicMessageTemplate.publish(channelKey, msg);
+	}
+
 	/**
 	 * 订阅通道接收消息 - key 监听器需开启 `notify-keyspace-events` 等 redis 相关配置.
+	 * 回调在 Redisson IO 线程中执行, 不受 spring.redis.message.enabled 影响.
 	 * @param channelKey 通道key
 	 * @param clazz 消息类型
 	 * @param consumer 自定义处理
@@ -884,6 +1192,22 @@ public class RedissonUtil {
 		return topic.addListener(clazz, (channel, msg) -> consumer.accept(msg));
 	}
 
+	/**
+	 * 订阅 {@link #publishBatched(String, Object)} 发布的通道消息, 支持批量消息, 回调在分发线程中按顺序执行,
+	 * 未开启时等同 {@link #subscribe(String, Class, Consumer)}.
+	 * @param channelKey 通道key
+	 * @param clazz 消息类型
+	 * @param consumer 自定义处理
+	 * @return locally unique listener id
+	 */
+	public <T> int subscribeBatched(String channelKey, Class<T> clazz, Consumer<T> consumer) {
+		TopicMessageTemplate topicMessageTemplate = this.topicMessageTemplate;
+		if (topicMessageTemplate == null) {
+			return subscribe(channelKey, clazz, consumer);
+		}
+		return topicMessageTemplate.subscribe(channelKey, clazz, consumer);
+	}
+
 	/**
 	 * Removes the listener by <code>id</code> for listening this topic.
 	 * @param channelKey 通道key
@@ -900,7 +1224,7 @@ public class RedissonUtil {
 	 * @return RTopic
 	 */
 	private RTopic getRTopic(String name) {
-		return ofRedissonClient().getTopic(name, new JsonJacksonCodec(JacksonUtil.objectMapper()));
+		return ofRedissonClient().getTopic(name);
 	}
 
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.warmup;
+
+import io.github.panxiaochao.spring3.redis.manager.CustomizerCaffeineCacheManager;
+import io.github.panxiaochao.spring3.redis.manager.StampedeProtectedCacheManager;
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Caffeine 缓存定时快照, 关闭时再写一次
+ * </p>
+ * <pre>
+ * 只支持 CustomizerCaffeineCacheManager, 其他缓存管理器不做任何处理
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CacheSnapshotScheduler implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshotScheduler.class);
+
+	private final CustomizerCaffeineCacheManager caffeineCacheManager;
+
+	private final Path file;
+
+	private final long intervalMillis;
+
+	private volatile ScheduledExecutorService scheduler;
+
+	public CacheSnapshotScheduler(CacheManager cacheManager, Redisson3Properties.Snapshot snapshot) {
+		if (cacheManager instanceof StampedeProtectedCacheManager stampedeProtectedCacheManager) {
+			cacheManager = stampedeProtectedCacheManager.getDelegate();
+		}
+		this.caffeineCacheManager = cacheManager instanceof CustomizerCaffeineCacheManager customizerCaffeineCacheManager
+				? customizerCaffeineCacheManager : null;
+		if (this.caffeineCacheManager == null) {
+			LOGGER.warn("缓存快照只支持 caffeine 缓存, 当前缓存管理器: {}", cacheManager.getClass().getName());
+		}
+		this.file = Paths.get(snapshot.getFile());
+		this.intervalMillis = snapshot.getInterval().toMillis();
+	}
+
+	/**
+	 * 从快照恢复
+	 * @return 恢复条数
+	 */
+	public long restore() {
+		if (caffeineCacheManager == null) {
+			return 0;
+		}
+		try {
+			long count = CaffeineCacheSnapshot.restore(caffeineCacheManager, file);
+			LOGGER.info("缓存快照恢复 {} 条, 文件: {}", count, file);
+			return count;
+		}
+		catch (IOException e) {
+			LOGGER.warn("缓存快照 [{}] 恢复失败, 忽略", file, e);
+			return 0;
+		}
+	}
+
+	/**
+	 * 立即写快照
+	 */
+	public void snapshot() {
+		if (caffeineCacheManager == null) {
+			return;
+		}
+		try {
+			long count = CaffeineCacheSnapshot.write(caffeineCacheManager, file);
+			LOGGER.debug("缓存快照写入 {} 条, 文件: {}", count, file);
+		}
+		catch (IOException e) {
+			LOGGER.error("缓存快照 [{}] 写入失败", file, e);
+		}
+	}
+
+	/**
+	 * 开始定时快照, 重复调用无效
+	 */
+	public synchronized void start() {
+		if (caffeineCacheManager == null || scheduler != null || intervalMillis <= 0) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "cache-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::snapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public synchronized void destroy() throws InterruptedException {
+		if (scheduler == null) {
+			return;
+		}
+		scheduler.shutdown();
+		scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		scheduler = null;
+		snapshot();
+	}
+
+}
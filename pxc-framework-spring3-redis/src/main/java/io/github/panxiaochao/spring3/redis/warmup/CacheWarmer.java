@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.warmup;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * 缓存预热加载器, 注册为 Bean 后启动时并行执行, 结果写入对应缓存
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public interface CacheWarmer {
+
+	/**
+	 * 缓存名称, 与 @Cacheable 的 cacheNames 一致, 可带参数, 例如 user#1h
+	 * @return 缓存名称
+	 */
+	String getCacheName();
+
+	/**
+	 * 加载预热数据, key 需与 @Cacheable 生成的 key 一致
+	 * @return key -> value
+	 * @throws Exception 加载出错
+	 */
+	Map<?, ?> load() throws Exception;
+
+}
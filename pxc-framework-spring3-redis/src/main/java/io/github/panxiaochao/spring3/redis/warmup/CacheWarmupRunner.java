@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.warmup;
+
+import io.github.panxiaochao.spring3.redis.properties.Redisson3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * 缓存预热, 启动时先从快照恢复, 再并行执行所有 CacheWarmer.
+ * </p>
+ * <pre>
+ * ApplicationRunner 执行完毕后才会发布 ApplicationReadyEvent, 就绪探针在此之前保持 REFUSING_TRAFFIC
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public class CacheWarmupRunner implements ApplicationRunner, Ordered {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmupRunner.class);
+
+	private final CacheManager cacheManager;
+
+	private final List<CacheWarmer> cacheWarmers;
+
+	private final Redisson3Properties.Warmup warmup;
+
+	@Nullable
+	private final CacheSnapshotScheduler cacheSnapshotScheduler;
+
+	public CacheWarmupRunner(CacheManager cacheManager, List<CacheWarmer> cacheWarmers,
+			Redisson3Properties.Warmup warmup, @Nullable CacheSnapshotScheduler cacheSnapshotScheduler) {
+		this.cacheManager = cacheManager;
+		this.cacheWarmers = cacheWarmers;
+		this.warmup = warmup;
+		this.cacheSnapshotScheduler = cacheSnapshotScheduler;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		long start = System.currentTimeMillis();
+		if (cacheSnapshotScheduler != null) {
+			cacheSnapshotScheduler.restore();
+		}
+		if (!cacheWarmers.isEmpty()) {
+			warmupAll();
+		}
+		if (cacheSnapshotScheduler != null) {
+			cacheSnapshotScheduler.start();
+		}
+		LOGGER.info("缓存预热完成, 耗时: {} ms", System.currentTimeMillis() - start);
+	}
+
+	private void warmupAll() throws InterruptedException {
+		AtomicInteger counter = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max(1, Math.min(warmup.getParallelism(), cacheWarmers.size())), r -> {
+					Thread thread = new Thread(r, "cache-warmup-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			CompletableFuture<?>[] futures = cacheWarmers.stream()
+				.map(cacheWarmer -> CompletableFuture.runAsync(() -> warmup(cacheWarmer), executor))
+				.toArray(CompletableFuture[]::new);
+			CompletableFuture.allOf(futures).get(warmup.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			LOGGER.warn("缓存预热超时 {}, 未完成的预热继续在后台执行", warmup.getTimeout());
+		}
+		catch (ExecutionException e) {
+			// 单个预热的异常已在 warmup 中处理
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private void warmup(CacheWarmer cacheWarmer) {
+		long start = System.currentTimeMillis();
+		try {
+			Cache cache = cacheManager.getCache(cacheWarmer.getCacheName());
+			if (cache == null) {
+				LOGGER.warn("缓存 [{}] 不存在, 跳过预热", cacheWarmer.getCacheName());
+				return;
+			}
+			Map<?, ?> values = cacheWarmer.load();
+			if (values != null) {
+				values.forEach(cache::put);
+			}
+			LOGGER.info("缓存 [{}] 预热 {} 条, 耗时: {} ms", cacheWarmer.getCacheName(), values == null ? 0 : values.size(),
+					System.currentTimeMillis() - start);
+		}
+		catch (Exception e) {
+			LOGGER.error("缓存 [{}] 预热出错", cacheWarmer.getCacheName(), e);
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.redis.warmup;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import io.github.panxiaochao.spring3.redis.manager.CustomizerCaffeineCacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>
+ * Caffeine 缓存快照, 流式写入本地文件, 启动时恢复
+ * </p>
+ * <pre>
+ * 文件格式(deflate 压缩):
+ * [int magic][byte version]
+ * 每个缓存: [true][UTF 完整名称] 每条: [true][long 过期时间戳, 0 不过期][int 长度][JDK 序列化 key+value] ... [false]
+ * [false]
+ * 过期时间为绝对时间, 恢复时跳过已过期条目; 可变过期策略的缓存按剩余时间恢复, 固定过期策略的缓存重新计时
+ * {@link CustomizerCaffeineCacheManager} 只配置一种过期参数时创建可变过期策略的缓存
+ * 未实现 Serializable 或反序列化失败的条目跳过
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class CaffeineCacheSnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CaffeineCacheSnapshot.class);
+
+	private static final int MAGIC = 0x43534E50;
+
+	private static final byte VERSION = 1;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private CaffeineCacheSnapshot() {
+	}
+
+	/**
+	 * 写入快照, 先写临时文件再替换
+	 * @param cacheManager 缓存管理器
+	 * @param file 快照文件
+	 * @return 写入条数
+	 * @throws IOException 写入出错
+	 */
+	public static long write(CustomizerCaffeineCacheManager cacheManager, Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		long count = 0;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new DeflaterOutputStream(Files.newOutputStream(tmp)), BUFFER_SIZE))) {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			long now = System.currentTimeMillis();
+			for (String name : cacheManager.getCacheNames()) {
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(
+						cacheManager.getCache(name));
+				if (nativeCache == null) {
+					continue;
+				}
+				out.writeBoolean(true);
+				out.writeUTF(cacheManager.getCacheFullName(name));
+				Policy<Object, Object> policy = nativeCache.policy();
+				for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+					long remaining = remainingMillis(policy, entry.getKey());
+					if (remaining == 0 || !serialize(buffer, entry.getKey(), entry.getValue())) {
+						continue;
+					}
+					out.writeBoolean(true);
+					out.writeLong(remaining < 0 ? 0 : now + remaining);
+					out.writeInt(buffer.size());
+					buffer.writeTo(out);
+					count++;
+				}
+				out.writeBoolean(false);
+			}
+			out.writeBoolean(false);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return count;
+	}
+
+	/**
+	 * 从快照恢复
+	 * @param cacheManager 缓存管理器
+	 * @param file 快照文件
+	 * @return 恢复条数, 文件不存在返回 0
+	 * @throws IOException 读取出错
+	 */
+	public static long restore(CustomizerCaffeineCacheManager cacheManager, Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return 0;
+		}
+		long count = 0;
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new InflaterInputStream(Files.newInputStream(file)), BUFFER_SIZE))) {
+			if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+				LOGGER.warn("缓存快照 [{}] 格式不匹配, 忽略", file);
+				return 0;
+			}
+			long now = System.currentTimeMillis();
+			while (in.readBoolean()) {
+				String fullName = in.readUTF();
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(
+						cacheManager.getCache(fullName));
+				Policy.VarExpiration<Object, Object> varExpiration = nativeCache == null ? null
+						: nativeCache.policy().expireVariably().orElse(null);
+				while (in.readBoolean()) {
+					long expireAt = in.readLong();
+					byte[] bytes = new byte[in.readInt()];
+					in.readFully(bytes);
+					if (nativeCache == null || (expireAt > 0 && expireAt <= now)) {
+						continue;
+					}
+					Object[] keyValue = deserialize(bytes);
+					if (keyValue == null) {
+						continue;
+					}
+					if (varExpiration != null && expireAt > 0) {
+						varExpiration.put(keyValue[0], keyValue[1], Duration.ofMillis(expireAt - now));
+					}
+					else {
+						nativeCache.put(keyValue[0], keyValue[1]);
+					}
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(Cache cache) {
+		if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+			return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache;
+		}
+		return null;
+	}
+
+	/**
+	 * 剩余存活时间, -1 表示不过期
+	 */
+	private static long remainingMillis(Policy<Object, Object> policy, Object key) {
+		Optional<Policy.VarExpiration<Object, Object>> varExpiration = policy.expireVariably();
+		if (varExpiration.isPresent()) {
+			return varExpiration.get().getExpiresAfter(key).map(d -> Math.max(d.toMillis(), 0)).orElse(-1L);
+		}
+		long afterWrite = fixedRemainingMillis(policy.expireAfterWrite(), key);
+		long afterAccess = fixedRemainingMillis(policy.expireAfterAccess(), key);
+		if (afterWrite < 0 || afterAccess < 0) {
+			return Math.max(afterWrite, afterAccess);
+		}
+		return Math.min(afterWrite, afterAccess);
+	}
+
+	private static long fixedRemainingMillis(Optional<Policy.FixedExpiration<Object, Object>> fixedExpiration,
+			Object key) {
+		if (fixedExpiration.isEmpty()) {
+			return -1;
+		}
+		Optional<Duration> age = fixedExpiration.get().ageOf(key);
+		if (age.isEmpty()) {
+			return 0;
+		}
+		return Math.max(fixedExpiration.get().getExpiresAfter().minus(age.get()).toMillis(), 0);
+	}
+
+	private static boolean serialize(ByteArrayOutputStream buffer, Object key, Object value) {
+		if (!(key instanceof Serializable) || !(value instanceof Serializable)) {
+			return false;
+		}
+		buffer.reset();
+		try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+			out.writeObject(key);
+			out.writeObject(value);
+			return true;
+		}
+		catch (IOException e) {
+			LOGGER.debug("缓存快照跳过不可序列化条目: {}", key, e);
+			return false;
+		}
+	}
+
+	private static Object[] deserialize(byte[] bytes) {
+		try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				ClassUtils.getDefaultClassLoader())) {
+			return new Object[] { in.readObject(), in.readObject() };
+		}
+		catch (IOException | ClassNotFoundException e) {
+			LOGGER.debug("缓存快照跳过无法反序列化条目", e);
+			return null;
+		}
+	}
+
+}
@@ -56,6 +56,12 @@ public class Pagination {
 	@Schema(description = "总页码数")
 	private long totalPages;
 
+	/**
+	 * 下一页游标, 游标分页时返回.
+	 */
+	@Schema(description = "下一页游标，游标分页时返回，为空表示没有下一页")
+	private String nextCursor;
+
 	/**
 	 * Construct.
 	 */
@@ -91,6 +97,19 @@ public class Pagination {
 		this.totalPages = getTotalPages(total, pageSize);
 	}
 
+	/**
+	 * Construct, 游标分页.
+	 * @param pageSize 页数
+	 * @param nextCursor 下一页游标
+	 */
+	public Pagination(final long pageSize, final String nextCursor) {
+		this.pageNo = 1;
+		this.pageSize = pageSize;
+		this.total = 0;
+		this.totalPages = 0;
+		this.nextCursor = nextCursor;
+	}
+
 	/**
 	 * 是否有上一页.
 	 * @return boolean
@@ -104,7 +123,7 @@ public class Pagination {
 	 * @return boolean
 	 */
 	public boolean getHasNext() {
-		return getPageNo() < getTotalPages();
+		return getNextCursor() != null || getPageNo() < getTotalPages();
 	}
 
 	/**
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.core.response.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>
+ * 请求游标分页参数, 按排序字段与主键定位, 深分页与第一页开销相同
+ * </p>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Schema(description = "请求游标分页参数")
+public class RequestCursorPage {
+
+	/**
+	 * 游标, 为空时查询第一页
+	 */
+	@Schema(description = "游标，为空时查询第一页，下一页使用上次返回的 nextCursor")
+	private String cursor;
+
+	/**
+	 * 页数
+	 */
+	@Schema(description = "页数")
+	private long pageSize = 10;
+
+}
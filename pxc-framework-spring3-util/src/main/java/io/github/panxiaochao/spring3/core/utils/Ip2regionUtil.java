@@ -20,12 +20,17 @@ import io.github.panxiaochao.spring3.core.utils.ipregion.IpInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 /**
  * <p>
  * Ip2region 工具类
  * </p>
+ * <pre>
+ *     ipv4 查询结果按整数 ip 缓存在定长数组中(直接映射, 无锁, 容量固定),
+ *     命中时不做任何解析, 只复制一份 IpInfo 返回, 操作日志、链路日志等模块可共用
+ * </pre>
  *
  * @author Lypxc
  * @since 2023-07-10
@@ -35,28 +40,39 @@ public class Ip2regionUtil {
 	private static final Logger LOGGER = LoggerFactory.getLogger(Ip2regionUtil.class);
 
 	/**
-	 * ip 位置 搜索
+	 * 缓存槽位数, 必须为 2 的幂
+	 */
+	private static final int CACHE_SIZE = 4096;
+
+	private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+	/**
+	 * ipv4 -> IpInfo 缓存
+	 */
+	private static final AtomicReferenceArray<CacheEntry> IPV4_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+	/**
+	 * ip 位置 搜索, 每次返回新的 IpInfo, 调用方可以修改
 	 * @param ip ip
 	 * @return 位置
 	 */
 	public static IpInfo memorySearch(String ip) {
 		try {
 			// 1.ipv4
-			String[] ipV4Part = IpInfo.getIpv4Part(ip);
-			if (ipV4Part.length == 4) {
-				IpInfo ipInfo = IpInfo.toIpInfo(Ip2RegionLoader.INSTANCE().getSearcher().search(ip));
-				ipInfo.setIp(ip);
-				return ipInfo;
-			} else if (ip.contains(":")) {
-                // 2.ipv6
-                // TODO 现在没有工具支撑，ipv6情况下返回 null
+			long ipv4 = IpInfo.ipv4ToLong(ip);
+			if (ipv4 >= 0) {
+				return searchIpv4(ip, ipv4);
+			}
+			else if (ip != null && ip.indexOf(':') >= 0) {
+				// 2.ipv6
+				// TODO 现在没有工具支撑，ipv6情况下返回 null
 				return null;
 			}
 			else {
-                // 3.非 ipv6
-                LOGGER.error("invalid ip address {}", ip);
-            }
-            return null;
+				// 3.非 ipv6
+				LOGGER.error("invalid ip address {}", ip);
+			}
+			return null;
 		}
 		catch (Exception e) {
 			LOGGER.error("memorySearch ip {} is error", ip, e);
@@ -64,6 +80,42 @@ public class Ip2regionUtil {
 		}
 	}
 
+	/**
+	 * 先查缓存, 未命中再查询 xdb
+	 */
+	private static IpInfo searchIpv4(String ip, long ipv4) throws Exception {
+		int key = (int) ipv4;
+		int index = spread(key) & CACHE_MASK;
+		CacheEntry entry = IPV4_CACHE.get(index);
+		if (entry != null && entry.key == key) {
+			return entry.copy(ip);
+		}
+		IpInfo ipInfo = IpInfo.toIpInfo(Ip2RegionLoader.INSTANCE().getSearcher().search(ipv4));
+		if (ipInfo == null) {
+			return null;
+		}
+		CacheEntry created = new CacheEntry(key, ipInfo);
+		IPV4_CACHE.set(index, created);
+		return created.copy(ip);
+	}
+
+	/**
+	 * 打散高低位, 同网段 ip 分布到不同槽位
+	 */
+	private static int spread(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * 清空缓存
+	 */
+	public static void clearCache() {
+		for (int i = 0; i < CACHE_SIZE; i++) {
+			IPV4_CACHE.set(i, null);
+		}
+	}
+
 	/**
 	 * 读取 ipInfo 中的信息
 	 * @param ip ip
@@ -74,4 +126,26 @@ public class Ip2regionUtil {
 		return IpInfo.readInfo(memorySearch(ip), function);
 	}
 
+	/**
+	 * 缓存项, 不可变, 持有的 IpInfo 不对外暴露
+	 */
+	private static final class CacheEntry {
+
+		private final int key;
+
+		private final IpInfo ipInfo;
+
+		private CacheEntry(int key, IpInfo ipInfo) {
+			this.key = key;
+			this.ipInfo = ipInfo;
+		}
+
+		private IpInfo copy(String ip) {
+			IpInfo copy = ipInfo.copy();
+			copy.setIp(ip);
+			return copy;
+		}
+
+	}
+
 }
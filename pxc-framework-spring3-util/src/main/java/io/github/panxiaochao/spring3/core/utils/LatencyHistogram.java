@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2024-2025 Lypxc(潘) (545685602@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.panxiaochao.spring3.core.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * 无锁对数-线性分桶延迟直方图, 单位微秒
+ * </p>
+ * <pre>
+ *     每个 2 的幂区间再均分 8 个子桶, 相对误差不超过 12.5%, 覆盖 0 ~ 2^36 微秒,
+ *     桶数固定为 {@link #BUCKETS}, 内存占用与调用量无关
+ * </pre>
+ *
+ * @author Lypxc
+ * @since 2026-10-18
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_EXPONENT = 35;
+
+	/**
+	 * 桶数
+	 */
+	public static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * 记录一次耗时
+	 * @param micros 耗时, 单位微秒
+	 */
+	public void record(long micros) {
+		buckets.incrementAndGet(bucketIndex(micros));
+	}
+
+	/**
+	 * 清空
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+	}
+
+	/**
+	 * 累加到目标数组
+	 * @param target 长度为 {@link #BUCKETS} 的数组
+	 */
+	public void addTo(long[] target) {
+		for (int i = 0; i < BUCKETS; i++) {
+			target[i] += buckets.get(i);
+		}
+	}
+
+	/**
+	 * 计算分位值
+	 * @param counts 各桶计数
+	 * @param total 总数
+	 * @param percentile 分位, 取值 (0, 1]
+	 * @return 分位值所在桶的上界, 单位微秒
+	 */
+	public static long percentile(long[] counts, long total, double percentile) {
+		if (total <= 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return bucketUpperBound(i);
+			}
+		}
+		return bucketUpperBound(BUCKETS - 1);
+	}
+
+	static int bucketIndex(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) Math.max(micros, 0);
+		}
+		int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+		int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		if (exponent == MAX_EXPONENT && micros >>> (MAX_EXPONENT + 1) != 0) {
+			subBucket = SUB_BUCKETS - 1;
+		}
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = index % SUB_BUCKETS;
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (((long) (SUB_BUCKETS + subBucket)) << shift) + (1L << shift) - 1;
+	}
+
+}
@@ -15,14 +15,12 @@
  */
 package io.github.panxiaochao.spring3.core.utils.ipregion;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Objects;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -41,8 +39,6 @@ public class IpInfo {
 
 	private static final Pattern SPLIT_PATTERN = Pattern.compile("\\|");
 
-	private static final Pattern DOT_PATTERN = Pattern.compile("\\.");
-
 	private static final Pattern T_PATTERN = Pattern.compile("\\t");
 
 	/**
@@ -80,18 +76,33 @@ public class IpInfo {
 	 */
 	private String region;
 
+	/**
+	 * 预先拼接的地址, 不含运营商
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@ToString.Exclude
+	private String address;
+
+	/**
+	 * 预先拼接的地址, 含运营商
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@ToString.Exclude
+	private String addressAndIsp;
+
 	/**
 	 * 拼接完整的地址
 	 * @return address
 	 */
 	public String getAddress() {
-		Set<String> regionSet = new LinkedHashSet<>();
-		regionSet.add(country);
-		regionSet.add(area);
-		regionSet.add(province);
-		regionSet.add(city);
-		regionSet.removeIf(Objects::isNull);
-		return String.join("|", regionSet);
+		String address = this.address;
+		if (address == null) {
+			address = joinRegion(country, area, province, city);
+			this.address = address;
+		}
+		return address;
 	}
 
 	/**
@@ -99,22 +110,133 @@ public class IpInfo {
 	 * @return address
 	 */
 	public String getAddressAndIsp() {
-		Set<String> regionSet = new LinkedHashSet<>();
-		regionSet.add(country);
-		regionSet.add(area);
-		regionSet.add(province);
-		regionSet.add(city);
-		regionSet.add(isp);
-		regionSet.removeIf(Objects::isNull);
-		return String.join("|", regionSet);
+		String addressAndIsp = this.addressAndIsp;
+		if (addressAndIsp == null) {
+			addressAndIsp = joinRegion(country, area, province, city, isp);
+			this.addressAndIsp = addressAndIsp;
+		}
+		return addressAndIsp;
+	}
+
+	public void setCountry(String country) {
+		this.country = country;
+		resetAddress();
+	}
+
+	public void setArea(String area) {
+		this.area = area;
+		resetAddress();
+	}
+
+	public void setProvince(String province) {
+		this.province = province;
+		resetAddress();
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+		resetAddress();
+	}
+
+	public void setIsp(String isp) {
+		this.isp = isp;
+		this.addressAndIsp = null;
 	}
 
 	/**
-	 * 获取 ip v4 part
-	 * @return 是否 ipv4
+	 * 地址字段变更后清空已拼接的地址, 下次读取时重新拼接
 	 */
-	public static String[] getIpv4Part(String ip) {
-		return DOT_PATTERN.split(ip);
+	private void resetAddress() {
+		this.address = null;
+		this.addressAndIsp = null;
+	}
+
+	/**
+	 * 复制一份, 连同已拼接的地址
+	 * @return 新的 IpInfo
+	 */
+	public IpInfo copy() {
+		IpInfo copy = new IpInfo();
+		copy.country = this.country;
+		copy.area = this.area;
+		copy.province = this.province;
+		copy.city = this.city;
+		copy.isp = this.isp;
+		copy.ip = this.ip;
+		copy.region = this.region;
+		copy.address = this.address;
+		copy.addressAndIsp = this.addressAndIsp;
+		return copy;
+	}
+
+	/**
+	 * 用 | 拼接, 跳过 null 和重复的值
+	 */
+	private static String joinRegion(String... parts) {
+		StringBuilder sb = new StringBuilder(32);
+		for (int i = 0; i < parts.length; i++) {
+			String part = parts[i];
+			if (part == null || containsBefore(parts, i)) {
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append('|');
+			}
+			sb.append(part);
+		}
+		return sb.toString();
+	}
+
+	private static boolean containsBefore(String[] parts, int index) {
+		for (int i = 0; i < index; i++) {
+			if (parts[index].equals(parts[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 将 ipv4 字符串解析为整数, 不产生任何对象分配
+	 * @param ip ip
+	 * @return 无符号 32 位整数值, 非法 ipv4 返回 -1
+	 */
+	public static long ipv4ToLong(String ip) {
+		if (ip == null) {
+			return -1;
+		}
+		int length = ip.length();
+		if (length < 7 || length > 15) {
+			return -1;
+		}
+		long result = 0;
+		int part = 0;
+		int digits = 0;
+		int dots = 0;
+		for (int i = 0; i < length; i++) {
+			char c = ip.charAt(i);
+			if (c >= '0' && c <= '9') {
+				part = part * 10 + (c - '0');
+				if (++digits > 3 || part > 255) {
+					return -1;
+				}
+			}
+			else if (c == '.') {
+				if (digits == 0 || ++dots > 3) {
+					return -1;
+				}
+				result = (result << 8) | part;
+				part = 0;
+				digits = 0;
+			}
+			else {
+				return -1;
+			}
+		}
+		if (digits == 0 || dots != 3) {
+			return -1;
+		}
+		return (result << 8) | part;
 	}
 
 	/**
@@ -138,6 +260,9 @@ public class IpInfo {
 		ipInfo.setCity(filterZero(splitInfoArr[3]));
 		ipInfo.setIsp(filterZero(splitInfoArr[4]));
 		ipInfo.setRegion(region);
+		// 预先拼接地址
+		ipInfo.getAddress();
+		ipInfo.getAddressAndIsp();
 		return ipInfo;
 	}
 